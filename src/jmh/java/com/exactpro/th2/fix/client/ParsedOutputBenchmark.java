@@ -0,0 +1,88 @@
+package com.exactpro.th2.fix.client;
+
+import com.exactpro.th2.common.grpc.AnyMessage;
+import com.exactpro.th2.common.grpc.ConnectionID;
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.common.grpc.MessageGroup;
+import com.exactpro.th2.common.grpc.MessageGroupBatch;
+import com.exactpro.th2.common.grpc.RawMessageMetadata;
+import com.exactpro.th2.fix.client.util.FixMessageConverter;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import quickfix.DataDictionary;
+import quickfix.field.Account;
+import quickfix.field.ClOrdID;
+import quickfix.field.MsgSeqNum;
+import quickfix.field.OrdType;
+import quickfix.field.OrderQty;
+import quickfix.field.Price;
+import quickfix.field.SenderCompID;
+import quickfix.field.SendingTime;
+import quickfix.field.Side;
+import quickfix.field.Symbol;
+import quickfix.field.TargetCompID;
+import quickfix.field.TransactTime;
+import quickfix.fix44.NewOrderSingle;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares publishing parsed messages from the connector with the separate codec setup,
+ * where the raw batch is serialized, deserialized by the codec, parsed and serialized again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParsedOutputBenchmark {
+
+    private FixMessageConverter converter;
+    private String rawMessage;
+    private MessageGroupBatch rawBatch;
+    private RawMessageMetadata metadata;
+
+    @Setup
+    public void setup() throws Exception {
+        DataDictionary dictionary = new DataDictionary("FIX44.xml");
+        converter = new FixMessageConverter(dictionary, dictionary);
+
+        NewOrderSingle order = new NewOrderSingle(new ClOrdID("order-1"), new Side(Side.BUY),
+                new TransactTime(LocalDateTime.now()), new OrdType(OrdType.LIMIT));
+        order.getHeader().setField(new SenderCompID("client"));
+        order.getHeader().setField(new TargetCompID("server"));
+        order.getHeader().setField(new MsgSeqNum(1));
+        order.getHeader().setField(new SendingTime(LocalDateTime.now()));
+        order.set(new Symbol("INSTR"));
+        order.set(new Account("account"));
+        order.set(new OrderQty(100));
+        order.set(new Price(12.5));
+        rawMessage = order.toString();
+
+        rawBatch = MessageUtil.toBatch(rawMessage.getBytes(), ConnectionID.newBuilder().setSessionAlias("client").build(), Direction.FIRST, 1);
+        metadata = rawBatch.getGroups(0).getMessages(0).getRawMessage().getMetadata();
+    }
+
+    @Benchmark
+    public byte[] connectorParsedOutput() throws Exception {
+        return toBatch(converter.toProto(rawMessage, metadata)).toByteArray();
+    }
+
+    @Benchmark
+    public byte[] separateCodec() throws Exception {
+        MessageGroupBatch received = MessageGroupBatch.parseFrom(rawBatch.toByteArray());
+        AnyMessage raw = received.getGroups(0).getMessages(0);
+        return toBatch(converter.toProto(MessageUtil.rawToString(raw), raw.getRawMessage().getMetadata())).toByteArray();
+    }
+
+    private static MessageGroupBatch toBatch(com.exactpro.th2.common.grpc.Message message) {
+        return MessageGroupBatch.newBuilder()
+                .addGroups(MessageGroup.newBuilder().addMessages(AnyMessage.newBuilder().setMessage(message)))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.exactpro.th2.fix.client;
+
+import com.exactpro.th2.fix.client.outbound.SpinWait;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from enqueuing an outbound message to the moment the sender thread of the session picks it up,
+ * with the default blocking wait and with the low latency profile. The pause between messages lets the blocking
+ * sender thread park, as it does between orders of a real session.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SenderWakeUpBenchmark {
+
+    @Param({"blocking", "spinning"})
+    public String profile;
+
+    @Param({"0", "50"})
+    public int pauseMicros;
+
+    private final Semaphore pending = new Semaphore(0);
+    private volatile long handled;
+    private volatile boolean running;
+    private Thread sender;
+    private long sent;
+
+    @Setup
+    public void setup() {
+        SpinWait spinWait = profile.equals("spinning") ? new SpinWait(10_000_000, 100) : SpinWait.BLOCKING;
+        running = true;
+        sender = new Thread(() -> {
+            try {
+                while (spinWait.acquire(pending, () -> running)) {
+                    handled++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "sender-benchmark");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    @Setup(Level.Invocation)
+    public void pause() {
+        long end = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(pauseMicros);
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Benchmark
+    public long wakeUp() {
+        long expected = ++sent;
+        pending.release();
+        while (handled != expected) {
+            Thread.onSpinWait();
+        }
+        return expected;
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        running = false;
+        sender.interrupt();
+        sender.join();
+    }
+}
@@ -0,0 +1,222 @@
+package com.exactpro.th2.fix.client;
+
+import com.exactpro.th2.fix.client.tls.TlsSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of passing FIX messages through a plain connection and through TLS, and the cost of a full
+ * and of a resumed TLS handshake. Both TLS engines run in memory, so the results do not include the network.
+ * The key store is generated with {@code keytool} of the running JDK. A different security provider is measured
+ * with {@code -p provider=<class name>} if its jar is on the classpath of the benchmarks.
+ */
+public class TlsBenchmark {
+
+    private static final char[] PASSWORD = "benchmark".toCharArray();
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    @State(Scope.Thread)
+    public static class Transfer {
+
+        @Param({"plain", "TLSv1.2", "TLSv1.3"})
+        public String protocol;
+
+        @Param({"200", "2000"})
+        public int messageSize;
+
+        @Param({""})
+        public String provider;
+
+        private ByteBuffer message;
+        private ByteBuffer network;
+        private ByteBuffer application;
+        private SSLEngine client;
+        private SSLEngine server;
+
+        @Setup
+        public void setup() throws Exception {
+            message = ByteBuffer.wrap(createMessage(messageSize));
+            application = ByteBuffer.allocate(messageSize + 16 * 1024);
+            network = ByteBuffer.allocate(messageSize + 32 * 1024);
+            if (!protocol.equals("plain")) {
+                SSLContext context = createContext(provider);
+                client = createEngine(context, protocol, true, true);
+                server = createEngine(context, protocol, false, true);
+                handshake(client, server);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Handshake {
+
+        @Param({"TLSv1.2", "TLSv1.3"})
+        public String protocol;
+
+        @Param({"full", "resumed"})
+        public String handshake;
+
+        @Param({""})
+        public String provider;
+
+        private SSLContext context;
+
+        @Setup
+        public void setup() throws Exception {
+            context = createContext(provider);
+            handshake(createEngine(context, protocol, true, true), createEngine(context, protocol, false, true));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int transfer(Transfer state) throws SSLException {
+        ByteBuffer message = state.message;
+        ByteBuffer network = state.network;
+        ByteBuffer application = state.application;
+        message.rewind();
+        network.clear();
+        application.clear();
+        if (state.client == null) {
+            network.put(message);
+            network.flip();
+            application.put(network);
+        } else {
+            state.client.wrap(message, network);
+            network.flip();
+            state.server.unwrap(network, application);
+        }
+        return application.position();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public SSLEngine handshake(Handshake state) throws SSLException {
+        // JSSE resumes only the sessions of engines which know the peer host and port
+        boolean resumed = state.handshake.equals("resumed");
+        SSLEngine client = createEngine(state.context, state.protocol, true, resumed);
+        handshake(client, createEngine(state.context, state.protocol, false, resumed));
+        return client;
+    }
+
+    private static byte[] createMessage(int size) {
+        StringBuilder message = new StringBuilder("8=FIX.4.2\u00019=0\u000135=D\u000149=client\u000156=server\u000134=1\u000111=ClOrdID\u000155=Symbol\u000154=1\u0001");
+        while (message.length() < size - 7) {
+            message.append("58=text\u0001");
+        }
+        message.setLength(size - 7);
+        return message.append("10=000\u0001").toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static SSLContext createContext(String provider) throws IOException, GeneralSecurityException, InterruptedException {
+        if (!provider.isEmpty()) {
+            TlsSupport.installProvider(provider);
+        }
+        Path directory = Files.createTempDirectory("tls-benchmark");
+        Path keyStorePath = directory.resolve("benchmark.p12");
+        Process keytool = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-alias", "benchmark", "-keyalg", "RSA", "-keysize", "2048", "-dname", "CN=localhost",
+                "-validity", "1", "-storetype", "PKCS12", "-keystore", keyStorePath.toString(),
+                "-storepass", new String(PASSWORD), "-keypass", new String(PASSWORD))
+                .inheritIO()
+                .start();
+        if (keytool.waitFor() != 0) {
+            throw new IllegalStateException("Failed to generate key store with keytool");
+        }
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream input = Files.newInputStream(keyStorePath)) {
+            keyStore.load(input, PASSWORD);
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, PASSWORD);
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(keyStore);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagers.getKeyManagers(), trustManagers.getTrustManagers(), null);
+        return context;
+    }
+
+    private static SSLEngine createEngine(SSLContext context, String protocol, boolean clientMode, boolean withPeer) {
+        SSLEngine engine = withPeer ? context.createSSLEngine("localhost", 9877) : context.createSSLEngine();
+        engine.setUseClientMode(clientMode);
+        engine.setEnabledProtocols(new String[]{protocol});
+        return engine;
+    }
+
+    private static void handshake(SSLEngine client, SSLEngine server) throws SSLException {
+        int size = client.getSession().getPacketBufferSize();
+        ByteBuffer clientToServer = ByteBuffer.allocate(size);
+        ByteBuffer serverToClient = ByteBuffer.allocate(size);
+        ByteBuffer application = ByteBuffer.allocate(client.getSession().getApplicationBufferSize());
+        client.beginHandshake();
+        server.beginHandshake();
+        for (int i = 0; isHandshaking(client) || isHandshaking(server); i++) {
+            if (i > 1000) {
+                throw new IllegalStateException("TLS handshake does not complete");
+            }
+            step(client, serverToClient, clientToServer, application);
+            step(server, clientToServer, serverToClient, application);
+        }
+        // the session ticket of TLS 1.3 follows the handshake and is needed for resumption
+        while (serverToClient.position() > 0) {
+            serverToClient.flip();
+            int consumed = client.unwrap(serverToClient, application).bytesConsumed();
+            serverToClient.compact();
+            application.clear();
+            if (consumed == 0) {
+                break;
+            }
+        }
+    }
+
+    private static boolean isHandshaking(SSLEngine engine) {
+        HandshakeStatus status = engine.getHandshakeStatus();
+        return status != HandshakeStatus.NOT_HANDSHAKING && status != HandshakeStatus.FINISHED;
+    }
+
+    private static void step(SSLEngine engine, ByteBuffer input, ByteBuffer output, ByteBuffer application) throws SSLException {
+        switch (engine.getHandshakeStatus()) {
+        case NEED_WRAP:
+            engine.wrap(EMPTY, output);
+            break;
+        case NEED_UNWRAP:
+            input.flip();
+            engine.unwrap(input, application);
+            input.compact();
+            application.clear();
+            break;
+        case NEED_TASK:
+            Runnable task;
+            while ((task = engine.getDelegatedTask()) != null) {
+                task.run();
+            }
+            break;
+        default:
+            break;
+        }
+    }
+}
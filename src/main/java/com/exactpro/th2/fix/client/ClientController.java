@@ -8,20 +8,32 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BooleanSupplier;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 
-class ClientController implements AutoCloseable {
+public class ClientController implements AutoCloseable {
 
     private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
     private Future<?> stopFuture = CompletableFuture.completedFuture(null);
     private final FixClient client;
+    private final BooleanSupplier active;
 
-    ClientController(@NotNull FixClient client) {
+    /**
+     * @param active whether this instance may run the sessions, i.e. it is not the standby of another instance
+     */
+    public ClientController(@NotNull FixClient client, @NotNull BooleanSupplier active) {
         this.client = Objects.requireNonNull(client, "Fix Client must not be null");
+        this.active = Objects.requireNonNull(active, "Active supplier must not be null");
     }
 
+    /**
+     * @throws IllegalStateException if this instance is a standby
+     */
     public synchronized void start(int stopAfter) {
+        if (!isActive()) {
+            throw new IllegalStateException("Standby instance does not start the sessions while its peer is active");
+        }
         if (!isRunning()) {
             client.start();
             if (stopAfter > 0) {
@@ -43,6 +55,23 @@ class ClientController implements AutoCloseable {
         if (!executor.awaitTermination(5, SECONDS)) executor.shutdownNow();
     }
 
+    /**
+     * Starts the client when it is stopped and this instance is not a standby.
+     */
+    public void autoStart(int stopAfter) {
+        if (!isRunning()) {
+            synchronized (this) {
+                if (isActive()) {
+                    start(stopAfter);
+                }
+            }
+        }
+    }
+
+    public boolean isActive() {
+        return active.getAsBoolean();
+    }
+
     public boolean isRunning() {
         return client.isRunning();
     }
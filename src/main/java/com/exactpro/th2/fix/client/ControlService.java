@@ -11,9 +11,10 @@ import java.util.Objects;
 
 import static com.exactpro.th2.conn.grpc.Response.Status.FAILURE;
 import static com.exactpro.th2.conn.grpc.Response.Status.SUCCESS;
+import static io.grpc.Status.FAILED_PRECONDITION;
 import static io.grpc.Status.INTERNAL;
 
-class ControlService extends ConnImplBase {
+public class ControlService extends ConnImplBase {
 
     private final ClientController controller;
 
@@ -25,6 +26,10 @@ class ControlService extends ConnImplBase {
     public synchronized void start(StartRequest request, StreamObserver<Response> observer) {
 
         try {
+            if (!controller.isActive()) {
+                observer.onError(FAILED_PRECONDITION.withDescription("Standby instance does not start the sessions while its peer is active").asRuntimeException());
+                return;
+            }
             if (controller.isRunning()) {
                 observer.onNext(failure("Already running"));
             } else {
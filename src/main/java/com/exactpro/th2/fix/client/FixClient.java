@@ -1,10 +1,12 @@
 package com.exactpro.th2.fix.client;
 
-import com.exactpro.th2.common.grpc.ConnectionID;
 import com.exactpro.th2.common.grpc.EventBatch;
-import com.exactpro.th2.common.grpc.MessageGroupBatch;
 import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.fix.client.inbound.SessionCapture;
+import com.exactpro.th2.fix.client.reconnect.LogonScheduler;
 import com.exactpro.th2.fix.client.service.ClientApplication;
+import com.exactpro.th2.fix.client.standby.StoreReplication;
+import com.exactpro.th2.fix.client.statistics.SessionStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import quickfix.ConfigError;
@@ -18,45 +20,81 @@ import quickfix.SessionID;
 import quickfix.SessionSettings;
 import quickfix.ThreadedSocketInitiator;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 
+/**
+ * Runs each group of sessions in its own initiator with its own threads, message store and log factory,
+ * so a misbehaving session affects only the sessions of its group.
+ */
 public class FixClient {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FixClient.class);
 
-    private final ThreadedSocketInitiator initiator;
+    private final Map<String, ThreadedSocketInitiator> initiators = new LinkedHashMap<>();
+    private final MessageRouter<EventBatch> eventRouter;
+    private final Map<SessionID, SessionCapture> captures;
+    private final String rootEventId;
+    private final ClientApplication application;
+    private final StoreReplication replication;
+    private final LogonScheduler logonScheduler;
+    private final MessageFactory messageFactory = new DefaultMessageFactory();
     private volatile boolean isRunning = false;
 
 
-    public FixClient(SessionSettings settings, MessageRouter<MessageGroupBatch> messageRouter, MessageRouter<EventBatch> eventRouter,
-                     Map<SessionID, ConnectionID> connections, String rootEventId, int queueCapacity) throws ConfigError {
+    /**
+     * @param dispatcherCpus CPUs the threads processing incoming messages of the sessions are pinned to
+     * @param replication    replication of the message stores to the standby instance or {@code null} if there is no standby
+     * @param logonScheduler permits the first logons of the sessions after each start of the client
+     */
+    public FixClient(MessageRouter<EventBatch> eventRouter, Map<SessionID, SessionCapture> captures, String rootEventId, int messageLogSampleRate,
+                     Map<SessionID, Integer> dispatcherCpus, StoreReplication replication, LogonScheduler logonScheduler) {
+        this.eventRouter = eventRouter;
+        this.captures = captures;
+        this.rootEventId = rootEventId;
+        this.replication = replication;
+        this.logonScheduler = logonScheduler;
 
-        ClientApplication application = new ClientApplication();
-        MessageStoreFactory messageStoreFactory = new FileStoreFactory(settings);
-        LogFactory logFactory = new LogFactoryImpl(new FileLogFactory(settings), messageRouter, eventRouter, connections, rootEventId);
-        MessageFactory messageFactory = new DefaultMessageFactory();
-
-        initiator = new ThreadedSocketInitiator(application, messageStoreFactory, settings, logFactory, messageFactory, queueCapacity);
+        Map<SessionID, SessionStatistics> statistics = new HashMap<>();
+        captures.forEach((sessionID, capture) -> statistics.put(sessionID, capture.getStatistics()));
+        this.application = new ClientApplication(messageLogSampleRate, statistics, dispatcherCpus, logonScheduler);
+    }
 
+    /**
+     * @param queueCapacity capacity of the incoming message queue of each session in the group
+     */
+    public void addGroup(String name, SessionSettings settings, int queueCapacity) throws ConfigError {
+        MessageStoreFactory messageStoreFactory = new FileStoreFactory(settings);
+        if (replication != null) {
+            messageStoreFactory = replication.wrap(messageStoreFactory, settings);
+        }
+        LogFactory logFactory = new LogFactoryImpl(new FileLogFactory(settings), eventRouter, captures, rootEventId);
+        initiators.put(name, new ThreadedSocketInitiator(application, messageStoreFactory, settings, logFactory, messageFactory, queueCapacity));
     }
 
     public synchronized void start() {
-        try {
-            initiator.start();
-            isRunning = true;
-        } catch (Exception e) {
-            LOGGER.error("Failed to start client", e);
-        }
+        logonScheduler.start();
+        initiators.forEach((name, initiator) -> {
+            try {
+                initiator.start();
+                isRunning = true;
+            } catch (Exception e) {
+                LOGGER.error("Failed to start client of session group {}", name, e);
+            }
+        });
     }
 
     public synchronized void stop() {
-        try {
-            isRunning = false;
-            initiator.stop();
-        } catch (Exception e) {
-            LOGGER.error("Failed to stop client", e);
-        }
+        isRunning = false;
+        initiators.forEach((name, initiator) -> {
+            try {
+                initiator.stop();
+            } catch (Exception e) {
+                LOGGER.error("Failed to stop client of session group {}", name, e);
+            }
+        });
     }
 
     public boolean isRunning() {
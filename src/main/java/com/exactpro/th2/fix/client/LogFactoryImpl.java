@@ -1,9 +1,8 @@
 package com.exactpro.th2.fix.client;
 
-import com.exactpro.th2.common.grpc.ConnectionID;
 import com.exactpro.th2.common.grpc.EventBatch;
-import com.exactpro.th2.common.grpc.MessageGroupBatch;
 import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.fix.client.inbound.SessionCapture;
 import quickfix.Log;
 import quickfix.LogFactory;
 import quickfix.SessionID;
@@ -13,25 +12,23 @@ import java.util.Objects;
 
 public class LogFactoryImpl implements LogFactory {
 
-    private final MessageRouter<MessageGroupBatch> messageRouter;
     private final MessageRouter<EventBatch> eventBatch;
     private final LogFactory logFactory;
-    private final Map<SessionID, ConnectionID> connections;
+    private final Map<SessionID, SessionCapture> captures;
     private final String rootEventId;
 
-    public LogFactoryImpl(LogFactory logFactory, MessageRouter<MessageGroupBatch> messageRouter, MessageRouter<EventBatch> eventRouter,
-                          Map<SessionID, ConnectionID> connections, String rootEventId) {
+    public LogFactoryImpl(LogFactory logFactory, MessageRouter<EventBatch> eventRouter,
+                          Map<SessionID, SessionCapture> captures, String rootEventId) {
         this.logFactory = logFactory;
-        this.messageRouter = messageRouter;
         this.eventBatch = eventRouter;
-        this.connections = connections;
+        this.captures = captures;
         this.rootEventId = rootEventId;
     }
 
     @Override
     public Log create(SessionID sessionID) {
-        ConnectionID connectionID = Objects.requireNonNull(connections.get(sessionID), () -> "Unknown session ID: " + sessionID);
-        return new LogImpl(logFactory.create(sessionID), messageRouter, eventBatch, connectionID, rootEventId);
+        SessionCapture capture = Objects.requireNonNull(captures.get(sessionID), () -> "Unknown session ID: " + sessionID);
+        return new LogImpl(logFactory.create(sessionID), capture, eventBatch, rootEventId);
     }
 
 }
@@ -6,7 +6,18 @@ import com.exactpro.th2.common.grpc.EventBatch;
 import com.exactpro.th2.common.grpc.MessageGroupBatch;
 import com.exactpro.th2.common.schema.message.MessageRouter;
 import com.exactpro.th2.common.schema.message.MessageRouterUtils;
-import com.exactpro.th2.common.schema.message.QueueAttribute;
+import com.exactpro.th2.common.grpc.RawMessageMetadata;
+import com.exactpro.th2.fix.client.inbound.InboundSubscribers;
+import com.exactpro.th2.fix.client.inbound.ParsedMessagePublisher;
+import com.exactpro.th2.fix.client.inbound.PublishFilter;
+import com.exactpro.th2.fix.client.inbound.PublishTarget;
+import com.exactpro.th2.fix.client.inbound.RecentMessages;
+import com.exactpro.th2.fix.client.inbound.SessionCapture;
+import com.exactpro.th2.fix.client.inbound.SessionPublisher;
+import com.exactpro.th2.fix.client.jfr.CaptureEvent;
+import com.exactpro.th2.fix.client.reconnect.ReconnectMetrics;
+import com.exactpro.th2.fix.client.statistics.RoundTripTracker;
+import com.exactpro.th2.fix.client.statistics.SessionStatistics;
 import com.exactpro.th2.fix.client.util.MessageUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,22 +35,33 @@ public class LogImpl implements Log {
     private final Logger LOGGER = LoggerFactory.getLogger(LogImpl.class);
 
     private final Log log;
-    private final MessageRouter<MessageGroupBatch> messageRouter;
     private final MessageRouter<EventBatch> eventRouter;
     private final ConnectionID connectionID;
     private final String rootEventId;
     private final String sessionAlias;
+    private final SessionPublisher publisher;
+    private final PublishFilter publishFilter;
+    private final ParsedMessagePublisher parsedPublisher;
+    private final SessionStatistics statistics;
+    private final InboundSubscribers subscribers;
+    private final RoundTripTracker roundTrips;
+    private final RecentMessages recentMessages;
     private final Supplier<Long> inputSeq = createSequence();
     private final Supplier<Long> outputSeq = createSequence();
 
-    public LogImpl(Log log, MessageRouter<MessageGroupBatch> messageRouter, MessageRouter<EventBatch> eventRouter,
-                   ConnectionID connectionID, String rootEventId) {
+    public LogImpl(Log log, SessionCapture capture, MessageRouter<EventBatch> eventRouter, String rootEventId) {
         this.log = log;
-        this.messageRouter = messageRouter;
         this.eventRouter = eventRouter;
-        this.connectionID = connectionID;
+        this.connectionID = capture.getConnectionID();
         this.rootEventId = rootEventId;
         this.sessionAlias = connectionID.getSessionAlias();
+        this.publisher = capture.getPublisher();
+        this.publishFilter = capture.getPublishFilter();
+        this.parsedPublisher = capture.getParsedPublisher();
+        this.statistics = capture.getStatistics();
+        this.subscribers = capture.getSubscribers();
+        this.roundTrips = capture.getRoundTrips();
+        this.recentMessages = capture.getRecentMessages();
     }
 
     @Override
@@ -78,6 +100,7 @@ public class LogImpl implements Log {
     @Override
     public void onEvent(String text) {
         log.onEvent(text);
+        ReconnectMetrics.onEvent(sessionAlias, text);
         MessageRouterUtils.storeEvent(eventRouter, rootEventId, text, "Info", null);
 
     }
@@ -85,6 +108,7 @@ public class LogImpl implements Log {
     @Override
     public void onErrorEvent(String text) {
         log.onErrorEvent(text);
+        ReconnectMetrics.onErrorEvent(sessionAlias, text);
         MessageRouterUtils.storeEvent(eventRouter, rootEventId, text, "Error", null);
     }
 
@@ -94,9 +118,45 @@ public class LogImpl implements Log {
     }
 
     private void onMessage(String message, Direction direction) throws IOException {
+        CaptureEvent event = new CaptureEvent();
+        event.begin();
+        String msgType = MessageUtil.getMsgType(message);
+        try {
+            capture(message, direction, msgType);
+        } finally {
+            if (event.shouldCommit()) {
+                event.sessionAlias = sessionAlias;
+                event.direction = direction.name();
+                event.msgType = msgType;
+                event.seqNum = MessageUtil.getIntField(message, RecentMessages.MSG_SEQ_NUM);
+                event.size = message.length();
+                event.commit();
+            }
+        }
+    }
+
+    private void capture(String message, Direction direction, String msgType) throws IOException {
+        statistics.record(direction, msgType, message.length());
+        if (roundTrips != null) {
+            roundTrips.record(direction, msgType, message);
+        }
+        if (recentMessages != null) {
+            recentMessages.record(direction, message);
+        }
+        if (direction == Direction.FIRST) {
+            subscribers.dispatch(sessionAlias, msgType, message);
+        }
+        PublishTarget target = publishFilter.getTarget(message, direction);
+        if (target == null) {
+            return;
+        }
         Supplier<Long> sequence = direction == Direction.FIRST ? inputSeq : outputSeq;
-        QueueAttribute attribute = direction == Direction.FIRST ? QueueAttribute.FIRST : QueueAttribute.SECOND;
-        messageRouter.send(MessageUtil.toBatch(message.getBytes(), connectionID, direction, sequence.get()), attribute.toString());
+        MessageGroupBatch batch = MessageUtil.toBatch(message.getBytes(), connectionID, direction, sequence.get());
+        publisher.publish(batch, target.getRawAttributes());
+        if (parsedPublisher != null) {
+            RawMessageMetadata metadata = batch.getGroups(0).getMessages(0).getRawMessage().getMetadata();
+            parsedPublisher.publish(message, metadata, target.getParsedAttributes());
+        }
     }
 
     private static Supplier<Long> createSequence() {
@@ -4,9 +4,7 @@ import com.exactpro.th2.common.event.Event;
 import com.exactpro.th2.common.grpc.AnyMessage;
 import com.exactpro.th2.common.grpc.ConnectionID;
 import com.exactpro.th2.common.grpc.EventBatch;
-import com.exactpro.th2.common.grpc.EventID;
 import com.exactpro.th2.common.grpc.MessageGroupBatch;
-import com.exactpro.th2.common.grpc.MessageID;
 import com.exactpro.th2.common.schema.factory.CommonFactory;
 import com.exactpro.th2.common.schema.grpc.router.GrpcRouter;
 import com.exactpro.th2.common.schema.message.MessageListener;
@@ -18,11 +16,45 @@ import com.exactpro.th2.fix.client.exceptions.IncorrectFixFileNameException;
 import com.exactpro.th2.fix.client.fixBean.BaseFixBean;
 import com.exactpro.th2.fix.client.fixBean.FixBean;
 import com.exactpro.th2.fix.client.impl.Destructor;
+import com.exactpro.th2.fix.client.inbound.ParsedMessagePublisher;
+import com.exactpro.th2.fix.client.inbound.PublishFilter;
+import com.exactpro.th2.fix.client.inbound.MessageCacheSettings;
+import com.exactpro.th2.fix.client.inbound.PublishFilterSettings;
+import com.exactpro.th2.fix.client.inbound.RecentMessages;
+import com.exactpro.th2.fix.client.inbound.SessionCapture;
+import com.exactpro.th2.fix.client.inbound.SessionPublisher;
+import com.exactpro.th2.fix.client.inbound.SpillFile;
+import com.exactpro.th2.fix.client.jfr.FlightRecording;
+import com.exactpro.th2.fix.client.jfr.OutboundReceiveEvent;
+import com.exactpro.th2.fix.client.jfr.RecordingSettings;
+import com.exactpro.th2.fix.client.outbound.LaneSettings;
+import com.exactpro.th2.fix.client.outbound.LowLatencySettings;
+import com.exactpro.th2.fix.client.outbound.MessageSender;
+import com.exactpro.th2.fix.client.outbound.MessageTemplates;
+import com.exactpro.th2.fix.client.outbound.PriorityLanes;
+import com.exactpro.th2.fix.client.outbound.SendFailureHandler;
+import com.exactpro.th2.fix.client.outbound.TemplateSettings;
+import com.exactpro.th2.fix.client.reconnect.LogonScheduler;
+import com.exactpro.th2.fix.client.replay.ReplaySettings;
+import com.exactpro.th2.fix.client.replay.SessionReplayer;
+import com.exactpro.th2.fix.client.standby.StandbySettings;
+import com.exactpro.th2.fix.client.standby.StoreReplication;
+import com.exactpro.th2.fix.client.statistics.RoundTripTracker;
+import com.exactpro.th2.fix.client.statistics.SessionStatistics;
+import com.exactpro.th2.fix.client.statistics.StatisticsReporter;
+import com.exactpro.th2.fix.client.tls.TlsSettings;
+import com.exactpro.th2.fix.client.tls.TlsSupport;
 import com.exactpro.th2.fix.client.util.FixBeanUtil;
+import com.exactpro.th2.fix.client.util.FixMessageConverter;
 import com.exactpro.th2.fix.client.util.MessageUtil;
+import com.exactpro.th2.fix.client.util.OrderedExecutor;
+import com.exactpro.th2.fix.client.util.ShardingUtil;
+import com.exactpro.th2.fix.client.warmup.WarmUp;
+import com.exactpro.th2.fix.client.warmup.WarmUpSettings;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.grpc.BindableService;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.slf4j.Logger;
@@ -30,9 +62,6 @@ import org.slf4j.LoggerFactory;
 import quickfix.ConfigError;
 import quickfix.DataDictionary;
 import quickfix.IncorrectDataFormat;
-import quickfix.Message;
-import quickfix.MessageUtils;
-import quickfix.Session;
 import quickfix.SessionID;
 import quickfix.SessionSettings;
 
@@ -42,22 +71,27 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.text.ParseException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
-import static com.exactpro.th2.common.message.MessageUtils.toJson;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 public class Main {
 
@@ -192,81 +226,277 @@ public class Main {
         return dictionariesDirectory.resolve(dictionaryPath);
     }
 
+    private static boolean hasDictionaries(FixBean sessionSetting) {
+        if (sessionSetting.getBeginString().equals("FIXT.1.1")) {
+            return sessionSetting.getTransportDataDictionary() != null && sessionSetting.getAppDataDictionary() != null;
+        }
+        return sessionSetting.getDataDictionary() != null;
+    }
+
+    private static FixMessageConverter createConverter(FixBean sessionSetting) throws ConfigError {
+        if (sessionSetting.getBeginString().equals("FIXT.1.1")) {
+            return new FixMessageConverter(new DataDictionary(sessionSetting.getTransportDataDictionary().toString()),
+                    new DataDictionary(sessionSetting.getAppDataDictionary().toString()));
+        }
+        DataDictionary dictionary = new DataDictionary(sessionSetting.getDataDictionary().toString());
+        return new FixMessageConverter(dictionary, dictionary);
+    }
+
     public static void run(Settings settings, MessageRouter<MessageGroupBatch> messageRouter, MessageRouter<EventBatch> eventRouter,
                            GrpcRouter grpcRouter, Deque<Resources> resources) throws CreatingConfigFileException, ConfigError, IncorrectDataFormat {
 
-        File configFile = FixBeanUtil.createConfig(settings);
+        int replicaCount = settings.getReplicaCount();
+        int replicaIndex = settings.getReplicaIndex();
+        if (replicaCount > 1) {
+            if (replicaIndex >= replicaCount) {
+                throw new IncorrectDataFormat("Replica index must be in range from 0 to " + (replicaCount - 1) + " (value of replica index: " + replicaIndex + ").");
+            }
+            settings.setSessionSettings(ShardingUtil.filterSessions(settings.sessionSettings, replicaIndex, replicaCount));
+            LOGGER.info("Replica {} of {} owns sessions: {}", replicaIndex, replicaCount, settings.getSessionIDsByAliases().keySet());
+            if (settings.sessionSettings.isEmpty()) {
+                LOGGER.warn("No sessions are assigned to replica {}", replicaIndex);
+            }
+        }
+
+        FlightRecording recording = null;
+        if (settings.flightRecording != null) {
+            try {
+                recording = new FlightRecording(settings.flightRecording);
+            } catch (IOException | ParseException e) {
+                throw new IllegalStateException("Failed to start flight recording", e);
+            }
+            resources.add(new Resources("flight-recording", recording::close));
+        }
 
-        Map<SessionID, ConnectionID> connectionIDs = new HashMap<>();
         Map<String, SessionID> sessionIDs = settings.getSessionIDsByAliases();
 
-        sessionIDs.forEach((sessionAlias, sessionId) -> {
-            connectionIDs.put(sessionId, ConnectionID.newBuilder().setSessionAlias(sessionAlias).build());
-        });
-
         Event rootEvent = MessageRouterUtils.storeEvent(eventRouter, Event.start(), null);
         rootEvent.name("FIX client " + String.join(":", sessionIDs.keySet()) + " " + Instant.now());
         rootEvent.type("Microservice");
         String rootEventID = rootEvent.getId();
 
-        FixClient fixClient = new FixClient(new SessionSettings(configFile.getAbsolutePath()),
-                messageRouter, eventRouter, connectionIDs, rootEventID, settings.queueCapacity);
+        OrderedExecutor<String> parsingPool = null;
+        if (settings.parsedOutput) {
+            parsingPool = new OrderedExecutor<>("parser", settings.parsingThreads, settings.parsingQueueCapacity);
+        }
+
+        Map<String, SessionGroupSettings> groups = new HashMap<>();
+        for (SessionGroupSettings group : settings.sessionGroups) {
+            if (groups.put(group.getName(), group) != null) {
+                throw new IllegalArgumentException("Duplicate session group: " + group.getName());
+            }
+        }
+        Map<String, List<FixBean>> groupSessions = new LinkedHashMap<>();
+        for (FixBean sessionSetting : settings.sessionSettings) {
+            String group = Objects.requireNonNullElse(sessionSetting.getSessionGroup(), SessionGroupSettings.DEFAULT_GROUP);
+            if (!SessionGroupSettings.DEFAULT_GROUP.equals(group) && !groups.containsKey(group)) {
+                throw new IllegalArgumentException("Unknown session group of session " + sessionSetting.getSessionAlias() + ": " + group);
+            }
+            groupSessions.computeIfAbsent(group, name -> new ArrayList<>()).add(sessionSetting);
+        }
+        groups.keySet().stream().filter(name -> !groupSessions.containsKey(name))
+                .forEach(name -> LOGGER.warn("Session group {} has no sessions", name));
+
+        Map<SessionID, SessionCapture> captures = new HashMap<>();
+        Map<String, SessionStatistics> statistics = new HashMap<>();
+        Map<String, OrderedExecutor<String>> groupParsingPools = new HashMap<>();
+        for (Map.Entry<String, List<FixBean>> groupEntry : groupSessions.entrySet()) {
+            String groupName = groupEntry.getKey();
+            SessionGroupSettings group = groups.getOrDefault(groupName, new SessionGroupSettings());
+            int publishQueueCapacity = Objects.requireNonNullElse(group.getPublishQueueCapacity(), settings.publishQueueCapacity);
+            long maxSpillSize = Objects.requireNonNullElse(group.getMaxSpillSize(), settings.maxSpillSize);
+            MessageCacheSettings messageCache = group.getMessageCache() != null ? group.getMessageCache() : settings.messageCache;
+
+            OrderedExecutor<String> groupParsingPool = parsingPool;
+            if (settings.parsedOutput && group.getParsingThreads() != null) {
+                groupParsingPool = new OrderedExecutor<>("parser-" + groupName, group.getParsingThreads(), settings.parsingQueueCapacity);
+                groupParsingPools.put(groupName, groupParsingPool);
+            }
+
+            for (FixBean sessionSetting : groupEntry.getValue()) {
+                String sessionAlias = sessionSetting.getSessionAlias();
+                ConnectionID connectionID = ConnectionID.newBuilder().setSessionAlias(sessionAlias).build();
+
+                SessionStatistics sessionStatistics = new SessionStatistics(sessionAlias);
+                statistics.put(sessionAlias, sessionStatistics);
+
+                SpillFile spillFile = settings.spillToDisk ? new SpillFile(Path.of(settings.spillPath, sessionAlias + ".spill"), maxSpillSize) : null;
+                SessionPublisher publisher = new SessionPublisher(sessionAlias, messageRouter, publishQueueCapacity, spillFile,
+                        sessionStatistics.getPublishLatency());
+                resources.add(new Resources("publisher-" + sessionAlias, publisher::close));
+
+                PublishFilterSettings publishFilter = Objects.requireNonNullElse(sessionSetting.getPublishFilter(), settings.getPublishFilter());
+
+                ParsedMessagePublisher parsedPublisher = null;
+                if (groupParsingPool != null) {
+                    parsedPublisher = new ParsedMessagePublisher(sessionAlias, createConverter(sessionSetting), groupParsingPool, publisher, eventRouter, rootEventID);
+                }
+
+                RoundTripTracker roundTrips = null;
+                if (settings.roundTripTracking) {
+                    roundTrips = new RoundTripTracker(sessionAlias, settings.roundTripCapacity, SECONDS.toNanos(settings.roundTripExpiry));
+                }
 
-        configFile.deleteOnExit();
+                captures.put(FixBeanUtil.getSessionID(sessionSetting), new SessionCapture(connectionID, publisher,
+                        new PublishFilter(publishFilter, settings.parsedOutput), parsedPublisher, sessionStatistics, roundTrips,
+                        messageCache == null ? null : new RecentMessages(messageCache)));
+            }
+        }
+
+        if (parsingPool != null) {
+            resources.add(new Resources("parsing-pool", parsingPool::close));
+        }
+        groupParsingPools.forEach((groupName, pool) -> resources.add(new Resources("parsing-pool-" + groupName, pool::close)));
+
+        if (settings.statisticsInterval > 0) {
+            StatisticsReporter reporter = new StatisticsReporter(statistics.values(), eventRouter, rootEventID, settings.statisticsInterval);
+            resources.add(new Resources("statistics-reporter", reporter::close));
+        }
+
+        if (settings.warmUp != null) {
+            WarmUp warmUp = new WarmUp(settings.warmUp, settings.parsedOutput, eventRouter, rootEventID);
+            for (FixBean sessionSetting : settings.sessionSettings) {
+                if (hasDictionaries(sessionSetting)) {
+                    warmUp.addSession(sessionSetting, createConverter(sessionSetting));
+                }
+            }
+            warmUp.run();
+        }
+
+        Map<String, LowLatencySettings> lowLatency = new HashMap<>();
+        Map<SessionID, Integer> dispatcherCpus = new HashMap<>();
+        for (FixBean sessionSetting : settings.sessionSettings) {
+            if (sessionSetting.getReconnect() == null) {
+                sessionSetting.setReconnect(settings.getReconnect());
+            }
+            LowLatencySettings sessionLowLatency = sessionSetting.getLowLatency();
+            if (sessionLowLatency != null) {
+                lowLatency.put(sessionSetting.getSessionAlias(), sessionLowLatency);
+                if (sessionLowLatency.getDispatcherCpu() >= 0) {
+                    dispatcherCpus.put(FixBeanUtil.getSessionID(sessionSetting), sessionLowLatency.getDispatcherCpu());
+                }
+            }
+        }
+
+        if (settings.tls != null && settings.tls.getSecurityProvider() != null) {
+            TlsSupport.installProvider(settings.tls.getSecurityProvider());
+        }
+
+        StoreReplication replication = settings.standby == null ? null : new StoreReplication(settings.standby);
+        if (replication != null) {
+            resources.add(new Resources("store-replication", replication::close));
+        }
+
+        List<SessionID> logonOrder = settings.sessionSettings.stream().map(FixBeanUtil::getSessionID).collect(Collectors.toList());
+        LogonScheduler logonScheduler = new LogonScheduler(logonOrder, SECONDS.toNanos(settings.logonWindow));
+
+        FixClient fixClient = new FixClient(eventRouter, captures, rootEventID, settings.messageLogSampleRate, dispatcherCpus, replication,
+                logonScheduler);
+        for (Map.Entry<String, List<FixBean>> groupEntry : groupSessions.entrySet()) {
+            SessionGroupSettings group = groups.getOrDefault(groupEntry.getKey(), new SessionGroupSettings());
+            File configFile = FixBeanUtil.createConfig(settings, groupEntry.getValue());
+            configFile.deleteOnExit();
+            SessionSettings sessionSettings = new SessionSettings(configFile.getAbsolutePath());
+            if (settings.tls != null) {
+                TlsSupport.configureSessionCache(sessionSettings, settings.tls);
+            }
+            fixClient.addGroup(groupEntry.getKey(), sessionSettings, Objects.requireNonNullElse(group.getQueueCapacity(), settings.queueCapacity));
+        }
         resources.add(new Resources("client", fixClient::stop));
 
-        ClientController controller = new ClientController(fixClient);
+        ClientController controller = new ClientController(fixClient, replication == null ? () -> true : replication::isActive);
+        Runnable autoStart = () -> controller.autoStart(settings.autoStopAfter);
+
+        SendFailureHandler failureHandler = new SendFailureHandler(eventRouter, rootEventID, settings.failureReportInterval, settings.failureSampleSize);
+        resources.add(new Resources("failure-handler", failureHandler::close));
+
+        MessageSender sender = new MessageSender(sessionIDs, statistics, new PriorityLanes(settings.priorityLanes), settings.outboundQueueCapacity,
+                settings.outboundParsingThreads, settings.validateOutgoingMessages, failureHandler,
+                new MessageTemplates(settings.templates, sessionIDs.keySet(), settings.templatePoolSize), SECONDS.toNanos(settings.logonWaitTimeout),
+                lowLatency);
+        resources.add(new Resources("sender", sender::close));
 
         MessageListener<MessageGroupBatch> listener = (consumerTag, groupBatch) -> {
-            if (!controller.isRunning()) controller.start(settings.autoStopAfter);
+            autoStart.run();
 
             groupBatch.getGroupsList().forEach((group) -> {
                 try {
                     if (group.getMessagesCount() != 1) {
-                        if (LOGGER.isErrorEnabled()) {
-                            LOGGER.error("Message group contains more or less than 1 message {} ", toJson(group));
-                        }
+                        failureHandler.onInvalidGroup(group, "Message group contains more or less than 1 message", null);
                     } else {
                         AnyMessage message = group.getMessagesList().get(0);
                         if (!message.hasRawMessage()) {
-                            if (LOGGER.isErrorEnabled()) {
-                                LOGGER.error("Message in the group is not a raw message {} ", toJson(message));
-                            }
+                            failureHandler.onInvalidGroup(group, "Message in the group is not a raw message", null);
                             return;
                         }
-                        String sessionAlias = MessageUtil.getSessionAlias(message);
-                        String strMessage = MessageUtil.rawToString(message);
-
-                        SessionID sessionID = Objects.requireNonNull(sessionIDs.get(sessionAlias), () -> "Unknown session alias: " + sessionAlias);
-                        Session session = Session.lookupSession(sessionID);
-
-                        Message fixMessage = MessageUtils.parse(session, strMessage);
-                        if (!session.send(fixMessage)) {
-                            LOGGER.error("Logon rejected, message not sent");
-
-                            EventID eventID = message.getMessage().getParentEventId();
-                            String parentEventID = eventID.getId().isEmpty() ? rootEventID : eventID.getId();
-                            MessageID messageID = message.getMessage().getMetadata().getId();
-                            Event event = Event.start().messageID(messageID).type("Error").status(Event.Status.FAILED);
-                            MessageRouterUtils.storeEvent(eventRouter, event, parentEventID);
+                        OutboundReceiveEvent event = new OutboundReceiveEvent();
+                        event.begin();
+                        sender.send(message);
+                        if (event.shouldCommit()) {
+                            event.sessionAlias = MessageUtil.getSessionAlias(message);
+                            event.size = message.getRawMessage().getBody().size();
+                            event.commit();
                         }
                     }
                 } catch (Exception e) {
-                    LOGGER.error("Failed to handle message group: {}", toJson(group), e);
-                    MessageRouterUtils.storeEvent(eventRouter, rootEventID, "Failed to handle message group: " + toJson(group), "Error", e);
+                    failureHandler.onInvalidGroup(group, "Failed to handle message group", e);
                 }
             });
         };
 
-        try {
-            SubscriberMonitor monitor = Objects.requireNonNull(messageRouter.subscribe(listener, INPUT_QUEUE_ATTRIBUTE), "Subscriber monitor must not be null.");
-            resources.add(new Resources("raw-monitor", monitor::unsubscribe));
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to subscribe to input queue", e);
+        // a standby instance consumes the outgoing messages and runs the sessions only while it is active
+        AtomicReference<SubscriberMonitor> monitor = new AtomicReference<>();
+        resources.add(new Resources("raw-monitor", () -> {
+            SubscriberMonitor current = monitor.getAndSet(null);
+            if (current != null) current.unsubscribe();
+        }));
+        AtomicBoolean replaysStarted = new AtomicBoolean();
+        Runnable activation = () -> {
+            try {
+                monitor.set(Objects.requireNonNull(messageRouter.subscribe(listener, INPUT_QUEUE_ATTRIBUTE), "Subscriber monitor must not be null."));
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to subscribe to input queue", e);
+            }
+
+            if (settings.autoStart) fixClient.start();
+
+            if (!replaysStarted.compareAndSet(false, true)) return;
+            for (ReplaySettings replay : settings.replays) {
+                if (settings.getReplicaCount() > 1 && !statistics.containsKey(replay.getSessionAlias())) {
+                    LOGGER.info("Replay of session {} is skipped, the session belongs to another replica", replay.getSessionAlias());
+                    continue;
+                }
+                SessionStatistics sessionStatistics = Objects.requireNonNull(statistics.get(replay.getSessionAlias()),
+                        () -> "Unknown session alias of replay: " + replay.getSessionAlias());
+                SessionReplayer replayer = new SessionReplayer(replay, sessionIDs.get(replay.getSessionAlias()), sender, sessionStatistics, autoStart,
+                        eventRouter, rootEventID);
+                resources.add(new Resources("replay-" + replay.getSessionAlias(), replayer::close));
+            }
+        };
+        Runnable deactivation = () -> {
+            try {
+                SubscriberMonitor current = monitor.getAndSet(null);
+                if (current != null) current.unsubscribe();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to unsubscribe from input queue", e);
+            } finally {
+                controller.stop();
+            }
+        };
+        if (replication == null) {
+            activation.run();
+        } else {
+            replication.start(activation, deactivation);
         }
 
-        if (settings.autoStart) fixClient.start();
-        if (settings.grpcStartControl) grpcRouter.startServer(new ControlService(controller));
+        List<BindableService> grpcServices = new ArrayList<>();
+        if (settings.grpcStartControl) grpcServices.add(new ControlService(controller));
+        if (settings.grpcStatistics) grpcServices.add(new StatisticsService(sessionIDs, statistics, sender, captures));
+        if (settings.grpcSend) grpcServices.add(new SendService(sender, autoStart, settings.sendWindow));
+        if (settings.grpcSubscription) grpcServices.add(new SubscriptionService(sessionIDs, captures, settings.subscriptionBufferSize));
+        if (captures.values().stream().anyMatch(capture -> capture.getRecentMessages() != null)) grpcServices.add(new MessageCacheService(sessionIDs, captures));
+        if (recording != null) grpcServices.add(new RecordingService(recording));
+        if (!grpcServices.isEmpty()) grpcRouter.startServer(grpcServices.toArray(new BindableService[0]));
 
         LOGGER.info("Successfully started");
 
@@ -292,10 +522,67 @@ public class Main {
     }
 
     public static class Settings extends BaseFixBean {
+
+        public static final String REPLICA_INDEX_ENV = "REPLICA_INDEX";
+        public static final String REPLICA_COUNT_ENV = "REPLICA_COUNT";
+
+        public Settings() {
+            publishFilter = new PublishFilterSettings();
+        }
+
+        private static int getEnv(String name, int defaultValue) {
+            String value = System.getenv(name);
+            if (value == null || value.isBlank()) {
+                return defaultValue;
+            }
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Environment variable " + name + " must be an integer (value of " + name + ": " + value + ").", e);
+            }
+        }
+
         boolean grpcStartControl = false;
+        boolean grpcStatistics = false;
+        boolean grpcSend = false;
+        int sendWindow = 1000;
+        boolean grpcSubscription = false;
+        int subscriptionBufferSize = 10000;
         boolean autoStart = true;
         int autoStopAfter = 0;
         int queueCapacity = 10000;
+        int outboundQueueCapacity = 10000;
+        int logonWaitTimeout = 30;
+        int logonWindow = 0;
+        int failureReportInterval = 10;
+        int failureSampleSize = 3;
+        int outboundParsingThreads = Runtime.getRuntime().availableProcessors();
+        boolean validateOutgoingMessages = false;
+        boolean parsedOutput = false;
+        int parsingThreads = Runtime.getRuntime().availableProcessors();
+        int parsingQueueCapacity = 10000;
+        int publishQueueCapacity = 10000;
+        boolean spillToDisk = false;
+        String spillPath = "storage/spill/";
+        long maxSpillSize = 1024L * 1024 * 1024;
+        int statisticsInterval = 60;
+        int messageLogSampleRate = 0;
+        boolean roundTripTracking = false;
+        int roundTripCapacity = 65536;
+        int roundTripExpiry = 60;
+        MessageCacheSettings messageCache = null;
+        // null means the value of the environment variable, which is read at startup
+        Integer replicaIndex = null;
+        Integer replicaCount = null;
+        List<LaneSettings> priorityLanes = List.of(new LaneSettings("urgent", List.of("F", "q")));
+        List<TemplateSettings> templates = List.of();
+        int templatePoolSize = 256;
+        List<ReplaySettings> replays = List.of();
+        List<SessionGroupSettings> sessionGroups = List.of();
+        RecordingSettings flightRecording = null;
+        WarmUpSettings warmUp = null;
+        StandbySettings standby = null;
+        TlsSettings tls = null;
         @JsonProperty(required = true)
         List<FixBean> sessionSettings = new ArrayList<>();
         @JsonIgnore
@@ -332,6 +619,313 @@ public class Main {
             this.queueCapacity = queueCapacity;
         }
 
+        public int getOutboundQueueCapacity() {
+            return outboundQueueCapacity;
+        }
+
+        public void setOutboundQueueCapacity(int outboundQueueCapacity) {
+            if (outboundQueueCapacity <= 0) {
+                throw new IllegalArgumentException("Outbound queue capacity must be positive (value of outbound queue capacity: " + outboundQueueCapacity + ").");
+            }
+            this.outboundQueueCapacity = outboundQueueCapacity;
+        }
+
+        public int getLogonWaitTimeout() {
+            return logonWaitTimeout;
+        }
+
+        public void setLogonWaitTimeout(int logonWaitTimeout) {
+            if (logonWaitTimeout < 0) {
+                throw new IllegalArgumentException("Logon wait timeout cannot be negative (value of logon wait timeout: " + logonWaitTimeout + ").");
+            }
+            this.logonWaitTimeout = logonWaitTimeout;
+        }
+
+        public int getLogonWindow() {
+            return logonWindow;
+        }
+
+        public void setLogonWindow(int logonWindow) {
+            if (logonWindow < 0) {
+                throw new IllegalArgumentException("Logon window cannot be negative (value of logon window: " + logonWindow + ").");
+            }
+            this.logonWindow = logonWindow;
+        }
+
+        public int getFailureReportInterval() {
+            return failureReportInterval;
+        }
+
+        public void setFailureReportInterval(int failureReportInterval) {
+            if (failureReportInterval <= 0) {
+                throw new IllegalArgumentException("Failure report interval must be positive (value of failure report interval: " + failureReportInterval + ").");
+            }
+            this.failureReportInterval = failureReportInterval;
+        }
+
+        public int getFailureSampleSize() {
+            return failureSampleSize;
+        }
+
+        public void setFailureSampleSize(int failureSampleSize) {
+            if (failureSampleSize < 0) {
+                throw new IllegalArgumentException("Failure sample size cannot be negative (value of failure sample size: " + failureSampleSize + ").");
+            }
+            this.failureSampleSize = failureSampleSize;
+        }
+
+        public int getPublishQueueCapacity() {
+            return publishQueueCapacity;
+        }
+
+        public void setPublishQueueCapacity(int publishQueueCapacity) {
+            if (publishQueueCapacity <= 0) {
+                throw new IllegalArgumentException("Publish queue capacity must be positive (value of publish queue capacity: " + publishQueueCapacity + ").");
+            }
+            this.publishQueueCapacity = publishQueueCapacity;
+        }
+
+        public boolean isSpillToDisk() {
+            return spillToDisk;
+        }
+
+        public void setSpillToDisk(boolean spillToDisk) {
+            this.spillToDisk = spillToDisk;
+        }
+
+        public String getSpillPath() {
+            return spillPath;
+        }
+
+        public void setSpillPath(String spillPath) {
+            this.spillPath = FixBeanUtil.requireNotNullOrBlank("SpillPath", spillPath);
+        }
+
+        public long getMaxSpillSize() {
+            return maxSpillSize;
+        }
+
+        public void setMaxSpillSize(long maxSpillSize) {
+            if (maxSpillSize <= 0 || maxSpillSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Max spill size must be in range from 1 to " + Integer.MAX_VALUE + " (value of max spill size: " + maxSpillSize + ").");
+            }
+            this.maxSpillSize = maxSpillSize;
+        }
+
+        public int getStatisticsInterval() {
+            return statisticsInterval;
+        }
+
+        public void setStatisticsInterval(int statisticsInterval) {
+            if (statisticsInterval < 0) {
+                throw new IllegalArgumentException("Statistics interval cannot be negative (value of statistics interval: " + statisticsInterval + ").");
+            }
+            this.statisticsInterval = statisticsInterval;
+        }
+
+        public boolean isRoundTripTracking() {
+            return roundTripTracking;
+        }
+
+        public void setRoundTripTracking(boolean roundTripTracking) {
+            this.roundTripTracking = roundTripTracking;
+        }
+
+        public int getRoundTripCapacity() {
+            return roundTripCapacity;
+        }
+
+        public void setRoundTripCapacity(int roundTripCapacity) {
+            if (roundTripCapacity <= 0 || roundTripCapacity > 1 << 30) {
+                throw new IllegalArgumentException("Round trip capacity must be from 1 to 2^30 (value of round trip capacity: " + roundTripCapacity + ").");
+            }
+            this.roundTripCapacity = roundTripCapacity;
+        }
+
+        public int getRoundTripExpiry() {
+            return roundTripExpiry;
+        }
+
+        public void setRoundTripExpiry(int roundTripExpiry) {
+            if (roundTripExpiry <= 0) {
+                throw new IllegalArgumentException("Round trip expiry must be positive (value of round trip expiry: " + roundTripExpiry + ").");
+            }
+            this.roundTripExpiry = roundTripExpiry;
+        }
+
+        public List<SessionGroupSettings> getSessionGroups() {
+            return sessionGroups;
+        }
+
+        public void setSessionGroups(List<SessionGroupSettings> sessionGroups) {
+            this.sessionGroups = Objects.requireNonNull(sessionGroups, "Session groups must not be null");
+        }
+
+        public WarmUpSettings getWarmUp() {
+            return warmUp;
+        }
+
+        public void setWarmUp(WarmUpSettings warmUp) {
+            this.warmUp = warmUp;
+        }
+
+        public TlsSettings getTls() {
+            return tls;
+        }
+
+        public void setTls(TlsSettings tls) {
+            this.tls = tls;
+        }
+
+        public StandbySettings getStandby() {
+            return standby;
+        }
+
+        public void setStandby(StandbySettings standby) {
+            this.standby = standby;
+        }
+
+        public RecordingSettings getFlightRecording() {
+            return flightRecording;
+        }
+
+        public void setFlightRecording(RecordingSettings flightRecording) {
+            this.flightRecording = flightRecording;
+        }
+
+        public MessageCacheSettings getMessageCache() {
+            return messageCache;
+        }
+
+        public void setMessageCache(MessageCacheSettings messageCache) {
+            this.messageCache = messageCache;
+        }
+
+        public int getMessageLogSampleRate() {
+            return messageLogSampleRate;
+        }
+
+        public void setMessageLogSampleRate(int messageLogSampleRate) {
+            if (messageLogSampleRate < 0) {
+                throw new IllegalArgumentException("Message log sample rate cannot be negative (value of message log sample rate: " + messageLogSampleRate + ").");
+            }
+            this.messageLogSampleRate = messageLogSampleRate;
+        }
+
+        public int getReplicaIndex() {
+            return replicaIndex == null ? requireReplicaIndex(getEnv(REPLICA_INDEX_ENV, 0)) : replicaIndex;
+        }
+
+        public void setReplicaIndex(int replicaIndex) {
+            this.replicaIndex = requireReplicaIndex(replicaIndex);
+        }
+
+        public int getReplicaCount() {
+            return replicaCount == null ? requireReplicaCount(getEnv(REPLICA_COUNT_ENV, 1)) : replicaCount;
+        }
+
+        public void setReplicaCount(int replicaCount) {
+            this.replicaCount = requireReplicaCount(replicaCount);
+        }
+
+        private static int requireReplicaIndex(int replicaIndex) {
+            if (replicaIndex < 0) {
+                throw new IllegalArgumentException("Replica index cannot be negative (value of replica index: " + replicaIndex + ").");
+            }
+            return replicaIndex;
+        }
+
+        private static int requireReplicaCount(int replicaCount) {
+            if (replicaCount <= 0) {
+                throw new IllegalArgumentException("Replica count must be positive (value of replica count: " + replicaCount + ").");
+            }
+            return replicaCount;
+        }
+
+        public boolean isParsedOutput() {
+            return parsedOutput;
+        }
+
+        public void setParsedOutput(boolean parsedOutput) {
+            this.parsedOutput = parsedOutput;
+        }
+
+        public int getParsingThreads() {
+            return parsingThreads;
+        }
+
+        public void setParsingThreads(int parsingThreads) {
+            if (parsingThreads <= 0) {
+                throw new IllegalArgumentException("Number of parsing threads must be positive (value of parsing threads: " + parsingThreads + ").");
+            }
+            this.parsingThreads = parsingThreads;
+        }
+
+        public int getParsingQueueCapacity() {
+            return parsingQueueCapacity;
+        }
+
+        public void setParsingQueueCapacity(int parsingQueueCapacity) {
+            if (parsingQueueCapacity <= 0) {
+                throw new IllegalArgumentException("Parsing queue capacity must be positive (value of parsing queue capacity: " + parsingQueueCapacity + ").");
+            }
+            this.parsingQueueCapacity = parsingQueueCapacity;
+        }
+
+        public int getOutboundParsingThreads() {
+            return outboundParsingThreads;
+        }
+
+        public void setOutboundParsingThreads(int outboundParsingThreads) {
+            if (outboundParsingThreads <= 0) {
+                throw new IllegalArgumentException("Number of outbound parsing threads must be positive (value of outbound parsing threads: " + outboundParsingThreads + ").");
+            }
+            this.outboundParsingThreads = outboundParsingThreads;
+        }
+
+        public boolean isValidateOutgoingMessages() {
+            return validateOutgoingMessages;
+        }
+
+        public void setValidateOutgoingMessages(boolean validateOutgoingMessages) {
+            this.validateOutgoingMessages = validateOutgoingMessages;
+        }
+
+        public List<LaneSettings> getPriorityLanes() {
+            return priorityLanes;
+        }
+
+        public void setPriorityLanes(List<LaneSettings> priorityLanes) {
+            this.priorityLanes = Objects.requireNonNull(priorityLanes, "Priority lanes must not be null");
+        }
+
+        public List<TemplateSettings> getTemplates() {
+            return templates;
+        }
+
+        public void setTemplates(List<TemplateSettings> templates) {
+            this.templates = Objects.requireNonNull(templates, "Templates must not be null");
+        }
+
+        public int getTemplatePoolSize() {
+            return templatePoolSize;
+        }
+
+        public void setTemplatePoolSize(int templatePoolSize) {
+            if (templatePoolSize <= 0) {
+                throw new IllegalArgumentException("Template pool size must be positive (value of template pool size: " + templatePoolSize + ").");
+            }
+            this.templatePoolSize = templatePoolSize;
+        }
+
+        public List<ReplaySettings> getReplays() {
+            return replays;
+        }
+
+        public void setReplays(List<ReplaySettings> replays) {
+            this.replays = Objects.requireNonNull(replays, "Replays must not be null");
+        }
+
         public boolean isGrpcStartControl() {
             return grpcStartControl;
         }
@@ -340,6 +934,52 @@ public class Main {
             this.grpcStartControl = grpcStartControl;
         }
 
+        public boolean isGrpcStatistics() {
+            return grpcStatistics;
+        }
+
+        public void setGrpcStatistics(boolean grpcStatistics) {
+            this.grpcStatistics = grpcStatistics;
+        }
+
+        public boolean isGrpcSend() {
+            return grpcSend;
+        }
+
+        public void setGrpcSend(boolean grpcSend) {
+            this.grpcSend = grpcSend;
+        }
+
+        public int getSendWindow() {
+            return sendWindow;
+        }
+
+        public void setSendWindow(int sendWindow) {
+            if (sendWindow <= 0) {
+                throw new IllegalArgumentException("Send window must be positive (value of send window: " + sendWindow + ").");
+            }
+            this.sendWindow = sendWindow;
+        }
+
+        public boolean isGrpcSubscription() {
+            return grpcSubscription;
+        }
+
+        public void setGrpcSubscription(boolean grpcSubscription) {
+            this.grpcSubscription = grpcSubscription;
+        }
+
+        public int getSubscriptionBufferSize() {
+            return subscriptionBufferSize;
+        }
+
+        public void setSubscriptionBufferSize(int subscriptionBufferSize) {
+            if (subscriptionBufferSize <= 0) {
+                throw new IllegalArgumentException("Subscription buffer size must be positive (value of subscription buffer size: " + subscriptionBufferSize + ").");
+            }
+            this.subscriptionBufferSize = subscriptionBufferSize;
+        }
+
         public boolean isAutoStart() {
             return autoStart;
         }
@@ -369,8 +1009,45 @@ public class Main {
             return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
                     .appendSuper(super.toString())
                     .append("grpcStartControl", grpcStartControl)
+                    .append("grpcStatistics", grpcStatistics)
+                    .append("grpcSend", grpcSend)
+                    .append("sendWindow", sendWindow)
+                    .append("grpcSubscription", grpcSubscription)
+                    .append("subscriptionBufferSize", subscriptionBufferSize)
                     .append("autoStart", autoStart)
                     .append("autoStopAfter", autoStopAfter)
+                    .append("queueCapacity", queueCapacity)
+                    .append("outboundQueueCapacity", outboundQueueCapacity)
+                    .append("logonWaitTimeout", logonWaitTimeout)
+                    .append("logonWindow", logonWindow)
+                    .append("failureReportInterval", failureReportInterval)
+                    .append("failureSampleSize", failureSampleSize)
+                    .append("outboundParsingThreads", outboundParsingThreads)
+                    .append("validateOutgoingMessages", validateOutgoingMessages)
+                    .append("priorityLanes", priorityLanes)
+                    .append("parsedOutput", parsedOutput)
+                    .append("parsingThreads", parsingThreads)
+                    .append("parsingQueueCapacity", parsingQueueCapacity)
+                    .append("publishQueueCapacity", publishQueueCapacity)
+                    .append("spillToDisk", spillToDisk)
+                    .append("spillPath", spillPath)
+                    .append("maxSpillSize", maxSpillSize)
+                    .append("statisticsInterval", statisticsInterval)
+                    .append("messageLogSampleRate", messageLogSampleRate)
+                    .append("roundTripTracking", roundTripTracking)
+                    .append("roundTripCapacity", roundTripCapacity)
+                    .append("roundTripExpiry", roundTripExpiry)
+                    .append("messageCache", messageCache)
+                    .append("replicaIndex", replicaIndex)
+                    .append("replicaCount", replicaCount)
+                    .append("templates", templates)
+                    .append("templatePoolSize", templatePoolSize)
+                    .append("replays", replays)
+                    .append("sessionGroups", sessionGroups)
+                    .append("flightRecording", flightRecording)
+                    .append("warmUp", warmUp)
+                    .append("standby", standby)
+                    .append("tls", tls)
                     .append("sessionsSettings", sessionSettings)
                     .append("sessionIDsByAliases", sessionIDsByAliases)
                     .toString();
@@ -0,0 +1,104 @@
+package com.exactpro.th2.fix.client;
+
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.fix.client.grpc.CacheDirection;
+import com.exactpro.th2.fix.client.grpc.CachedMessage;
+import com.exactpro.th2.fix.client.grpc.FindMessagesRequest;
+import com.exactpro.th2.fix.client.grpc.FindMessagesResponse;
+import com.exactpro.th2.fix.client.grpc.MessageCacheServiceGrpc.MessageCacheServiceImplBase;
+import com.exactpro.th2.fix.client.inbound.MessageCache;
+import com.exactpro.th2.fix.client.inbound.RecentMessages;
+import com.exactpro.th2.fix.client.inbound.SessionCapture;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import io.grpc.stub.StreamObserver;
+import quickfix.SessionID;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static io.grpc.Status.FAILED_PRECONDITION;
+import static io.grpc.Status.INTERNAL;
+import static io.grpc.Status.INVALID_ARGUMENT;
+import static io.grpc.Status.NOT_FOUND;
+
+/**
+ * Looks up the last messages of a session by MsgSeqNum or ClOrdID in the in-memory message cache.
+ */
+class MessageCacheService extends MessageCacheServiceImplBase {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final Map<String, SessionID> sessionIDs;
+    private final Map<SessionID, SessionCapture> captures;
+
+    public MessageCacheService(Map<String, SessionID> sessionIDs, Map<SessionID, SessionCapture> captures) {
+        this.sessionIDs = sessionIDs;
+        this.captures = captures;
+    }
+
+    @Override
+    public void findMessages(FindMessagesRequest request, StreamObserver<FindMessagesResponse> observer) {
+        try {
+            SessionID sessionID = sessionIDs.get(request.getSessionAlias());
+            if (sessionID == null) {
+                observer.onError(NOT_FOUND.withDescription("Unknown session alias: " + request.getSessionAlias()).asRuntimeException());
+                return;
+            }
+            if (request.getKeyCase() == FindMessagesRequest.KeyCase.KEY_NOT_SET) {
+                observer.onError(INVALID_ARGUMENT.withDescription("Either seq_num or cl_ord_id must be set").asRuntimeException());
+                return;
+            }
+
+            RecentMessages recentMessages = captures.get(sessionID).getRecentMessages();
+            if (recentMessages == null) {
+                observer.onError(FAILED_PRECONDITION.withDescription("Message cache is disabled for session: " + request.getSessionAlias()).asRuntimeException());
+                return;
+            }
+            FindMessagesResponse.Builder response = FindMessagesResponse.newBuilder();
+            if (request.getDirection() != CacheDirection.OUTGOING) {
+                find(request, recentMessages.getCache(Direction.FIRST), CacheDirection.INCOMING, response);
+            }
+            if (request.getDirection() != CacheDirection.INCOMING) {
+                find(request, recentMessages.getCache(Direction.SECOND), CacheDirection.OUTGOING, response);
+            }
+
+            observer.onNext(response.build());
+            observer.onCompleted();
+        } catch (RuntimeException e) {
+            observer.onError(INTERNAL.withCause(e).withDescription(e.getMessage()).asRuntimeException());
+        }
+    }
+
+    private static void find(FindMessagesRequest request, MessageCache cache, CacheDirection direction, FindMessagesResponse.Builder response) {
+        if (request.getKeyCase() == FindMessagesRequest.KeyCase.SEQ_NUM) {
+            MessageCache.Entry entry = cache.findBySeqNum(request.getSeqNum());
+            if (entry != null) {
+                response.addMessages(toProto(entry, direction));
+            }
+            return;
+        }
+
+        String clOrdId = request.getClOrdId();
+        int limit = request.getLimit() > 0 ? request.getLimit() : DEFAULT_LIMIT;
+        for (MessageCache.Entry entry : cache.findByClOrdId(MessageUtil.hashValue(clOrdId), limit)) {
+            // the cache is indexed by a hash, so collisions are filtered out here
+            String message = new String(entry.getMessage(), StandardCharsets.ISO_8859_1);
+            if (clOrdId.equals(MessageUtil.getField(message, RecentMessages.CL_ORD_ID))) {
+                response.addMessages(toProto(entry, direction));
+            }
+        }
+    }
+
+    private static CachedMessage toProto(MessageCache.Entry entry, CacheDirection direction) {
+        return CachedMessage.newBuilder()
+                .setDirection(direction)
+                .setSeqNum(entry.getSeqNum())
+                .setRawMessage(ByteString.copyFrom(entry.getMessage()))
+                .setTimestamp(Timestamp.newBuilder()
+                        .setSeconds(entry.getTimestamp() / 1000)
+                        .setNanos((int) (entry.getTimestamp() % 1000) * 1_000_000))
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.exactpro.th2.fix.client;
+
+import com.exactpro.th2.fix.client.grpc.DumpRecordingRequest;
+import com.exactpro.th2.fix.client.grpc.DumpRecordingResponse;
+import com.exactpro.th2.fix.client.grpc.RecordingServiceGrpc.RecordingServiceImplBase;
+import com.exactpro.th2.fix.client.jfr.FlightRecording;
+import io.grpc.stub.StreamObserver;
+
+import java.io.IOException;
+
+import static io.grpc.Status.INTERNAL;
+
+class RecordingService extends RecordingServiceImplBase {
+
+    private final FlightRecording recording;
+
+    public RecordingService(FlightRecording recording) {
+        this.recording = recording;
+    }
+
+    @Override
+    public void dumpRecording(DumpRecordingRequest request, StreamObserver<DumpRecordingResponse> observer) {
+        try {
+            observer.onNext(DumpRecordingResponse.newBuilder().setPath(recording.dump().toAbsolutePath().toString()).build());
+            observer.onCompleted();
+        } catch (IOException | RuntimeException e) {
+            observer.onError(INTERNAL.withCause(e).withDescription(e.getMessage()).asRuntimeException());
+        }
+    }
+}
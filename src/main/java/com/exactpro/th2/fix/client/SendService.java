@@ -0,0 +1,144 @@
+package com.exactpro.th2.fix.client;
+
+import com.exactpro.th2.fix.client.grpc.SendRequest;
+import com.exactpro.th2.fix.client.grpc.SendResponse;
+import com.exactpro.th2.fix.client.grpc.SendServiceGrpc.SendServiceImplBase;
+import com.exactpro.th2.fix.client.outbound.MessageSender;
+import com.exactpro.th2.fix.client.outbound.OutboundMessage;
+import com.exactpro.th2.fix.client.outbound.SendListener;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.exactpro.th2.fix.client.grpc.SendResponse.Status.ACCEPTED;
+import static com.exactpro.th2.fix.client.grpc.SendResponse.Status.REJECTED;
+
+/**
+ * Feeds raw messages from a gRPC stream into the same send pipeline as the MQ subscription,
+ * so latency sensitive producers can skip the broker. Requests are read with manual flow control:
+ * a stream has at most {@code window} messages without a response, and no more requests are read
+ * while its response stream is not ready, so a slow session or a client which does not read
+ * the responses holds back the producer instead of buffering without a bound.
+ */
+public class SendService extends SendServiceImplBase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SendService.class);
+
+    private final MessageSender sender;
+    private final Runnable onRequest;
+    private final int window;
+
+    /**
+     * @param onRequest called on each request before its message is sent
+     * @param window    maximum number of messages of a stream without a response
+     */
+    public SendService(MessageSender sender, Runnable onRequest, int window) {
+        this.sender = sender;
+        this.onRequest = onRequest;
+        this.window = window;
+    }
+
+    @Override
+    public StreamObserver<SendRequest> send(StreamObserver<SendResponse> responses) {
+        ServerCallStreamObserver<SendResponse> call = (ServerCallStreamObserver<SendResponse>) responses;
+        RequestObserver requests = new RequestObserver(call);
+        call.disableAutoInboundFlowControl();
+        call.setOnReadyHandler(requests::requestMore);
+        return requests;
+    }
+
+    private class RequestObserver implements StreamObserver<SendRequest> {
+
+        private final ServerCallStreamObserver<SendResponse> responses;
+        // one for the open request stream plus one per message in flight
+        private final AtomicInteger pending = new AtomicInteger(1);
+        // messages requested from the stream but not received yet
+        private int requested;
+
+        private RequestObserver(ServerCallStreamObserver<SendResponse> responses) {
+            this.responses = responses;
+        }
+
+        /**
+         * Requests as many messages as fit into the window. gRPC may have requested the first message
+         * of the stream on its own, which is not counted, so it can exceed the window by one.
+         */
+        private synchronized void requestMore() {
+            if (!responses.isReady()) {
+                return;
+            }
+            int count = window - (pending.get() - 1) - requested;
+            if (count > 0) {
+                requested += count;
+                responses.request(count);
+            }
+        }
+
+        private synchronized void received() {
+            requested = Math.max(0, requested - 1);
+            pending.incrementAndGet();
+        }
+
+        @Override
+        public void onNext(SendRequest request) {
+            received();
+            onRequest.run();
+
+            long requestId = request.getRequestId();
+            try {
+                sender.send(MessageUtil.toOutgoingMessage(request.getSessionAlias(), request.getRawMessage()), new SendListener() {
+                    @Override
+                    public void onSent(OutboundMessage message) {
+                        respond(SendResponse.newBuilder().setRequestId(requestId).setStatus(ACCEPTED).build());
+                    }
+
+                    @Override
+                    public void onFailed(OutboundMessage message, String reason) {
+                        respond(SendResponse.newBuilder().setRequestId(requestId).setStatus(REJECTED).setReason(reason).build());
+                    }
+                });
+            } catch (RuntimeException e) {
+                respond(SendResponse.newBuilder().setRequestId(requestId).setStatus(REJECTED).setReason(e.getMessage()).build());
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            LOGGER.warn("Send stream failed", t);
+            done();
+        }
+
+        @Override
+        public void onCompleted() {
+            done();
+        }
+
+        private void respond(SendResponse response) {
+            synchronized (responses) {
+                try {
+                    responses.onNext(response);
+                } catch (RuntimeException e) {
+                    LOGGER.debug("Failed to send response for request {}", response.getRequestId(), e);
+                }
+            }
+            done();
+            requestMore();
+        }
+
+        private void done() {
+            if (pending.decrementAndGet() == 0) {
+                synchronized (responses) {
+                    try {
+                        responses.onCompleted();
+                    } catch (RuntimeException e) {
+                        LOGGER.debug("Failed to complete send stream", e);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.exactpro.th2.fix.client;
+
+import com.exactpro.th2.fix.client.inbound.MessageCacheSettings;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import static com.exactpro.th2.fix.client.util.FixBeanUtil.requireNotNullOrBlank;
+
+/**
+ * Resources of a group of sessions which run in their own initiator. Unset limits are taken from the connector settings.
+ */
+public class SessionGroupSettings {
+
+    public static final String DEFAULT_GROUP = "default";
+
+    private String name;
+    private Integer queueCapacity = null;
+    private Integer publishQueueCapacity = null;
+    private Long maxSpillSize = null;
+    private Integer parsingThreads = null;
+    private MessageCacheSettings messageCache = null;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = requireNotNullOrBlank("Session group name", name);
+    }
+
+    public Integer getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(Integer queueCapacity) {
+        if (queueCapacity != null && queueCapacity < 0) {
+            throw new IllegalArgumentException("Queue capacity cannot be negative (value of queue capacity: " + queueCapacity + ").");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Integer getPublishQueueCapacity() {
+        return publishQueueCapacity;
+    }
+
+    public void setPublishQueueCapacity(Integer publishQueueCapacity) {
+        if (publishQueueCapacity != null && publishQueueCapacity <= 0) {
+            throw new IllegalArgumentException("Publish queue capacity must be positive (value of publish queue capacity: " + publishQueueCapacity + ").");
+        }
+        this.publishQueueCapacity = publishQueueCapacity;
+    }
+
+    public Long getMaxSpillSize() {
+        return maxSpillSize;
+    }
+
+    public void setMaxSpillSize(Long maxSpillSize) {
+        if (maxSpillSize != null && (maxSpillSize <= 0 || maxSpillSize > Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("Max spill size must be in range from 1 to " + Integer.MAX_VALUE + " (value of max spill size: " + maxSpillSize + ").");
+        }
+        this.maxSpillSize = maxSpillSize;
+    }
+
+    /**
+     * @return number of threads of the own parsing pool of the group or {@code null} to use the shared one
+     */
+    public Integer getParsingThreads() {
+        return parsingThreads;
+    }
+
+    public void setParsingThreads(Integer parsingThreads) {
+        if (parsingThreads != null && parsingThreads <= 0) {
+            throw new IllegalArgumentException("Number of parsing threads must be positive (value of parsing threads: " + parsingThreads + ").");
+        }
+        this.parsingThreads = parsingThreads;
+    }
+
+    public MessageCacheSettings getMessageCache() {
+        return messageCache;
+    }
+
+    public void setMessageCache(MessageCacheSettings messageCache) {
+        this.messageCache = messageCache;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("name", name)
+                .append("queueCapacity", queueCapacity)
+                .append("publishQueueCapacity", publishQueueCapacity)
+                .append("maxSpillSize", maxSpillSize)
+                .append("parsingThreads", parsingThreads)
+                .append("messageCache", messageCache)
+                .toString();
+    }
+}
@@ -0,0 +1,114 @@
+package com.exactpro.th2.fix.client;
+
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.fix.client.grpc.Latency;
+import com.exactpro.th2.fix.client.grpc.SessionStatisticsRequest;
+import com.exactpro.th2.fix.client.grpc.SessionStatisticsResponse;
+import com.exactpro.th2.fix.client.grpc.SessionStatisticsServiceGrpc.SessionStatisticsServiceImplBase;
+import com.exactpro.th2.fix.client.inbound.SessionCapture;
+import com.exactpro.th2.fix.client.outbound.MessageSender;
+import com.exactpro.th2.fix.client.outbound.SessionSender;
+import com.exactpro.th2.fix.client.statistics.LatencyHistogram;
+import com.exactpro.th2.fix.client.statistics.SessionStatistics;
+import com.google.protobuf.Timestamp;
+import io.grpc.stub.StreamObserver;
+import quickfix.MessageStore;
+import quickfix.Session;
+import quickfix.SessionID;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static io.grpc.Status.INTERNAL;
+import static io.grpc.Status.NOT_FOUND;
+
+/**
+ * Answers session state queries from already maintained counters, so a query does not touch the hot path.
+ */
+class StatisticsService extends SessionStatisticsServiceImplBase {
+
+    private final Map<String, SessionID> sessionIDs;
+    private final Map<String, SessionStatistics> statistics;
+    private final MessageSender sender;
+    private final Map<SessionID, SessionCapture> captures;
+
+    public StatisticsService(Map<String, SessionID> sessionIDs, Map<String, SessionStatistics> statistics, MessageSender sender,
+                             Map<SessionID, SessionCapture> captures) {
+        this.sessionIDs = sessionIDs;
+        this.statistics = statistics;
+        this.sender = sender;
+        this.captures = captures;
+    }
+
+    @Override
+    public void getSessionStatistics(SessionStatisticsRequest request, StreamObserver<SessionStatisticsResponse> observer) {
+        try {
+            List<String> aliases = request.getSessionAliasesCount() == 0 ? List.copyOf(sessionIDs.keySet()) : request.getSessionAliasesList();
+
+            SessionStatisticsResponse.Builder response = SessionStatisticsResponse.newBuilder();
+            for (String alias : aliases) {
+                SessionID sessionID = sessionIDs.get(alias);
+                if (sessionID == null) {
+                    observer.onError(NOT_FOUND.withDescription("Unknown session alias: " + alias).asRuntimeException());
+                    return;
+                }
+                response.addSessions(toProto(alias, sessionID));
+            }
+
+            observer.onNext(response.build());
+            observer.onCompleted();
+        } catch (IOException | RuntimeException e) {
+            observer.onError(INTERNAL.withCause(e).withDescription(e.getMessage()).asRuntimeException());
+        }
+    }
+
+    private com.exactpro.th2.fix.client.grpc.SessionStatistics toProto(String alias, SessionID sessionID) throws IOException {
+        SessionStatistics sessionStatistics = statistics.get(alias);
+        SessionSender sessionSender = sender.getSender(alias);
+
+        com.exactpro.th2.fix.client.grpc.SessionStatistics.Builder builder = com.exactpro.th2.fix.client.grpc.SessionStatistics.newBuilder()
+                .setSessionAlias(alias)
+                .setLoggedOn(sessionStatistics.isLoggedOn())
+                .setOutboundQueueSize(sessionSender.size())
+                .setPublishQueueSize(captures.get(sessionID).getPublisher().size())
+                .setMessagesIn(sessionStatistics.getMessages(Direction.FIRST))
+                .setMessagesOut(sessionStatistics.getMessages(Direction.SECOND))
+                .setBytesIn(sessionStatistics.getBytes(Direction.FIRST))
+                .setBytesOut(sessionStatistics.getBytes(Direction.SECOND))
+                .setSendLatency(toProto(sessionStatistics.getSendLatency()))
+                .setPublishLatency(toProto(sessionStatistics.getPublishLatency()));
+
+        Session session = Session.lookupSession(sessionID);
+        if (session != null) {
+            MessageStore store = session.getStore();
+            builder.setNextSenderSeqNum(store.getNextSenderMsgSeqNum())
+                    .setNextTargetSeqNum(store.getNextTargetMsgSeqNum());
+        }
+
+        long lastIncomingHeartbeat = sessionStatistics.getLastHeartbeat(Direction.FIRST);
+        if (lastIncomingHeartbeat > 0) {
+            builder.setLastHeartbeatIn(toTimestamp(lastIncomingHeartbeat));
+        }
+        long lastOutgoingHeartbeat = sessionStatistics.getLastHeartbeat(Direction.SECOND);
+        if (lastOutgoingHeartbeat > 0) {
+            builder.setLastHeartbeatOut(toTimestamp(lastOutgoingHeartbeat));
+        }
+
+        return builder.build();
+    }
+
+    private static Latency toProto(LatencyHistogram histogram) {
+        return Latency.newBuilder()
+                .setCount(histogram.getCount())
+                .setP50Nanos(histogram.getPercentile(50))
+                .setP99Nanos(histogram.getPercentile(99))
+                .setP999Nanos(histogram.getPercentile(99.9))
+                .setMaxNanos(histogram.getPercentile(100))
+                .build();
+    }
+
+    private static Timestamp toTimestamp(long millis) {
+        return Timestamp.newBuilder().setSeconds(millis / 1000).setNanos((int) (millis % 1000) * 1_000_000).build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.exactpro.th2.fix.client;
+
+import com.exactpro.th2.fix.client.grpc.InboundFixMessage;
+import com.exactpro.th2.fix.client.grpc.InboundSubscriptionServiceGrpc.InboundSubscriptionServiceImplBase;
+import com.exactpro.th2.fix.client.grpc.SubscribeRequest;
+import com.exactpro.th2.fix.client.inbound.InboundSubscriber;
+import com.exactpro.th2.fix.client.inbound.InboundSubscribers;
+import com.exactpro.th2.fix.client.inbound.SessionCapture;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import quickfix.SessionID;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.grpc.Status.INTERNAL;
+import static io.grpc.Status.NOT_FOUND;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Streams inbound messages straight from the capture point of the session logs. Each subscriber has
+ * a bounded buffer drained by its own thread, which follows the gRPC flow control, so a slow subscriber
+ * loses messages (reported in the {@code dropped} field) instead of slowing down the FIX session.
+ */
+class SubscriptionService extends InboundSubscriptionServiceImplBase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubscriptionService.class);
+
+    private final Map<String, SessionID> sessionIDs;
+    private final Map<SessionID, SessionCapture> captures;
+    private final int bufferSize;
+    private final AtomicInteger subscriptionCounter = new AtomicInteger();
+
+    public SubscriptionService(Map<String, SessionID> sessionIDs, Map<SessionID, SessionCapture> captures, int bufferSize) {
+        this.sessionIDs = sessionIDs;
+        this.captures = captures;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void subscribe(SubscribeRequest request, StreamObserver<InboundFixMessage> observer) {
+        List<String> aliases = request.getSessionAliasesCount() == 0 ? List.copyOf(sessionIDs.keySet()) : request.getSessionAliasesList();
+
+        List<InboundSubscribers> sessions = new ArrayList<>();
+        for (String alias : aliases) {
+            SessionID sessionID = sessionIDs.get(alias);
+            if (sessionID == null) {
+                observer.onError(NOT_FOUND.withDescription("Unknown session alias: " + alias).asRuntimeException());
+                return;
+            }
+            sessions.add(captures.get(sessionID).getSubscribers());
+        }
+
+        Subscription subscription = new Subscription((ServerCallStreamObserver<InboundFixMessage>) observer, sessions,
+                new InboundSubscriber(Set.copyOf(request.getMsgTypesList()), bufferSize));
+        subscription.start("subscription-" + subscriptionCounter.incrementAndGet());
+        LOGGER.info("Subscribed to inbound messages of {} with MsgType filter {}", aliases, request.getMsgTypesList());
+    }
+
+    private static class Subscription implements Runnable {
+
+        private final ServerCallStreamObserver<InboundFixMessage> observer;
+        private final List<InboundSubscribers> sessions;
+        private final InboundSubscriber subscriber;
+        private final Object ready = new Object();
+        private Thread thread;
+
+        private Subscription(ServerCallStreamObserver<InboundFixMessage> observer, List<InboundSubscribers> sessions, InboundSubscriber subscriber) {
+            this.observer = observer;
+            this.sessions = sessions;
+            this.subscriber = subscriber;
+        }
+
+        private void start(String name) {
+            thread = new Thread(this, name);
+            thread.setDaemon(true);
+            observer.setOnReadyHandler(() -> {
+                synchronized (ready) {
+                    ready.notifyAll();
+                }
+            });
+            observer.setOnCancelHandler(this::cancel);
+            sessions.forEach(session -> session.add(subscriber));
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!observer.isCancelled()) {
+                    InboundSubscriber.Entry entry = subscriber.poll(1, SECONDS);
+                    if (entry == null) {
+                        continue;
+                    }
+                    synchronized (ready) {
+                        while (!observer.isReady() && !observer.isCancelled()) {
+                            ready.wait(SECONDS.toMillis(1));
+                        }
+                    }
+                    observer.onNext(toProto(entry, subscriber.takeDropped()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Subscription {} failed", Thread.currentThread().getName(), e);
+                observer.onError(INTERNAL.withCause(e).withDescription(e.getMessage()).asRuntimeException());
+            } finally {
+                sessions.forEach(session -> session.remove(subscriber));
+            }
+        }
+
+        private void cancel() {
+            sessions.forEach(session -> session.remove(subscriber));
+            thread.interrupt();
+            LOGGER.info("Subscription {} cancelled", thread.getName());
+        }
+    }
+
+    private static InboundFixMessage toProto(InboundSubscriber.Entry entry, long dropped) {
+        InboundFixMessage.Builder builder = InboundFixMessage.newBuilder()
+                .setSessionAlias(entry.getSessionAlias())
+                .setRawMessage(ByteString.copyFrom(entry.getMessage(), StandardCharsets.ISO_8859_1))
+                .setTimestamp(Timestamp.newBuilder()
+                        .setSeconds(entry.getTimestamp() / 1000)
+                        .setNanos((int) (entry.getTimestamp() % 1000) * 1_000_000))
+                .setDropped(dropped);
+        if (entry.getMsgType() != null) {
+            builder.setMsgType(entry.getMsgType());
+        }
+        return builder.build();
+    }
+}
@@ -1,10 +1,14 @@
 package com.exactpro.th2.fix.client.fixBean;
 
 
+import com.exactpro.th2.fix.client.inbound.PublishFilterSettings;
+import com.exactpro.th2.fix.client.reconnect.ReconnectSettings;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 import static com.exactpro.th2.fix.client.util.FixBeanUtil.addToConfig;
 import static com.exactpro.th2.fix.client.util.FixBeanUtil.requireNotNullOrBlank;
 
@@ -15,6 +19,7 @@ public class BaseFixBean {
     @JsonIgnore
     protected String connectionType = "initiator";
     protected long reconnectInterval = 60;
+    protected ReconnectSettings reconnect = null;
     protected long heartBtInt = 30;
     @JsonIgnore
     protected String useDataDictionary = "Y";
@@ -37,10 +42,16 @@ public class BaseFixBean {
     protected String socketKeyStorePassword = "";
     protected String enabledProtocols = "";
     protected String cipherSuites = "";
+    protected String socketUseSNI = null;
+    protected String socketTcpNoDelay = null;
+    protected Long socketSendBufferSize = null;
+    protected Long socketReceiveBufferSize = null;
+    protected String socketSynchronousWrites = null;
     protected String validateSequenceNumbers = "Y";
     protected long logonTimeout = 10;
     protected long logoutTimeout = 10;
     protected String requiresOrigSendingTime = "Y";
+    protected PublishFilterSettings publishFilter = null;
 
 
     public BaseFixBean() {
@@ -52,7 +63,8 @@ public class BaseFixBean {
         addToConfig("FileStorePath", fileStorePath, sb);
         addToConfig("FileLogPath", fileLogPath, sb);
         addToConfig("ConnectionType", connectionType, sb);
-        addToConfig("ReconnectInterval", reconnectInterval, sb);
+        // each session draws its own jittered intervals
+        addToConfig("ReconnectInterval", reconnect == null ? String.valueOf(reconnectInterval) : reconnect.toReconnectInterval(ThreadLocalRandom.current()), sb);
         addToConfig("NonStopSession", nonStopSession, sb);
         addToConfig("HeartBtInt", heartBtInt, sb);
         addToConfig("UseDataDictionary", useDataDictionary, sb);
@@ -74,6 +86,11 @@ public class BaseFixBean {
         addToConfig("SocketKeyStorePassword", socketKeyStorePassword, sb);
         addToConfig("EnabledProtocols", enabledProtocols, sb);
         addToConfig("CipherSuites", cipherSuites, sb);
+        addToConfig("SocketUseSNI", socketUseSNI, sb);
+        addToConfig("SocketTcpNoDelay", socketTcpNoDelay, sb);
+        addToConfig("SocketSendBufferSize", socketSendBufferSize, sb);
+        addToConfig("SocketReceiveBufferSize", socketReceiveBufferSize, sb);
+        addToConfig("SocketSynchronousWrites", socketSynchronousWrites, sb);
         addToConfig("ValidateSequenceNumbers", validateSequenceNumbers, sb);
         addToConfig("LogonTimeout", logonTimeout, sb);
         addToConfig("LogoutTimeout", logoutTimeout, sb);
@@ -103,6 +120,14 @@ public class BaseFixBean {
         this.fileLogPath = requireNotNullOrBlank("FileLogFile", fileLogPath);
     }
 
+    public ReconnectSettings getReconnect() {
+        return reconnect;
+    }
+
+    public void setReconnect(ReconnectSettings reconnect) {
+        this.reconnect = reconnect;
+    }
+
     public void setReconnectInterval(long reconnectInterval) {
         this.reconnectInterval = requirePositive("ReconnectionInterval", reconnectInterval);
     }
@@ -187,6 +212,14 @@ public class BaseFixBean {
         this.requiresOrigSendingTime = requireYesOrNo("RequiresOrigSendingTime", requiresOrigSendingTime);
     }
 
+    public PublishFilterSettings getPublishFilter() {
+        return publishFilter;
+    }
+
+    public void setPublishFilter(PublishFilterSettings publishFilter) {
+        this.publishFilter = publishFilter;
+    }
+
     public String getRequiresOrigSendingTime() {
         return requiresOrigSendingTime;
     }
@@ -211,6 +244,14 @@ public class BaseFixBean {
         return cipherSuites;
     }
 
+    public void setSocketUseSNI(String socketUseSNI) {
+        this.socketUseSNI = requireYesOrNo("SocketUseSNI", socketUseSNI);
+    }
+
+    public String getSocketUseSNI() {
+        return socketUseSNI;
+    }
+
     public void setEnabledProtocols(String enabledProtocols) {
         this.enabledProtocols = enabledProtocols;
     }
@@ -239,6 +280,38 @@ public class BaseFixBean {
         return socketUseSSL;
     }
 
+    public void setSocketTcpNoDelay(String socketTcpNoDelay) {
+        this.socketTcpNoDelay = requireYesOrNo("SocketTcpNoDelay", socketTcpNoDelay);
+    }
+
+    public String getSocketTcpNoDelay() {
+        return socketTcpNoDelay;
+    }
+
+    public void setSocketSendBufferSize(long socketSendBufferSize) {
+        this.socketSendBufferSize = requirePositive("SocketSendBufferSize", socketSendBufferSize);
+    }
+
+    public Long getSocketSendBufferSize() {
+        return socketSendBufferSize;
+    }
+
+    public void setSocketReceiveBufferSize(long socketReceiveBufferSize) {
+        this.socketReceiveBufferSize = requirePositive("SocketReceiveBufferSize", socketReceiveBufferSize);
+    }
+
+    public Long getSocketReceiveBufferSize() {
+        return socketReceiveBufferSize;
+    }
+
+    public void setSocketSynchronousWrites(String socketSynchronousWrites) {
+        this.socketSynchronousWrites = requireYesOrNo("SocketSynchronousWrites", socketSynchronousWrites);
+    }
+
+    public String getSocketSynchronousWrites() {
+        return socketSynchronousWrites;
+    }
+
     public String getValidateFieldsHaveValues() {
         return validateFieldsHaveValues;
     }
@@ -327,6 +400,7 @@ public class BaseFixBean {
                 .append("FileLogPath", fileLogPath)
                 .append("ConnectionType", connectionType)
                 .append("ReconnectInterval", reconnectInterval)
+                .append("Reconnect", reconnect)
                 .append("HeartBtInt", heartBtInt)
                 .append("UseDataDictionary", useDataDictionary)
                 .append("ValidateUserDefinedFields", validateUserDefinedFields)
@@ -348,10 +422,16 @@ public class BaseFixBean {
                 .append("SocketKeyStorePassword", socketKeyStorePassword)
                 .append("EnabledProtocols", enabledProtocols)
                 .append("CipherSuites", cipherSuites)
+                .append("SocketUseSNI", socketUseSNI)
+                .append("SocketTcpNoDelay", socketTcpNoDelay)
+                .append("SocketSendBufferSize", socketSendBufferSize)
+                .append("SocketReceiveBufferSize", socketReceiveBufferSize)
+                .append("SocketSynchronousWrites", socketSynchronousWrites)
                 .append("ValidateSequenceNumbers", validateSequenceNumbers)
                 .append("LogonTimeout", logonTimeout)
                 .append("LogoutTimeout", logoutTimeout)
                 .append("RequiresOrigSendingTime", requiresOrigSendingTime)
+                .append("PublishFilter", publishFilter)
                 .toString();
     }
 }
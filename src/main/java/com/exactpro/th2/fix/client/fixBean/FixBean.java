@@ -1,5 +1,6 @@
 package com.exactpro.th2.fix.client.fixBean;
 
+import com.exactpro.th2.fix.client.outbound.LowLatencySettings;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
@@ -30,6 +31,8 @@ public class FixBean extends BaseFixBean {
     protected Path transportDataDictionary = null;
     protected String defaultApplVerID = "9";
     protected String sessionAlias = null;
+    protected String sessionGroup = null;
+    protected LowLatencySettings lowLatency = null;
 
 
     public StringBuilder toConfig(String sectionName) {
@@ -81,6 +84,10 @@ public class FixBean extends BaseFixBean {
         this.sessionAlias = requireNotNullOrBlank("SessionAlias", sessionAlias);
     }
 
+    public void setSessionGroup(String sessionGroup) {
+        this.sessionGroup = requireNotNullOrBlank("SessionGroup", sessionGroup);
+    }
+
     public void setSenderSubID(String senderSubID) {
         this.senderSubID = requireNotNullOrBlank("SenderSubID", senderSubID);
     }
@@ -121,6 +128,18 @@ public class FixBean extends BaseFixBean {
         return sessionAlias;
     }
 
+    public LowLatencySettings getLowLatency() {
+        return lowLatency;
+    }
+
+    public void setLowLatency(LowLatencySettings lowLatency) {
+        this.lowLatency = lowLatency;
+    }
+
+    public String getSessionGroup() {
+        return sessionGroup;
+    }
+
     public Path getAppDataDictionary() {
         return appDataDictionary;
     }
@@ -183,6 +202,8 @@ public class FixBean extends BaseFixBean {
                 .append("TransportDataDictionary", transportDataDictionary)
                 .append("DefaultApplVerID", defaultApplVerID)
                 .append("SessionAlias", sessionAlias)
+                .append("SessionGroup", sessionGroup)
+                .append("LowLatency", lowLatency)
                 .toString();
     }
 }
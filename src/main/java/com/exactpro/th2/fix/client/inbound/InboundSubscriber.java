@@ -0,0 +1,80 @@
+package com.exactpro.th2.fix.client.inbound;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded buffer of inbound messages for a single subscriber. Offering never blocks the session:
+ * when the buffer is full, the message is dropped and counted instead.
+ */
+public class InboundSubscriber {
+
+    private final Set<String> msgTypes;
+    private final BlockingQueue<Entry> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param msgTypes accepted MsgType values, all messages are accepted if empty
+     */
+    public InboundSubscriber(Set<String> msgTypes, int capacity) {
+        this.msgTypes = msgTypes;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public boolean accepts(String msgType) {
+        return msgTypes.isEmpty() || msgType != null && msgTypes.contains(msgType);
+    }
+
+    void offer(String sessionAlias, String msgType, String message) {
+        if (!buffer.offer(new Entry(sessionAlias, msgType, message, System.currentTimeMillis()))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public Entry poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return buffer.poll(timeout, unit);
+    }
+
+    /**
+     * @return number of messages dropped since the previous call
+     */
+    public long takeDropped() {
+        return dropped.getAndSet(0);
+    }
+
+    public static class Entry {
+        private final String sessionAlias;
+        private final String msgType;
+        private final String message;
+        private final long timestamp;
+
+        private Entry(String sessionAlias, String msgType, String message, long timestamp) {
+            this.sessionAlias = sessionAlias;
+            this.msgType = msgType;
+            this.message = message;
+            this.timestamp = timestamp;
+        }
+
+        public String getSessionAlias() {
+            return sessionAlias;
+        }
+
+        public String getMsgType() {
+            return msgType;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * @return capture time in milliseconds
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+    }
+}
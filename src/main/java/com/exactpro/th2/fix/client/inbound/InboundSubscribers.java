@@ -0,0 +1,28 @@
+package com.exactpro.th2.fix.client.inbound;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Subscribers to the inbound messages of a session. Dispatching without subscribers costs a single array read.
+ */
+public class InboundSubscribers {
+
+    private final List<InboundSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public void add(InboundSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void remove(InboundSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    public void dispatch(String sessionAlias, String msgType, String message) {
+        for (InboundSubscriber subscriber : subscribers) {
+            if (subscriber.accepts(msgType)) {
+                subscriber.offer(sessionAlias, msgType, message);
+            }
+        }
+    }
+}
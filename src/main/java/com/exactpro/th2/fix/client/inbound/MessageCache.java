@@ -0,0 +1,143 @@
+package com.exactpro.th2.fix.client.inbound;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The last messages of a session in one direction. Message bodies are copied into a circular buffer
+ * of a fixed size, on or off heap, and their MsgSeqNum (34), ClOrdID (11) hash and capture time are kept
+ * in primitive arrays, so adding a message does not allocate. The oldest messages are evicted when either
+ * the message or the byte limit is reached. Lookups scan the primitive arrays from the newest message.
+ */
+public class MessageCache {
+
+    private final ByteBuffer data;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final int[] seqNums;
+    private final long[] clOrdIds;
+    private final long[] timestamps;
+    private int first = 0;
+    private int count = 0;
+    private int writePosition = 0;
+
+    public MessageCache(int maxMessages, int maxBytes, boolean offHeap) {
+        this.data = offHeap ? ByteBuffer.allocateDirect(maxBytes) : ByteBuffer.allocate(maxBytes);
+        this.offsets = new int[maxMessages];
+        this.lengths = new int[maxMessages];
+        this.seqNums = new int[maxMessages];
+        this.clOrdIds = new long[maxMessages];
+        this.timestamps = new long[maxMessages];
+    }
+
+    /**
+     * @param message   FIX message with characters from ISO-8859-1, as QuickFIX/J decodes it by default
+     * @param seqNum    MsgSeqNum or {@code -1}
+     * @param clOrdId   hash of ClOrdID or {@code 0}
+     * @param timestamp capture time in milliseconds
+     */
+    public synchronized void add(CharSequence message, int seqNum, long clOrdId, long timestamp) {
+        int length = message.length();
+        if (length > data.capacity()) {
+            return;
+        }
+        int position = writePosition;
+        if (position + length > data.capacity()) {
+            // the tail is too short, entries located in it are the oldest ones
+            while (count > 0 && offsets[first] >= writePosition) {
+                evict();
+            }
+            position = 0;
+        }
+        while (count > 0 && (count == offsets.length || overlaps(first, position, length))) {
+            evict();
+        }
+
+        for (int i = 0; i < length; i++) {
+            data.put(position + i, (byte) message.charAt(i));
+        }
+        int index = (first + count) % offsets.length;
+        offsets[index] = position;
+        lengths[index] = length;
+        seqNums[index] = seqNum;
+        clOrdIds[index] = clOrdId;
+        timestamps[index] = timestamp;
+        count++;
+        writePosition = position + length;
+    }
+
+    public synchronized Entry findBySeqNum(int seqNum) {
+        for (int i = count - 1; i >= 0; i--) {
+            int index = (first + i) % offsets.length;
+            if (seqNums[index] == seqNum) {
+                return entry(index);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return entries with the ClOrdID hash from the newest one, which may include hash collisions
+     */
+    public synchronized List<Entry> findByClOrdId(long clOrdId, int limit) {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = count - 1; i >= 0 && entries.size() < limit; i--) {
+            int index = (first + i) % offsets.length;
+            if (clOrdIds[index] == clOrdId) {
+                entries.add(entry(index));
+            }
+        }
+        return entries;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    private boolean overlaps(int index, int position, int length) {
+        int offset = offsets[index];
+        return offset >= position && offset < position + length;
+    }
+
+    private void evict() {
+        first = (first + 1) % offsets.length;
+        count--;
+        if (count == 0) {
+            first = 0;
+            writePosition = 0;
+        }
+    }
+
+    private Entry entry(int index) {
+        byte[] message = new byte[lengths[index]];
+        ByteBuffer buffer = data.duplicate();
+        buffer.position(offsets[index]);
+        buffer.get(message);
+        return new Entry(message, seqNums[index], timestamps[index]);
+    }
+
+    public static class Entry {
+        private final byte[] message;
+        private final int seqNum;
+        private final long timestamp;
+
+        private Entry(byte[] message, int seqNum, long timestamp) {
+            this.message = message;
+            this.seqNum = seqNum;
+            this.timestamp = timestamp;
+        }
+
+        public byte[] getMessage() {
+            return message;
+        }
+
+        public int getSeqNum() {
+            return seqNum;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+    }
+}
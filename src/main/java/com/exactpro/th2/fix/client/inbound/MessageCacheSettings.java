@@ -0,0 +1,50 @@
+package com.exactpro.th2.fix.client.inbound;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+public class MessageCacheSettings {
+
+    private int maxMessages = 10000;
+    private int maxBytes = 16 * 1024 * 1024;
+    private boolean offHeap = false;
+
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    public void setMaxMessages(int maxMessages) {
+        if (maxMessages < 1) {
+            throw new IllegalArgumentException("Max messages must be positive (value of max messages: " + maxMessages + ").");
+        }
+        this.maxMessages = maxMessages;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(int maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Max bytes must be positive (value of max bytes: " + maxBytes + ").");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public void setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("maxMessages", maxMessages)
+                .append("maxBytes", maxBytes)
+                .append("offHeap", offHeap)
+                .toString();
+    }
+}
@@ -0,0 +1,78 @@
+package com.exactpro.th2.fix.client.inbound;
+
+import com.exactpro.th2.common.grpc.AnyMessage;
+import com.exactpro.th2.common.grpc.EventBatch;
+import com.exactpro.th2.common.grpc.Message;
+import com.exactpro.th2.common.grpc.MessageGroup;
+import com.exactpro.th2.common.grpc.MessageGroupBatch;
+import com.exactpro.th2.common.grpc.RawMessageMetadata;
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.common.schema.message.MessageRouterUtils;
+import com.exactpro.th2.fix.client.util.FixMessageConverter;
+import com.exactpro.th2.fix.client.util.OrderedExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes the parsed copy of every captured message of a session. Parsing runs on the shared pool,
+ * publishing keeps the order in which messages were captured. The capturing thread reserves a place in the
+ * {@link SessionPublisher} before submitting a message, so a pool thread never waits for a slow session.
+ */
+public class ParsedMessagePublisher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParsedMessagePublisher.class);
+
+    private final String sessionAlias;
+    private final FixMessageConverter converter;
+    private final OrderedExecutor<String> executor;
+    private final SessionPublisher publisher;
+    private final MessageRouter<EventBatch> eventRouter;
+    private final String rootEventId;
+
+    public ParsedMessagePublisher(String sessionAlias, FixMessageConverter converter, OrderedExecutor<String> executor,
+                                  SessionPublisher publisher, MessageRouter<EventBatch> eventRouter, String rootEventId) {
+        this.sessionAlias = sessionAlias;
+        this.converter = converter;
+        this.executor = executor;
+        this.publisher = publisher;
+        this.eventRouter = eventRouter;
+        this.rootEventId = rootEventId;
+    }
+
+    public void publish(String rawMessage, RawMessageMetadata metadata, String[] attributes) throws IOException {
+        publisher.reserve();
+        // the place is taken by the parsed message or freed here, exactly once
+        AtomicBoolean placeHandled = new AtomicBoolean();
+        executor.submit(sessionAlias, () -> {
+            try {
+                return converter.toProto(rawMessage, metadata);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to parse message with sequence " + metadata.getId().getSequence(), e);
+            }
+        }, message -> {
+            MessageGroupBatch batch = toBatch(message);
+            placeHandled.set(true);
+            publisher.publishReserved(batch, attributes);
+        }, e -> {
+            if (!placeHandled.get()) {
+                publisher.release();
+            }
+            onError(e);
+        });
+    }
+
+    private void onError(Throwable e) {
+        String text = "Failed to publish parsed message for sessionAlias: " + sessionAlias;
+        LOGGER.error(text, e);
+        MessageRouterUtils.storeEvent(eventRouter, rootEventId, text, "Error", e);
+    }
+
+    private static MessageGroupBatch toBatch(Message message) {
+        return MessageGroupBatch.newBuilder()
+                .addGroups(MessageGroup.newBuilder().addMessages(AnyMessage.newBuilder().setMessage(message)))
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.exactpro.th2.fix.client.inbound;
+
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.common.schema.message.QueueAttribute;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides where a captured message is published using only its MsgType (35) value, which is
+ * scanned directly in the raw string. Messages of the filtered types are dropped, sampled
+ * or routed to the pins with the configured attribute instead of the {@code first}/{@code second} ones.
+ */
+public class PublishFilter {
+
+    private final PublishFilterSettings.Mode mode;
+    private final Set<String> msgTypes;
+    private final int sampleRate;
+    private final PublishTarget first;
+    private final PublishTarget second;
+    private final PublishTarget route;
+    private final AtomicLong firstCounter = new AtomicLong();
+    private final AtomicLong secondCounter = new AtomicLong();
+
+    public PublishFilter(PublishFilterSettings settings) {
+        this(settings, false);
+    }
+
+    public PublishFilter(PublishFilterSettings settings, boolean parsedOutput) {
+        this.mode = settings.getMode();
+        this.msgTypes = Set.copyOf(settings.getMsgTypes());
+        this.sampleRate = settings.getSampleRate();
+        this.first = new PublishTarget(QueueAttribute.FIRST.toString(), parsedOutput);
+        this.second = new PublishTarget(QueueAttribute.SECOND.toString(), parsedOutput);
+        this.route = new PublishTarget(settings.getRouteAttribute(), parsedOutput);
+    }
+
+    /**
+     * @return attributes of the pins the raw message should be published to or {@code null} if it should be skipped
+     */
+    public String[] getAttributes(String message, Direction direction) {
+        PublishTarget target = getTarget(message, direction);
+        return target == null ? null : target.getRawAttributes();
+    }
+
+    /**
+     * @return pins the message should be published to or {@code null} if it should be skipped
+     */
+    public PublishTarget getTarget(String message, Direction direction) {
+        PublishTarget target = direction == Direction.FIRST ? first : second;
+        if (mode == PublishFilterSettings.Mode.PUBLISH) {
+            return target;
+        }
+        String msgType = MessageUtil.getMsgType(message);
+        if (msgType == null || !msgTypes.contains(msgType)) {
+            return target;
+        }
+        switch (mode) {
+            case DROP:
+                return null;
+            case SAMPLE:
+                AtomicLong counter = direction == Direction.FIRST ? firstCounter : secondCounter;
+                return counter.getAndIncrement() % sampleRate == 0 ? target : null;
+            case ROUTE:
+                return route;
+            default:
+                throw new IllegalStateException("Unsupported publish filter mode: " + mode);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.exactpro.th2.fix.client.inbound;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.exactpro.th2.fix.client.util.FixBeanUtil.requireNotNullOrBlank;
+
+public class PublishFilterSettings {
+
+    public enum Mode {
+        PUBLISH,
+        DROP,
+        SAMPLE,
+        ROUTE
+    }
+
+    private Mode mode = Mode.PUBLISH;
+    private List<String> msgTypes = List.of("0", "1", "2");
+    private int sampleRate = 100;
+    private String routeAttribute = "admin";
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = Objects.requireNonNull(mode, "Publish filter mode must not be null");
+    }
+
+    public List<String> getMsgTypes() {
+        return msgTypes;
+    }
+
+    public void setMsgTypes(List<String> msgTypes) {
+        Objects.requireNonNull(msgTypes, "Publish filter MsgTypes must not be null");
+        msgTypes.forEach(msgType -> requireNotNullOrBlank("MsgType", msgType));
+        this.msgTypes = List.copyOf(msgTypes);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate must be positive (value of sample rate: " + sampleRate + ").");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public String getRouteAttribute() {
+        return routeAttribute;
+    }
+
+    public void setRouteAttribute(String routeAttribute) {
+        this.routeAttribute = requireNotNullOrBlank("RouteAttribute", routeAttribute);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("mode", mode)
+                .append("msgTypes", msgTypes)
+                .append("sampleRate", sampleRate)
+                .append("routeAttribute", routeAttribute)
+                .toString();
+    }
+}
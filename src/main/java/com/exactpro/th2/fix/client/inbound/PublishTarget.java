@@ -0,0 +1,38 @@
+package com.exactpro.th2.fix.client.inbound;
+
+import java.util.Arrays;
+
+public class PublishTarget {
+
+    public static final String RAW_ATTRIBUTE = "raw";
+    public static final String PARSED_ATTRIBUTE = "parsed";
+
+    private final String[] rawAttributes;
+    private final String[] parsedAttributes;
+
+    PublishTarget(String attribute, boolean parsedOutput) {
+        if (parsedOutput) {
+            this.rawAttributes = new String[]{attribute, RAW_ATTRIBUTE};
+            this.parsedAttributes = new String[]{attribute, PARSED_ATTRIBUTE};
+        } else {
+            this.rawAttributes = new String[]{attribute};
+            this.parsedAttributes = null;
+        }
+    }
+
+    public String[] getRawAttributes() {
+        return rawAttributes;
+    }
+
+    /**
+     * @return attributes of the pins for parsed messages or {@code null} if parsed output is disabled
+     */
+    public String[] getParsedAttributes() {
+        return parsedAttributes;
+    }
+
+    @Override
+    public String toString() {
+        return "PublishTarget" + Arrays.toString(rawAttributes);
+    }
+}
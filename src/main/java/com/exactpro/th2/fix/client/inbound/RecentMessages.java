@@ -0,0 +1,30 @@
+package com.exactpro.th2.fix.client.inbound;
+
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+
+/**
+ * Caches of the last incoming and outgoing messages of a session.
+ */
+public class RecentMessages {
+
+    public static final String MSG_SEQ_NUM = "34";
+    public static final String CL_ORD_ID = "11";
+
+    private final MessageCache incoming;
+    private final MessageCache outgoing;
+
+    public RecentMessages(MessageCacheSettings settings) {
+        this.incoming = new MessageCache(settings.getMaxMessages(), settings.getMaxBytes(), settings.isOffHeap());
+        this.outgoing = new MessageCache(settings.getMaxMessages(), settings.getMaxBytes(), settings.isOffHeap());
+    }
+
+    public void record(Direction direction, String message) {
+        getCache(direction).add(message, MessageUtil.getIntField(message, MSG_SEQ_NUM), MessageUtil.hashField(message, CL_ORD_ID),
+                System.currentTimeMillis());
+    }
+
+    public MessageCache getCache(Direction direction) {
+        return direction == Direction.FIRST ? incoming : outgoing;
+    }
+}
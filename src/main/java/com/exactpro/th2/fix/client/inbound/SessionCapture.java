@@ -0,0 +1,75 @@
+package com.exactpro.th2.fix.client.inbound;
+
+import com.exactpro.th2.common.grpc.ConnectionID;
+import com.exactpro.th2.fix.client.statistics.RoundTripTracker;
+import com.exactpro.th2.fix.client.statistics.SessionStatistics;
+
+import java.util.Objects;
+
+/**
+ * Components processing the messages captured by the log of a session.
+ */
+public class SessionCapture {
+
+    private final ConnectionID connectionID;
+    private final SessionPublisher publisher;
+    private final PublishFilter publishFilter;
+    private final ParsedMessagePublisher parsedPublisher;
+    private final SessionStatistics statistics;
+    private final RoundTripTracker roundTrips;
+    private final RecentMessages recentMessages;
+    private final InboundSubscribers subscribers = new InboundSubscribers();
+
+    public SessionCapture(ConnectionID connectionID, SessionPublisher publisher, PublishFilter publishFilter,
+                          ParsedMessagePublisher parsedPublisher, SessionStatistics statistics, RoundTripTracker roundTrips,
+                          RecentMessages recentMessages) {
+        this.connectionID = Objects.requireNonNull(connectionID, "Connection ID must not be null");
+        this.publisher = Objects.requireNonNull(publisher, "Publisher must not be null");
+        this.publishFilter = Objects.requireNonNull(publishFilter, "Publish filter must not be null");
+        this.parsedPublisher = parsedPublisher;
+        this.statistics = Objects.requireNonNull(statistics, "Statistics must not be null");
+        this.roundTrips = roundTrips;
+        this.recentMessages = recentMessages;
+    }
+
+    public ConnectionID getConnectionID() {
+        return connectionID;
+    }
+
+    public SessionPublisher getPublisher() {
+        return publisher;
+    }
+
+    public PublishFilter getPublishFilter() {
+        return publishFilter;
+    }
+
+    /**
+     * @return publisher of parsed messages or {@code null} if parsed output is disabled
+     */
+    public ParsedMessagePublisher getParsedPublisher() {
+        return parsedPublisher;
+    }
+
+    public SessionStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @return round trip tracker or {@code null} if round trip tracking is disabled
+     */
+    public RoundTripTracker getRoundTrips() {
+        return roundTrips;
+    }
+
+    /**
+     * @return cache of the last messages or {@code null} if the message cache is disabled
+     */
+    public RecentMessages getRecentMessages() {
+        return recentMessages;
+    }
+
+    public InboundSubscribers getSubscribers() {
+        return subscribers;
+    }
+}
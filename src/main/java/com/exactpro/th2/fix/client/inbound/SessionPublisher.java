@@ -0,0 +1,453 @@
+package com.exactpro.th2.fix.client.inbound;
+
+import com.exactpro.th2.common.grpc.MessageGroupBatch;
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.fix.client.jfr.PublishEvent;
+import com.exactpro.th2.fix.client.statistics.LatencyHistogram;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Publishes captured messages of a session to MQ from a dedicated thread, so a slow broker does not block the FIX session.
+ * Up to {@code capacity} batches are buffered in memory. Above that bound batches go to the overflow queue, from which
+ * a spill thread writes them to the {@link SpillFile}, and every following batch goes there too until the file and
+ * the queue are drained, which keeps the publication order. The capturing thread only queues the batches and waits
+ * only while the overflow queue is full, i.e. the disk falls behind. Without a spill file it waits for free space in memory.
+ */
+public class SessionPublisher implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionPublisher.class);
+    private static final long RETRY_INTERVAL = SECONDS.toMillis(1);
+
+    private static final Counter SPILLED_BYTES = Counter.build()
+            .name("th2_conn_qfj_spilled_bytes_total")
+            .help("Bytes of captured messages written to the spill file")
+            .labelNames("session_alias")
+            .register();
+
+    private static final Gauge SPILL_PENDING_BYTES = Gauge.build()
+            .name("th2_conn_qfj_spill_pending_bytes")
+            .help("Bytes of spilled messages not yet published to MQ")
+            .labelNames("session_alias")
+            .register();
+
+    private static final Gauge SPILL_DRAIN_LAG = Gauge.build()
+            .name("th2_conn_qfj_spill_drain_lag_seconds")
+            .help("Time the last drained message spent in the spill file")
+            .labelNames("session_alias")
+            .register();
+
+    private final String sessionAlias;
+    private final MessageRouter<MessageGroupBatch> messageRouter;
+    private final int capacity;
+    private final LatencyHistogram latency;
+    private final SpillFile spillFile;
+    // older batches are in memory, then in the spill file, then in the overflow queue
+    private final Deque<Task> memory = new ArrayDeque<>();
+    private final Deque<Task> overflow = new ArrayDeque<>();
+    // guards the queues and the spilling flag, the only lock taken by the capturing thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition overflowNotEmpty = lock.newCondition();
+    // guards the spill file and the head of the overflow queue, taken before the lock
+    private final ReentrantLock fileLock = new ReentrantLock();
+    private final Condition fileDrained = fileLock.newCondition();
+    private final Counter.Child spilledBytes;
+    private final Gauge.Child spillPendingBytes;
+    private final Gauge.Child spillDrainLag;
+    private final Thread thread;
+    private final Thread spillThread;
+    private boolean spilling = false;
+    // places taken by reserve() for batches not published yet, counted against both bounds
+    private int reserved = 0;
+    private volatile int size = 0;
+    private volatile boolean running = true;
+
+    /**
+     * @param spillFile file for batches above the in-memory bound or {@code null} to block the capturing thread instead
+     */
+    public SessionPublisher(String sessionAlias, MessageRouter<MessageGroupBatch> messageRouter, int capacity, SpillFile spillFile,
+                            LatencyHistogram latency) {
+        this.sessionAlias = sessionAlias;
+        this.messageRouter = messageRouter;
+        this.capacity = capacity;
+        this.spillFile = spillFile;
+        this.latency = latency;
+        this.spilledBytes = SPILLED_BYTES.labels(sessionAlias);
+        this.spillPendingBytes = SPILL_PENDING_BYTES.labels(sessionAlias);
+        this.spillDrainLag = SPILL_DRAIN_LAG.labels(sessionAlias);
+
+        thread = new Thread(this::run, "publisher-" + sessionAlias);
+        thread.setDaemon(true);
+        thread.start();
+        if (spillFile == null) {
+            spillThread = null;
+        } else {
+            spillThread = new Thread(this::spill, "spill-" + sessionAlias);
+            spillThread.setDaemon(true);
+            spillThread.start();
+        }
+    }
+
+    public void publish(MessageGroupBatch batch, String... attributes) throws IOException {
+        Task task = new Task(batch, attributes, System.nanoTime());
+        lock.lock();
+        try {
+            if (spillFile != null && (spilling || memory.size() + reserved >= capacity)) {
+                while (overflow.size() + reserved >= capacity) {
+                    notFull.await();
+                }
+                addOverflow(task);
+                return;
+            }
+            while (memory.size() + reserved >= capacity) {
+                notFull.await();
+            }
+            addMemory(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while publishing message of session " + sessionAlias, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a place for a batch which is published later by {@link #publishReserved} from another thread.
+     * Waits for the place the same way {@link #publish} waits, so only the capturing thread waits and the thread
+     * publishing the batch never does.
+     */
+    public void reserve() throws IOException {
+        lock.lock();
+        try {
+            while ((spillFile == null ? memory.size() : overflow.size()) + reserved >= capacity) {
+                notFull.await();
+            }
+            reserved++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reserving place for message of session " + sessionAlias, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Publishes a batch into the place taken by {@link #reserve} without waiting.
+     */
+    public void publishReserved(MessageGroupBatch batch, String... attributes) {
+        Task task = new Task(batch, attributes, System.nanoTime());
+        lock.lock();
+        try {
+            reserved--;
+            if (spillFile != null && (spilling || memory.size() >= capacity)) {
+                addOverflow(task);
+            } else {
+                addMemory(task);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees the place taken by {@link #reserve} for a batch which is not published.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            reserved--;
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addOverflow(Task task) {
+        if (!spilling) {
+            LOGGER.warn("Publishing of session {} falls behind, spilling messages to disk", sessionAlias);
+            spilling = true;
+        }
+        overflow.add(task);
+        overflowNotEmpty.signal();
+        notEmpty.signal();
+    }
+
+    private void addMemory(Task task) {
+        memory.add(task);
+        size = memory.size();
+        notEmpty.signal();
+    }
+
+    /**
+     * @return number of messages waiting in memory, read without locking
+     */
+    public int size() {
+        return size;
+    }
+
+    private void run() {
+        while (running) {
+            Task task;
+            try {
+                task = take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                LOGGER.error("Failed to read spilled message of session {}", sessionAlias, e);
+                continue;
+            }
+            if (task != null) {
+                send(task);
+            }
+        }
+    }
+
+    /**
+     * @return the oldest unpublished batch or {@code null} if spilling is over and the taking must be repeated
+     */
+    private Task take() throws InterruptedException, IOException {
+        lock.lock();
+        try {
+            while (memory.isEmpty() && !spilling) {
+                notEmpty.await();
+            }
+            Task task = memory.poll();
+            if (task != null) {
+                size = memory.size();
+                notFull.signal();
+                return task;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return takeSpilled();
+    }
+
+    private Task takeSpilled() throws InterruptedException, IOException {
+        fileLock.lockInterruptibly();
+        try {
+            if (!spillFile.isEmpty()) {
+                byte[] record = spillFile.read();
+                spillPendingBytes.set(spillFile.pendingBytes());
+                spillDrainLag.set((System.currentTimeMillis() - spillFile.getLastReadTimestamp()) / 1000.0);
+                if (spillFile.isEmpty()) {
+                    fileDrained.signalAll();
+                }
+                return Task.deserialize(record);
+            }
+            lock.lock();
+            try {
+                // batches not written to the file yet are published directly
+                Task task = overflow.poll();
+                if (task != null) {
+                    notFull.signal();
+                    return task;
+                }
+                LOGGER.info("Spilled messages of session {} are drained", sessionAlias);
+                spilling = false;
+                notFull.signalAll();
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the batches from the overflow queue to the spill file. A batch stays at the head of the queue until it is
+     * written, so the publisher thread may take it directly if the file is empty.
+     */
+    private void spill() {
+        while (running) {
+            Task task;
+            lock.lock();
+            try {
+                while (overflow.isEmpty()) {
+                    overflowNotEmpty.await();
+                }
+                task = overflow.peek();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                write(task, task.serialize());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                LOGGER.error("Failed to spill message of session {}, the message is lost", sessionAlias, e);
+                removeHead(task);
+            }
+        }
+    }
+
+    private void write(Task task, byte[] record) throws InterruptedException, IOException {
+        fileLock.lockInterruptibly();
+        try {
+            boolean written = false;
+            while (isHead(task) && !(written = spillFile.append(record))) {
+                LOGGER.warn("Spill file of session {} is full, waiting until it is drained", sessionAlias);
+                fileDrained.await();
+            }
+            if (written) {
+                removeHead(task);
+                spilledBytes.inc(record.length);
+                spillPendingBytes.set(spillFile.pendingBytes());
+            }
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    private boolean isHead(Task task) {
+        lock.lock();
+        try {
+            return overflow.peek() == task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeHead(Task task) {
+        lock.lock();
+        try {
+            if (overflow.peek() == task) {
+                overflow.poll();
+                notFull.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void send(Task task) {
+        while (true) {
+            PublishEvent event = new PublishEvent();
+            event.begin();
+            try {
+                messageRouter.send(task.batch, task.attributes);
+                if (event.shouldCommit()) {
+                    event.sessionAlias = sessionAlias;
+                    event.size = task.batch.getSerializedSize();
+                    event.commit();
+                }
+                if (task.createdAt != 0) {
+                    latency.record(System.nanoTime() - task.createdAt);
+                }
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    LOGGER.error("Failed to publish message of session {} while closing", sessionAlias, e);
+                    return;
+                }
+                LOGGER.warn("Failed to publish message of session {}, retrying in {} ms", sessionAlias, RETRY_INTERVAL, e);
+                try {
+                    Thread.sleep(RETRY_INTERVAL);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + SECONDS.toMillis(5);
+        while (System.currentTimeMillis() < deadline && hasPending()) {
+            Thread.sleep(10);
+        }
+        running = false;
+        boolean stopped = stop(thread) & stop(spillThread);
+        if (hasPending()) {
+            LOGGER.warn("Publisher of session {} closed with unpublished messages", sessionAlias);
+        }
+        if (spillFile != null) {
+            if (stopped) {
+                spillFile.close();
+            } else {
+                LOGGER.error("Spill file of session {} is left open, as the threads using it do not stop", sessionAlias);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the thread is terminated
+     */
+    private static boolean stop(Thread thread) throws InterruptedException {
+        if (thread == null) {
+            return true;
+        }
+        for (int attempt = 0; attempt < 2 && thread.isAlive(); attempt++) {
+            thread.interrupt();
+            thread.join(SECONDS.toMillis(5));
+        }
+        return !thread.isAlive();
+    }
+
+    private boolean hasPending() {
+        lock.lock();
+        try {
+            return !memory.isEmpty() || spilling;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class Task {
+        private final MessageGroupBatch batch;
+        private final String[] attributes;
+        private final long createdAt;
+
+        private Task(MessageGroupBatch batch, String[] attributes, long createdAt) {
+            this.batch = batch;
+            this.attributes = attributes;
+            this.createdAt = createdAt;
+        }
+
+        private byte[] serialize() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(batch.getSerializedSize() + 64);
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                output.writeByte(attributes.length);
+                for (String attribute : attributes) {
+                    output.writeUTF(attribute);
+                }
+                batch.writeTo(output);
+            }
+            return bytes.toByteArray();
+        }
+
+        private static Task deserialize(byte[] record) throws IOException {
+            try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(record))) {
+                String[] attributes = new String[input.readUnsignedByte()];
+                for (int i = 0; i < attributes.length; i++) {
+                    attributes[i] = input.readUTF();
+                }
+                // spilled messages are excluded from the latency statistics, the drain lag metric covers them
+                return new Task(MessageGroupBatch.parseFrom(input), attributes, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.exactpro.th2.fix.client.inbound;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only memory-mapped file of length-prefixed records. Records are read in the order they were written,
+ * the space is reused only after every record has been read. The class is not thread-safe.
+ */
+public class SpillFile implements AutoCloseable {
+
+    private static final int GROWTH = 64 * 1024 * 1024;
+    private static final int RECORD_HEADER = Integer.BYTES + Long.BYTES;
+
+    private final Path path;
+    private final long maxSize;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int writePosition = 0;
+    private int readPosition = 0;
+    private long lastReadTimestamp = 0;
+
+    public SpillFile(Path path, long maxSize) {
+        if (maxSize <= 0 || maxSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Spill file size must be in range from 1 to " + Integer.MAX_VALUE + " (value of size: " + maxSize + ").");
+        }
+        this.path = path;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return {@code false} if the record does not fit into the maximum size of the file
+     */
+    public boolean append(byte[] record) throws IOException {
+        long required = (long) writePosition + RECORD_HEADER + record.length;
+        if (required > maxSize) {
+            return false;
+        }
+        ensureMapped((int) required);
+        buffer.putInt(writePosition, record.length);
+        buffer.putLong(writePosition + Integer.BYTES, System.currentTimeMillis());
+        ByteBuffer view = buffer.duplicate();
+        view.position(writePosition + RECORD_HEADER);
+        view.put(record);
+        writePosition = (int) required;
+        return true;
+    }
+
+    /**
+     * @return the oldest unread record or {@code null} if all records have been read
+     */
+    public byte[] read() {
+        if (isEmpty()) {
+            return null;
+        }
+        int length = buffer.getInt(readPosition);
+        lastReadTimestamp = buffer.getLong(readPosition + Integer.BYTES);
+        byte[] record = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(readPosition + RECORD_HEADER);
+        view.get(record);
+        readPosition += RECORD_HEADER + length;
+        if (isEmpty()) {
+            writePosition = 0;
+            readPosition = 0;
+        }
+        return record;
+    }
+
+    public boolean isEmpty() {
+        return readPosition == writePosition;
+    }
+
+    public long pendingBytes() {
+        return writePosition - readPosition;
+    }
+
+    /**
+     * @return time in milliseconds when the last read record was written
+     */
+    public long getLastReadTimestamp() {
+        return lastReadTimestamp;
+    }
+
+    private void ensureMapped(int size) throws IOException {
+        if (buffer != null && buffer.capacity() >= size) {
+            return;
+        }
+        if (channel == null) {
+            Files.createDirectories(path.getParent());
+            channel = FileChannel.open(path, CREATE, READ, WRITE, TRUNCATE_EXISTING);
+        }
+        int capacity = (int) Math.min(maxSize, ((long) size / GROWTH + 1) * GROWTH);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        if (channel != null) {
+            channel.close();
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.exactpro.th2.fix.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.exactpro.th2.fix.client.BatchBuild")
+@Label("Batch Build")
+@Category({"th2", "FIX Connector"})
+@Description("Building of the protobuf batch of a captured message")
+@StackTrace(false)
+public class BatchBuildEvent extends Event {
+
+    @Label("Session Alias")
+    public String sessionAlias;
+
+    @Label("Direction")
+    public String direction;
+
+    @Label("Size")
+    @DataAmount
+    public int size;
+}
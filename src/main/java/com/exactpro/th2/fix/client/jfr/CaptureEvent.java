@@ -0,0 +1,33 @@
+package com.exactpro.th2.fix.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.exactpro.th2.fix.client.Capture")
+@Label("Capture")
+@Category({"th2", "FIX Connector"})
+@Description("Processing of a message captured by the session log")
+@StackTrace(false)
+public class CaptureEvent extends Event {
+
+    @Label("Session Alias")
+    public String sessionAlias;
+
+    @Label("Direction")
+    public String direction;
+
+    @Label("MsgType")
+    public String msgType;
+
+    @Label("MsgSeqNum")
+    public int seqNum;
+
+    @Label("Size")
+    @DataAmount
+    public int size;
+}
@@ -0,0 +1,62 @@
+package com.exactpro.th2.fix.client.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Continuous flight recording with the connector events, kept on disk within the configured age and size
+ * and dumped to a file on demand.
+ */
+public class FlightRecording implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlightRecording.class);
+
+    private static final List<Class<? extends Event>> EVENTS = List.of(OutboundReceiveEvent.class, OutboundParseEvent.class,
+            SessionSendEvent.class, CaptureEvent.class, BatchBuildEvent.class, PublishEvent.class);
+    private static final DateTimeFormatter DUMP_NAME = DateTimeFormatter.ofPattern("'conn-qfj-'yyyyMMdd-HHmmss-SSS'.jfr'");
+
+    private final Recording recording;
+    private final Path dumpPath;
+
+    public FlightRecording(RecordingSettings settings) throws IOException, ParseException {
+        this.recording = new Recording(Configuration.getConfiguration(settings.getConfiguration()));
+        this.dumpPath = Path.of(settings.getDumpPath());
+        recording.setName("th2-conn-qfj");
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofSeconds(settings.getMaxAge()));
+        recording.setMaxSize(settings.getMaxSize());
+        for (Class<? extends Event> event : EVENTS) {
+            recording.enable(event).withThreshold(Duration.ofNanos(settings.getThreshold() * 1000));
+        }
+        recording.start();
+        LOGGER.info("Flight recording started with {}", settings);
+    }
+
+    /**
+     * @return file with the data kept by the recording
+     */
+    public synchronized Path dump() throws IOException {
+        Files.createDirectories(dumpPath);
+        Path file = dumpPath.resolve(DUMP_NAME.format(LocalDateTime.now()));
+        recording.dump(file);
+        LOGGER.info("Flight recording dumped to {}", file);
+        return file;
+    }
+
+    @Override
+    public void close() {
+        recording.close();
+    }
+}
@@ -0,0 +1,27 @@
+package com.exactpro.th2.fix.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.exactpro.th2.fix.client.OutboundParse")
+@Label("Outbound Parse")
+@Category({"th2", "FIX Connector"})
+@Description("Parsing and validation of an outgoing message")
+@StackTrace(false)
+public class OutboundParseEvent extends Event {
+
+    @Label("Session Alias")
+    public String sessionAlias;
+
+    @Label("MsgType")
+    public String msgType;
+
+    @Label("Size")
+    @DataAmount
+    public int size;
+}
@@ -0,0 +1,24 @@
+package com.exactpro.th2.fix.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.exactpro.th2.fix.client.OutboundReceive")
+@Label("Outbound Receive")
+@Category({"th2", "FIX Connector"})
+@Description("Handling of an outgoing message received from MQ until it is passed to the send pipeline")
+@StackTrace(false)
+public class OutboundReceiveEvent extends Event {
+
+    @Label("Session Alias")
+    public String sessionAlias;
+
+    @Label("Size")
+    @DataAmount
+    public int size;
+}
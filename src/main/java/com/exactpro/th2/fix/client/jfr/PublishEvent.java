@@ -0,0 +1,24 @@
+package com.exactpro.th2.fix.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.exactpro.th2.fix.client.Publish")
+@Label("Publish")
+@Category({"th2", "FIX Connector"})
+@Description("Publication of a batch to MQ")
+@StackTrace(false)
+public class PublishEvent extends Event {
+
+    @Label("Session Alias")
+    public String sessionAlias;
+
+    @Label("Size")
+    @DataAmount
+    public int size;
+}
@@ -0,0 +1,84 @@
+package com.exactpro.th2.fix.client.jfr;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import static com.exactpro.th2.fix.client.util.FixBeanUtil.requireNotNullOrBlank;
+
+public class RecordingSettings {
+
+    private String configuration = "default";
+    private long maxAge = 600;
+    private long maxSize = 256L * 1024 * 1024;
+    private long threshold = 1000;
+    private String dumpPath = "storage/jfr/";
+
+    /**
+     * @return name of the JDK recording configuration, {@code default} has an overhead of about 1%
+     */
+    public String getConfiguration() {
+        return configuration;
+    }
+
+    public void setConfiguration(String configuration) {
+        this.configuration = requireNotNullOrBlank("Recording configuration", configuration);
+    }
+
+    /**
+     * @return maximum age of the kept recording data in seconds
+     */
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(long maxAge) {
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException("Max age must be positive (value of max age: " + maxAge + ").");
+        }
+        this.maxAge = maxAge;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive (value of max size: " + maxSize + ").");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return minimum duration in microseconds of the recorded connector events
+     */
+    public long getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(long threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold cannot be negative (value of threshold: " + threshold + ").");
+        }
+        this.threshold = threshold;
+    }
+
+    public String getDumpPath() {
+        return dumpPath;
+    }
+
+    public void setDumpPath(String dumpPath) {
+        this.dumpPath = requireNotNullOrBlank("Dump path", dumpPath);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("configuration", configuration)
+                .append("maxAge", maxAge)
+                .append("maxSize", maxSize)
+                .append("threshold", threshold)
+                .append("dumpPath", dumpPath)
+                .toString();
+    }
+}
@@ -0,0 +1,30 @@
+package com.exactpro.th2.fix.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.exactpro.th2.fix.client.SessionSend")
+@Label("Session Send")
+@Category({"th2", "FIX Connector"})
+@Description("Session.send of an outgoing message")
+@StackTrace(false)
+public class SessionSendEvent extends Event {
+
+    @Label("Session Alias")
+    public String sessionAlias;
+
+    @Label("MsgType")
+    public String msgType;
+
+    @Label("MsgSeqNum")
+    public int seqNum;
+
+    @Label("Size")
+    @DataAmount
+    public int size;
+}
@@ -0,0 +1,51 @@
+package com.exactpro.th2.fix.client.outbound;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.exactpro.th2.fix.client.util.FixBeanUtil.requireNotNullOrBlank;
+
+public class LaneSettings {
+
+    private String name;
+    private List<String> msgTypes = new ArrayList<>();
+
+    public LaneSettings() {
+    }
+
+    public LaneSettings(String name, List<String> msgTypes) {
+        setName(name);
+        setMsgTypes(msgTypes);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = requireNotNullOrBlank("Lane name", name);
+    }
+
+    public List<String> getMsgTypes() {
+        return msgTypes;
+    }
+
+    public void setMsgTypes(List<String> msgTypes) {
+        if (msgTypes == null || msgTypes.isEmpty()) {
+            throw new IllegalArgumentException("Lane must contain at least one MsgType.");
+        }
+        msgTypes.forEach(msgType -> requireNotNullOrBlank("MsgType", msgType));
+        this.msgTypes = List.copyOf(msgTypes);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("name", name)
+                .append("msgTypes", msgTypes)
+                .toString();
+    }
+}
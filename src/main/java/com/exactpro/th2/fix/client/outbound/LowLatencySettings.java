@@ -0,0 +1,76 @@
+package com.exactpro.th2.fix.client.outbound;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Opt-in profile of a latency-critical session: its sender thread busy-spins before blocking
+ * and its threads can be pinned to dedicated CPUs.
+ */
+public class LowLatencySettings {
+
+    private int spinIterations = 100_000;
+    private int yieldIterations = 100;
+    private int senderCpu = -1;
+    private int dispatcherCpu = -1;
+
+    /**
+     * @return number of busy-spin checks of the outbound lanes before the sender thread backs off to yielding
+     */
+    public int getSpinIterations() {
+        return spinIterations;
+    }
+
+    public void setSpinIterations(int spinIterations) {
+        if (spinIterations < 0) {
+            throw new IllegalArgumentException("Spin iterations cannot be negative (value of spin iterations: " + spinIterations + ").");
+        }
+        this.spinIterations = spinIterations;
+    }
+
+    /**
+     * @return number of checks with {@link Thread#yield()} after spinning before the sender thread blocks
+     */
+    public int getYieldIterations() {
+        return yieldIterations;
+    }
+
+    public void setYieldIterations(int yieldIterations) {
+        if (yieldIterations < 0) {
+            throw new IllegalArgumentException("Yield iterations cannot be negative (value of yield iterations: " + yieldIterations + ").");
+        }
+        this.yieldIterations = yieldIterations;
+    }
+
+    /**
+     * @return CPU the sender thread is pinned to or {@code -1}
+     */
+    public int getSenderCpu() {
+        return senderCpu;
+    }
+
+    public void setSenderCpu(int senderCpu) {
+        this.senderCpu = senderCpu;
+    }
+
+    /**
+     * @return CPU the thread processing incoming messages of the session is pinned to or {@code -1}
+     */
+    public int getDispatcherCpu() {
+        return dispatcherCpu;
+    }
+
+    public void setDispatcherCpu(int dispatcherCpu) {
+        this.dispatcherCpu = dispatcherCpu;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("spinIterations", spinIterations)
+                .append("yieldIterations", yieldIterations)
+                .append("senderCpu", senderCpu)
+                .append("dispatcherCpu", dispatcherCpu)
+                .toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.exactpro.th2.fix.client.outbound;
+
+import quickfix.DataDictionary;
+import quickfix.DataDictionaryProvider;
+import quickfix.FieldNotFound;
+import quickfix.Message;
+import quickfix.MessageUtils;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.field.ApplVerID;
+
+import java.util.Map;
+
+/**
+ * Parses and optionally validates outbound messages against the session dictionaries.
+ * It does not touch the session state, so it can run on any thread before the serial send stage.
+ */
+public class MessagePreparer {
+
+    private final boolean validate;
+
+    public MessagePreparer(boolean validate) {
+        this.validate = validate;
+    }
+
+    public Message prepare(SessionID sessionID, String rawMessage) throws Exception {
+        return prepare(sessionID, rawMessage, validate);
+    }
+
+    /**
+     * Fills a message from the template, which is parsed and validated on its first use.
+     */
+    public Message prepare(SessionID sessionID, MessageTemplate template, Map<String, String> values) throws Exception {
+        Message fixMessage = template.fill(this, sessionID, values);
+        if (validate) {
+            try {
+                validate(getSession(sessionID), fixMessage);
+            } catch (Exception e) {
+                template.release(fixMessage, values);
+                throw e;
+            }
+        }
+        return fixMessage;
+    }
+
+    Message prepare(SessionID sessionID, String rawMessage, boolean validate) throws Exception {
+        Session session = getSession(sessionID);
+        Message fixMessage = MessageUtils.parse(session, rawMessage);
+        if (validate) {
+            validate(session, fixMessage);
+        }
+        return fixMessage;
+    }
+
+    private static Session getSession(SessionID sessionID) {
+        Session session = Session.lookupSession(sessionID);
+        if (session == null) {
+            throw new IllegalStateException("Session is not created: " + sessionID);
+        }
+        return session;
+    }
+
+    private static void validate(Session session, Message fixMessage) throws Exception {
+        DataDictionaryProvider provider = session.getDataDictionaryProvider();
+        if (provider != null) {
+            DataDictionary dictionary = provider.getApplicationDataDictionary(getApplVerID(session, fixMessage));
+            dictionary.validate(fixMessage, true);
+        }
+    }
+
+    private static ApplVerID getApplVerID(Session session, Message message) throws FieldNotFound {
+        if (!session.getSessionID().isFIXT()) {
+            return MessageUtils.toApplVerID(session.getSessionID().getBeginString());
+        }
+        if (message.getHeader().isSetField(ApplVerID.FIELD)) {
+            return new ApplVerID(message.getHeader().getString(ApplVerID.FIELD));
+        }
+        return session.getSenderDefaultApplicationVersionID();
+    }
+}
@@ -0,0 +1,156 @@
+package com.exactpro.th2.fix.client.outbound;
+
+import com.exactpro.th2.common.grpc.AnyMessage;
+import com.exactpro.th2.fix.client.jfr.OutboundParseEvent;
+import com.exactpro.th2.fix.client.statistics.SessionStatistics;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import com.exactpro.th2.fix.client.util.OrderedExecutor;
+import quickfix.SessionID;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Entry point of the send pipeline. Messages are decoded and validated on a shared pool
+ * and passed in their original order to the serial {@link SessionSender} of their session alias.
+ * The submitting thread takes a place in the lane of the message before the message enters the pool.
+ * The submitting thread is shared by all sessions, so a message for a full lane fails at once instead of waiting
+ * and a slow or logged out session holds back neither the other sessions nor a pool thread.
+ */
+public class MessageSender implements AutoCloseable {
+
+    private final Map<String, SessionSender> senders = new HashMap<>();
+    private final OrderedExecutor<String> preparationPool;
+    private final MessagePreparer preparer;
+    private final SendFailureHandler failureHandler;
+    private final MessageTemplates templates;
+
+    /**
+     * @param logonTimeout maximum time in nanoseconds a message waits for the logon of its session or {@code 0} to send it without waiting
+     * @param lowLatency   low latency profiles of the sessions which have one by session alias
+     */
+    public MessageSender(Map<String, SessionID> sessionIDs, Map<String, SessionStatistics> statistics, PriorityLanes lanes, int laneCapacity,
+                         int preparationThreads, boolean validate, SendFailureHandler failureHandler, MessageTemplates templates, long logonTimeout,
+                         Map<String, LowLatencySettings> lowLatency) {
+        sessionIDs.forEach((sessionAlias, sessionID) -> senders.put(sessionAlias, new SessionSender(sessionAlias, sessionID, lanes,
+                laneCapacity, failureHandler, statistics.get(sessionAlias), logonTimeout, lowLatency.get(sessionAlias))));
+        this.preparationPool = new OrderedExecutor<>("outbound-parser", preparationThreads, laneCapacity);
+        this.preparer = new MessagePreparer(validate);
+        this.failureHandler = failureHandler;
+        this.templates = templates;
+    }
+
+    public void send(AnyMessage message) {
+        send(message, null);
+    }
+
+    /**
+     * @param listener receiver of the send outcome or {@code null}
+     */
+    public void send(AnyMessage message, SendListener listener) {
+        String sessionAlias = MessageUtil.getSessionAlias(message);
+        SessionSender sender = getSender(sessionAlias);
+        String templateId = message.getRawMessage().getMetadata().getPropertiesMap().get(MessageTemplate.TEMPLATE_PROPERTY);
+        String rawMessage = templateId == null ? MessageUtil.rawToString(message) : null;
+        String msgType = templateId == null ? MessageUtil.getMsgType(rawMessage) : getTemplateMsgType(sessionAlias, templateId);
+        int lane = sender.tryAcquire(msgType);
+        if (lane < 0) {
+            OutboundMessage failed = new OutboundMessage(message, sessionAlias, rawMessage, msgType, listener);
+            IllegalStateException error = new IllegalStateException("Outbound lane of MsgType " + msgType + " of session " + sessionAlias + " is full");
+            failureHandler.onError(failed, error);
+            failed.notifyFailed(error.getMessage());
+            return;
+        }
+        // the place passes to the lane with the message or is freed here, exactly once
+        AtomicBoolean placeHandled = new AtomicBoolean();
+        preparationPool.submit(sessionAlias, () -> prepare(message, sessionAlias, rawMessage, templateId, sender, listener), prepared -> {
+            if (prepared.getError() == null) {
+                sender.enqueue(prepared, lane);
+                placeHandled.set(true);
+                return;
+            }
+            placeHandled.set(true);
+            sender.release(lane);
+            failureHandler.onError(prepared, prepared.getError());
+            prepared.notifyFailed(prepared.getError().toString());
+        }, e -> {
+            if (!placeHandled.get()) {
+                sender.release(lane);
+            }
+            OutboundMessage failed = new OutboundMessage(message, sessionAlias, null, null, listener);
+            failureHandler.onError(failed, asException(e));
+            failed.notifyFailed(e.toString());
+        });
+    }
+
+    private String getTemplateMsgType(String sessionAlias, String templateId) {
+        try {
+            return templates.get(sessionAlias, templateId).getMsgType();
+        } catch (IllegalArgumentException e) {
+            // fails on the pool with the other errors of the message
+            return null;
+        }
+    }
+
+    private OutboundMessage prepare(AnyMessage message, String sessionAlias, String rawMessage, String templateId, SessionSender sender,
+                                    SendListener listener) {
+        OutboundParseEvent event = new OutboundParseEvent();
+        event.begin();
+        OutboundMessage outboundMessage = parse(message, sessionAlias, rawMessage, templateId, sender, listener);
+        if (event.shouldCommit()) {
+            event.sessionAlias = sessionAlias;
+            event.msgType = outboundMessage.getMsgType();
+            event.size = message.getRawMessage().getBody().size();
+            event.commit();
+        }
+        return outboundMessage;
+    }
+
+    private OutboundMessage parse(AnyMessage message, String sessionAlias, String rawMessage, String templateId, SessionSender sender,
+                                  SendListener listener) {
+        if (templateId != null) {
+            return prepareFromTemplate(message, sessionAlias, sender, listener, templateId, message.getRawMessage().getMetadata().getPropertiesMap());
+        }
+
+        OutboundMessage outboundMessage = new OutboundMessage(message, sessionAlias, rawMessage, MessageUtil.getMsgType(rawMessage), listener);
+        try {
+            outboundMessage.prepared(preparer.prepare(sender.getSessionID(), rawMessage));
+        } catch (Exception e) {
+            outboundMessage.failed(e);
+        }
+        return outboundMessage;
+    }
+
+    private OutboundMessage prepareFromTemplate(AnyMessage message, String sessionAlias, SessionSender sender, SendListener listener,
+                                                String templateId, Map<String, String> values) {
+        OutboundMessage outboundMessage;
+        try {
+            MessageTemplate template = templates.get(sessionAlias, templateId);
+            outboundMessage = new OutboundMessage(message, sessionAlias, null, template.getMsgType(), listener);
+            outboundMessage.prepared(preparer.prepare(sender.getSessionID(), template, values));
+            outboundMessage.fromTemplate(template, values);
+        } catch (Exception e) {
+            outboundMessage = new OutboundMessage(message, sessionAlias, null, null, listener);
+            outboundMessage.failed(e);
+        }
+        return outboundMessage;
+    }
+
+    private static Exception asException(Throwable e) {
+        return e instanceof Exception ? (Exception) e : new IllegalStateException(e);
+    }
+
+    public SessionSender getSender(String sessionAlias) {
+        return Objects.requireNonNull(senders.get(sessionAlias), () -> "Unknown session alias: " + sessionAlias);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        preparationPool.close();
+        for (SessionSender sender : senders.values()) {
+            sender.close();
+        }
+    }
+}
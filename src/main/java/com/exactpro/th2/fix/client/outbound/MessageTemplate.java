@@ -0,0 +1,122 @@
+package com.exactpro.th2.fix.client.outbound;
+
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import quickfix.FieldMap;
+import quickfix.FieldNotFound;
+import quickfix.Message;
+import quickfix.SessionID;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static com.exactpro.th2.fix.client.util.MessageUtil.SOH;
+
+/**
+ * Message of a session parsed and validated once, on its first use. Outgoing messages are filled from
+ * a pooled copy of it with the field values passed in the metadata properties of a raw message with
+ * the {@value #TEMPLATE_PROPERTY} property, keyed by tag. After the message is sent, the substituted
+ * fields are restored and the copy returns to the pool. Only fields outside of repeating groups can be substituted.
+ */
+public class MessageTemplate {
+
+    public static final String TEMPLATE_PROPERTY = "template";
+
+    private final String id;
+    private final String rawMessage;
+    private final String msgType;
+    private final BlockingQueue<Message> pool;
+    private volatile Message prototype;
+
+    /**
+     * @param rawMessage message with SOH or '|' as the field separator
+     */
+    public MessageTemplate(String id, String rawMessage, int poolSize) {
+        this.id = id;
+        this.rawMessage = rawMessage.indexOf(SOH) < 0 ? rawMessage.replace('|', SOH) : rawMessage;
+        this.msgType = MessageUtil.getMsgType(this.rawMessage);
+        this.pool = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getMsgType() {
+        return msgType;
+    }
+
+    Message fill(MessagePreparer preparer, SessionID sessionID, Map<String, String> values) throws Exception {
+        Message source = getPrototype(preparer, sessionID);
+        Message message = pool.poll();
+        if (message == null) {
+            message = (Message) source.clone();
+        }
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            int tag = toTag(value.getKey());
+            if (tag > 0) {
+                getFields(message, tag).setString(tag, value.getValue());
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Restores the fields substituted with {@code values} in a message filled from this template and returns it to the pool
+     */
+    public void release(Message message, Map<String, String> values) {
+        Message source = prototype;
+        try {
+            for (String key : values.keySet()) {
+                int tag = toTag(key);
+                if (tag > 0) {
+                    FieldMap sourceFields = getFields(source, tag);
+                    if (sourceFields.isSetField(tag)) {
+                        getFields(message, tag).setString(tag, sourceFields.getString(tag));
+                    } else {
+                        getFields(message, tag).removeField(tag);
+                    }
+                }
+            }
+        } catch (FieldNotFound e) {
+            return;
+        }
+        pool.offer(message);
+    }
+
+    private Message getPrototype(MessagePreparer preparer, SessionID sessionID) throws Exception {
+        Message result = prototype;
+        if (result == null) {
+            synchronized (this) {
+                if (prototype == null) {
+                    try {
+                        prototype = preparer.prepare(sessionID, rawMessage, true);
+                    } catch (Exception e) {
+                        throw new IllegalArgumentException("Invalid template " + id + " of session " + sessionID, e);
+                    }
+                }
+                result = prototype;
+            }
+        }
+        return result;
+    }
+
+    private static FieldMap getFields(Message message, int tag) {
+        if (Message.isHeaderField(tag)) {
+            return message.getHeader();
+        }
+        return Message.isTrailerField(tag) ? message.getTrailer() : message;
+    }
+
+    private static int toTag(String key) {
+        int tag = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9' || tag > Integer.MAX_VALUE / 10 - 1) {
+                return -1;
+            }
+            tag = tag * 10 + (c - '0');
+        }
+        return key.isEmpty() ? -1 : tag;
+    }
+}
@@ -0,0 +1,41 @@
+package com.exactpro.th2.fix.client.outbound;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Templates by session alias and template id.
+ */
+public class MessageTemplates {
+
+    private final Map<String, Map<String, MessageTemplate>> templates = new HashMap<>();
+
+    /**
+     * Templates of session aliases which are not in {@code sessionAliases} are ignored, as these sessions belong to another replica.
+     */
+    public MessageTemplates(List<TemplateSettings> settings, Collection<String> sessionAliases, int poolSize) {
+        for (TemplateSettings template : settings) {
+            Collection<String> aliases = template.getSessionAlias() == null ? sessionAliases : List.of(template.getSessionAlias());
+            for (String alias : aliases) {
+                if (!sessionAliases.contains(alias)) {
+                    continue;
+                }
+                MessageTemplate previous = templates.computeIfAbsent(alias, key -> new HashMap<>())
+                        .put(template.getId(), new MessageTemplate(template.getId(), template.getMessage(), poolSize));
+                if (previous != null) {
+                    throw new IllegalArgumentException("Duplicate template " + template.getId() + " of session " + alias);
+                }
+            }
+        }
+    }
+
+    public MessageTemplate get(String sessionAlias, String id) {
+        MessageTemplate template = templates.getOrDefault(sessionAlias, Map.of()).get(id);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown template " + id + " of session " + sessionAlias);
+        }
+        return template;
+    }
+}
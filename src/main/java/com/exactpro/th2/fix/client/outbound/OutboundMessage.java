@@ -0,0 +1,108 @@
+package com.exactpro.th2.fix.client.outbound;
+
+import com.exactpro.th2.common.grpc.AnyMessage;
+import quickfix.Message;
+
+import java.util.Map;
+
+public class OutboundMessage {
+
+    private final AnyMessage source;
+    private final String sessionAlias;
+    private final String rawMessage;
+    private final String msgType;
+    private final SendListener listener;
+    private Message fixMessage;
+    private MessageTemplate template;
+    private Map<String, String> templateValues;
+    private Exception error;
+    private int lane;
+    private long enqueuedAt;
+
+    public OutboundMessage(AnyMessage source, String sessionAlias, String rawMessage, String msgType) {
+        this(source, sessionAlias, rawMessage, msgType, null);
+    }
+
+    /**
+     * @param listener receiver of the send outcome or {@code null}
+     */
+    public OutboundMessage(AnyMessage source, String sessionAlias, String rawMessage, String msgType, SendListener listener) {
+        this.source = source;
+        this.sessionAlias = sessionAlias;
+        this.rawMessage = rawMessage;
+        this.msgType = msgType;
+        this.listener = listener;
+    }
+
+    public AnyMessage getSource() {
+        return source;
+    }
+
+    public String getSessionAlias() {
+        return sessionAlias;
+    }
+
+    public String getRawMessage() {
+        return rawMessage;
+    }
+
+    public String getMsgType() {
+        return msgType;
+    }
+
+    public Message getFixMessage() {
+        return fixMessage;
+    }
+
+    public Exception getError() {
+        return error;
+    }
+
+    void prepared(Message fixMessage) {
+        this.fixMessage = fixMessage;
+    }
+
+    void fromTemplate(MessageTemplate template, Map<String, String> templateValues) {
+        this.template = template;
+        this.templateValues = templateValues;
+    }
+
+    /**
+     * Returns the message filled from a template to the pool of the template after it is sent
+     */
+    void release() {
+        if (template != null && fixMessage != null) {
+            template.release(fixMessage, templateValues);
+            fixMessage = null;
+        }
+    }
+
+    void failed(Exception error) {
+        this.error = error;
+    }
+
+    public int getLane() {
+        return lane;
+    }
+
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
+    void enqueued(int lane, long enqueuedAt) {
+        this.lane = lane;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    void notifySent() {
+        if (listener != null) {
+            listener.onSent(this);
+        }
+    }
+
+    void notifyFailed(String reason) {
+        if (listener != null) {
+            listener.onFailed(this, reason);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.exactpro.th2.fix.client.outbound;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps MsgType to the index of an outbound lane. Lower index means higher priority,
+ * the last lane ({@link #BULK_LANE}) receives every message type that is not configured explicitly.
+ */
+public class PriorityLanes {
+
+    public static final String BULK_LANE = "bulk";
+
+    private final List<String> names;
+    private final Map<String, Integer> laneByMsgType = new HashMap<>();
+
+    public PriorityLanes(List<LaneSettings> lanes) {
+        List<String> names = new ArrayList<>();
+        for (LaneSettings lane : lanes) {
+            if (names.contains(lane.getName()) || BULK_LANE.equals(lane.getName())) {
+                throw new IllegalArgumentException("Lane names must be unique and differ from \"" + BULK_LANE + "\": " + lane.getName());
+            }
+            for (String msgType : lane.getMsgTypes()) {
+                if (laneByMsgType.putIfAbsent(msgType, names.size()) != null) {
+                    throw new IllegalArgumentException("MsgType " + msgType + " is assigned to more than one lane");
+                }
+            }
+            names.add(lane.getName());
+        }
+        names.add(BULK_LANE);
+        this.names = Collections.unmodifiableList(names);
+    }
+
+    public int laneOf(String msgType) {
+        if (msgType == null) {
+            return names.size() - 1;
+        }
+        return laneByMsgType.getOrDefault(msgType, names.size() - 1);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public String name(int lane) {
+        return names.get(lane);
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+}
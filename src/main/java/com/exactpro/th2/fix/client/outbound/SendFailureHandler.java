@@ -0,0 +1,190 @@
+package com.exactpro.th2.fix.client.outbound;
+
+import com.exactpro.th2.common.event.Event;
+import com.exactpro.th2.common.event.EventUtils;
+import com.exactpro.th2.common.grpc.AnyMessage;
+import com.exactpro.th2.common.grpc.EventBatch;
+import com.exactpro.th2.common.grpc.EventID;
+import com.exactpro.th2.common.grpc.MessageGroup;
+import com.exactpro.th2.common.grpc.MessageID;
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.common.schema.message.MessageRouterUtils;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+import static com.exactpro.th2.common.message.MessageUtils.toJson;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Reports failures of the send path. The first failure with a cause per session in a report interval is reported in full,
+ * the following ones are only counted and a few of them are kept as samples. At the end of the interval the counted failures
+ * are reported as one summary event, so a session which is down does not flood the log and the event store.
+ * The cause is the reason and the exception class only, as exception messages often carry per-message details
+ * such as sequence numbers. The exception messages are kept in the samples.
+ * Messages are rendered to JSON only for the full reports and the samples.
+ */
+public class SendFailureHandler implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SendFailureHandler.class);
+
+    private static final String REJECTED = "Logon rejected, message not sent";
+
+    private final MessageRouter<EventBatch> eventRouter;
+    private final String rootEventID;
+    private final int sampleSize;
+    private final Map<String, Failures> failures = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "send-failure-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param reportInterval interval in seconds between summaries of the repeated failures
+     * @param sampleSize     maximum number of messages kept as samples in a summary
+     */
+    public SendFailureHandler(MessageRouter<EventBatch> eventRouter, String rootEventID, int reportInterval, int sampleSize) {
+        this.eventRouter = eventRouter;
+        this.rootEventID = rootEventID;
+        this.sampleSize = sampleSize;
+        executor.scheduleWithFixedDelay(this::reportSummaries, reportInterval, reportInterval, SECONDS);
+    }
+
+    public void onRejected(OutboundMessage message) {
+        report(message.getSessionAlias(), REJECTED, message.getSource(), null);
+    }
+
+    public void onError(OutboundMessage message, Exception e) {
+        report(message.getSessionAlias(), e.getClass().getSimpleName(), message.getSource(), e);
+    }
+
+    /**
+     * Reports a group received from MQ which cannot be passed to the send path.
+     *
+     * @param e cause of the failure or {@code null} if the group is malformed
+     */
+    public void onInvalidGroup(MessageGroup group, String reason, Exception e) {
+        String sessionAlias = group.getMessagesCount() == 0 ? "" : MessageUtil.getSessionAlias(group.getMessages(0));
+        String cause = e == null ? reason : reason + ": " + e.getClass().getSimpleName();
+        if (isFirst(sessionAlias, cause, () -> toSample(e, toJson(group)), null)) {
+            String json = toJson(group);
+            LOGGER.error("{}: {}", reason, json, e);
+            MessageRouterUtils.storeEvent(eventRouter, rootEventID, reason + ": " + json, "Error", e);
+        }
+    }
+
+    private void report(String sessionAlias, String cause, AnyMessage source, Exception e) {
+        MessageID messageID = source.getRawMessage().getMetadata().getId();
+        if (!isFirst(sessionAlias, cause, () -> toSample(e, toJson(source)), messageID)) {
+            return;
+        }
+        if (e == null) {
+            LOGGER.error("{} (session {})", cause, sessionAlias);
+            EventID eventID = source.getMessage().getParentEventId();
+            String parentEventID = eventID.getId().isEmpty() ? rootEventID : eventID.getId();
+            Event event = Event.start().name(cause).messageID(messageID).type("Error").status(Event.Status.FAILED);
+            MessageRouterUtils.storeEvent(eventRouter, event, parentEventID);
+        } else {
+            String json = toJson(source);
+            LOGGER.error("Failed to send message: {}", json, e);
+            MessageRouterUtils.storeEvent(eventRouter, rootEventID, "Failed to send message: " + json, "Error", e);
+        }
+    }
+
+    /**
+     * Counts the failure and keeps the message as a sample if it is not the first one.
+     *
+     * @return {@code true} if this is the first failure with the cause in the interval, which must be reported in full
+     */
+    private boolean isFirst(String sessionAlias, String cause, Supplier<String> sample, MessageID messageID) {
+        String key = sessionAlias + ": " + cause;
+        while (true) {
+            Failures sessionFailures = failures.computeIfAbsent(key, k -> new Failures(sessionAlias, cause));
+            long count = sessionFailures.add(sample, messageID, sampleSize);
+            if (count > 0) {
+                return count == 1;
+            }
+        }
+    }
+
+    private void reportSummaries() {
+        failures.forEach((key, sessionFailures) -> {
+            failures.remove(key, sessionFailures);
+            long repeated = sessionFailures.close() - 1;
+            if (repeated <= 0) {
+                return;
+            }
+            try {
+                String name = String.format("%d more failures of session %s: %s", repeated, sessionFailures.sessionAlias, sessionFailures.cause);
+                LOGGER.error(name);
+                Event event = Event.start().name(name).type("Error").status(Event.Status.FAILED)
+                        .bodyData(EventUtils.createMessageBean("Samples of " + sessionFailures.samples.size() + " messages:"));
+                sessionFailures.samples.forEach(sample -> event.bodyData(EventUtils.createMessageBean(sample)));
+                sessionFailures.messageIDs.forEach(event::messageID);
+                MessageRouterUtils.storeEvent(eventRouter, event, rootEventID);
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to report failures of session {}", sessionFailures.sessionAlias, e);
+            }
+        });
+    }
+
+    private static String toSample(Exception e, String json) {
+        if (e == null) {
+            return json;
+        }
+        String description = e.getMessage() == null ? e.getClass().getSimpleName() : e.getClass().getSimpleName() + ": " + e.getMessage();
+        return description + " - " + json;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, SECONDS)) executor.shutdownNow();
+        reportSummaries();
+    }
+
+    private static class Failures {
+
+        private final String sessionAlias;
+        private final String cause;
+        private final List<String> samples = new ArrayList<>();
+        private final List<MessageID> messageIDs = new ArrayList<>();
+        private long count;
+        private boolean closed;
+
+        private Failures(String sessionAlias, String cause) {
+            this.sessionAlias = sessionAlias;
+            this.cause = cause;
+        }
+
+        /**
+         * @return number of failures including this one or {@code 0} if the interval of these failures is over
+         */
+        private synchronized long add(Supplier<String> sample, MessageID messageID, int sampleSize) {
+            if (closed) {
+                return 0;
+            }
+            if (++count > 1 && samples.size() < sampleSize) {
+                samples.add(sample.get());
+                if (messageID != null) {
+                    messageIDs.add(messageID);
+                }
+            }
+            return count;
+        }
+
+        private synchronized long close() {
+            closed = true;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.exactpro.th2.fix.client.outbound;
+
+/**
+ * Receives the outcome of a single outgoing message. Called from the preparation pool
+ * or the sender thread of the session, so implementations must not block.
+ */
+public interface SendListener {
+
+    void onSent(OutboundMessage message);
+
+    void onFailed(OutboundMessage message, String reason);
+}
@@ -0,0 +1,255 @@
+package com.exactpro.th2.fix.client.outbound;
+
+import com.exactpro.th2.fix.client.jfr.SessionSendEvent;
+import com.exactpro.th2.fix.client.statistics.LatencyHistogram;
+import com.exactpro.th2.fix.client.statistics.SessionStatistics;
+import com.exactpro.th2.fix.client.util.ThreadAffinity;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import quickfix.FieldNotFound;
+import quickfix.Message;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.field.MsgSeqNum;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Serial send stage of a single session. It receives messages already parsed by {@link MessagePreparer}. Messages are queued in priority lanes and a dedicated thread
+ * always drains the highest priority non-empty lane first, so urgent messages overtake queued bulk flow.
+ * Order is preserved within a lane. A place in a lane is taken by {@link #tryAcquire} before the message is prepared
+ * and freed after the message is sent or failed, so {@link #enqueue} never blocks. While the session is not logged on, messages stay in the lanes up to the logon timeout
+ * counted from their enqueuing, so the messages which started the client are sent right after the logon.
+ * With the low latency profile the thread busy-spins on the lanes before blocking and can be pinned to a CPU.
+ */
+public class SessionSender implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionSender.class);
+
+    private static final Histogram QUEUE_LATENCY = Histogram.build()
+            .name("th2_conn_qfj_outbound_queue_latency_seconds")
+            .help("Time spent by an outbound message in its lane before it is passed to the session")
+            .labelNames("session_alias", "lane")
+            .buckets(0.00001, 0.00005, 0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1, 5)
+            .register();
+
+    private static final Histogram SEND_LATENCY = Histogram.build()
+            .name("th2_conn_qfj_outbound_send_seconds")
+            .help("Time spent by an outbound message in Session.send")
+            .labelNames("session_alias", "lane")
+            .buckets(0.00001, 0.00005, 0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1)
+            .register();
+
+    private static final Gauge QUEUE_SIZE = Gauge.build()
+            .name("th2_conn_qfj_outbound_queue_size")
+            .help("Number of outbound messages waiting in a lane")
+            .labelNames("session_alias", "lane")
+            .register();
+
+    private final String sessionAlias;
+    private final SessionID sessionID;
+    private final PriorityLanes lanes;
+    private final SendFailureHandler failureHandler;
+    private final SessionStatistics statistics;
+    private final long logonTimeout;
+    private final LatencyHistogram latency;
+    private final BlockingQueue<OutboundMessage>[] queues;
+    private final Semaphore[] places;
+    private final Histogram.Child[] queueLatency;
+    private final Histogram.Child[] sendLatency;
+    private final Gauge.Child[] queueSize;
+    private final Semaphore pending = new Semaphore(0);
+    private final SpinWait spinWait;
+    private final int cpu;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * @param logonTimeout maximum time in nanoseconds a message waits for the logon or {@code 0} to send it without waiting
+     * @param lowLatency   spinning and pinning of the sender thread or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public SessionSender(String sessionAlias, SessionID sessionID, PriorityLanes lanes, int laneCapacity, SendFailureHandler failureHandler,
+                         SessionStatistics statistics, long logonTimeout, LowLatencySettings lowLatency) {
+        this.sessionAlias = sessionAlias;
+        this.sessionID = sessionID;
+        this.lanes = lanes;
+        this.failureHandler = failureHandler;
+        this.statistics = statistics;
+        this.logonTimeout = logonTimeout;
+        this.latency = statistics.getSendLatency();
+        this.spinWait = SpinWait.of(lowLatency);
+        this.cpu = lowLatency == null ? -1 : lowLatency.getSenderCpu();
+
+        int size = lanes.size();
+        queues = new BlockingQueue[size];
+        places = new Semaphore[size];
+        queueLatency = new Histogram.Child[size];
+        sendLatency = new Histogram.Child[size];
+        queueSize = new Gauge.Child[size];
+        for (int lane = 0; lane < size; lane++) {
+            queues[lane] = new ArrayBlockingQueue<>(laneCapacity);
+            places[lane] = new Semaphore(laneCapacity);
+            queueLatency[lane] = QUEUE_LATENCY.labels(sessionAlias, lanes.name(lane));
+            sendLatency[lane] = SEND_LATENCY.labels(sessionAlias, lanes.name(lane));
+            queueSize[lane] = QUEUE_SIZE.labels(sessionAlias, lanes.name(lane));
+        }
+
+        thread = new Thread(this::run, "sender-" + sessionAlias);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Takes a place in the lane of the message type without waiting, as the caller is shared by all sessions.
+     *
+     * @return lane to pass to {@link #enqueue} or {@link #release} or {@code -1} if the lane is full
+     */
+    public int tryAcquire(String msgType) {
+        int lane = lanes.laneOf(msgType);
+        return places[lane].tryAcquire() ? lane : -1;
+    }
+
+    /**
+     * Frees a place taken by {@link #tryAcquire} for a message which is not enqueued
+     */
+    public void release(int lane) {
+        places[lane].release();
+    }
+
+    /**
+     * Queues a message into the place taken by {@link #tryAcquire}. The place is freed after the message is sent or failed.
+     */
+    public void enqueue(OutboundMessage message, int lane) {
+        message.enqueued(lane, System.nanoTime());
+        if (!queues[lane].offer(message)) {
+            throw new IllegalStateException("Lane " + lanes.name(lane) + " of session " + sessionAlias + " is full, a place was not acquired");
+        }
+        queueSize[lane].inc();
+        pending.release();
+    }
+
+    public SessionID getSessionID() {
+        return sessionID;
+    }
+
+    public int size() {
+        return pending.availablePermits();
+    }
+
+    private void run() {
+        if (cpu >= 0) {
+            ThreadAffinity.pinCurrentThread(cpu);
+        }
+        while (running) {
+            try {
+                if (!spinWait.acquire(pending, () -> running)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            send(poll());
+        }
+    }
+
+    private OutboundMessage poll() {
+        for (int lane = 0; lane < queues.length; lane++) {
+            OutboundMessage message = queues[lane].poll();
+            if (message != null) {
+                queueSize[lane].dec();
+                return message;
+            }
+        }
+        throw new IllegalStateException("Outbound lanes of session " + sessionAlias + " are empty while a message is pending");
+    }
+
+    private void send(OutboundMessage message) {
+        try {
+            doSend(message);
+        } finally {
+            places[message.getLane()].release();
+        }
+    }
+
+    private void doSend(OutboundMessage message) {
+        if (logonTimeout > 0 && !awaitLogon(message)) {
+            IllegalStateException error = new IllegalStateException("Session " + sessionAlias + " is not logged on within "
+                    + NANOSECONDS.toMillis(logonTimeout) + " ms");
+            failureHandler.onError(message, error);
+            message.notifyFailed(error.getMessage());
+            message.release();
+            return;
+        }
+        long start = System.nanoTime();
+        queueLatency[message.getLane()].observe((start - message.getEnqueuedAt()) / 1e9);
+        SessionSendEvent event = new SessionSendEvent();
+        event.begin();
+        try {
+            Session session = Session.lookupSession(sessionID);
+            if (session == null) {
+                throw new IllegalStateException("Session is not created: " + sessionID);
+            }
+            if (session.send(message.getFixMessage())) {
+                if (event.shouldCommit()) {
+                    commit(event, message);
+                }
+                message.notifySent();
+            } else {
+                failureHandler.onRejected(message);
+                message.notifyFailed("Session rejected the message");
+            }
+        } catch (Exception e) {
+            failureHandler.onError(message, e);
+            message.notifyFailed(e.toString());
+        } finally {
+            long end = System.nanoTime();
+            sendLatency[message.getLane()].observe((end - start) / 1e9);
+            latency.record(end - message.getEnqueuedAt());
+            message.release();
+        }
+    }
+
+    private boolean awaitLogon(OutboundMessage message) {
+        try {
+            return statistics.awaitLoggedOn(message.getEnqueuedAt() + logonTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void commit(SessionSendEvent event, OutboundMessage message) {
+        event.sessionAlias = sessionAlias;
+        event.msgType = message.getMsgType();
+        event.seqNum = getSeqNum(message.getFixMessage());
+        event.size = message.getRawMessage() == null ? 0 : message.getRawMessage().length();
+        event.commit();
+    }
+
+    private static int getSeqNum(Message message) {
+        try {
+            return message.getHeader().getInt(MsgSeqNum.FIELD);
+        } catch (FieldNotFound e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(SECONDS.toMillis(5));
+        if (pending.availablePermits() > 0) {
+            LOGGER.warn("Session {} closed with {} unsent messages", sessionAlias, pending.availablePermits());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.exactpro.th2.fix.client.outbound;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Acquires a permit by busy-spinning, then yielding and only then blocking, so a thread woken up
+ * often does not pay for parking and unparking.
+ */
+public class SpinWait {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpinWait.class);
+
+    public static final SpinWait BLOCKING = new SpinWait(0, 0);
+
+    private final int spinIterations;
+    private final int yieldIterations;
+
+    public SpinWait(int spinIterations, int yieldIterations) {
+        this.spinIterations = spinIterations;
+        this.yieldIterations = yieldIterations;
+    }
+
+    public static SpinWait of(LowLatencySettings settings) {
+        if (settings == null) {
+            return BLOCKING;
+        }
+        if (Runtime.getRuntime().availableProcessors() < 2) {
+            LOGGER.warn("Spinning is disabled because there is only one available processor, which it would take from other threads");
+            return BLOCKING;
+        }
+        return new SpinWait(settings.getSpinIterations(), settings.getYieldIterations());
+    }
+
+    /**
+     * @param running checked while spinning, the waiting stops without a permit when it returns {@code false}
+     * @return {@code true} if a permit is acquired
+     */
+    public boolean acquire(Semaphore semaphore, BooleanSupplier running) throws InterruptedException {
+        for (int i = 0; i < spinIterations; i++) {
+            if (semaphore.tryAcquire()) {
+                return true;
+            }
+            if ((i & 1023) == 0 && !running.getAsBoolean()) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        for (int i = 0; i < yieldIterations; i++) {
+            if (semaphore.tryAcquire()) {
+                return true;
+            }
+            Thread.yield();
+        }
+        semaphore.acquire();
+        return true;
+    }
+}
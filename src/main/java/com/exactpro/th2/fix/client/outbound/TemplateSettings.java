@@ -0,0 +1,49 @@
+package com.exactpro.th2.fix.client.outbound;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import static com.exactpro.th2.fix.client.util.FixBeanUtil.requireNotNullOrBlank;
+
+public class TemplateSettings {
+
+    private String id;
+    private String sessionAlias = null;
+    private String message;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = requireNotNullOrBlank("Template id", id);
+    }
+
+    /**
+     * @return session alias of the template or {@code null} if it is available in all sessions
+     */
+    public String getSessionAlias() {
+        return sessionAlias;
+    }
+
+    public void setSessionAlias(String sessionAlias) {
+        this.sessionAlias = sessionAlias;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = requireNotNullOrBlank("Template message", message);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("id", id)
+                .append("sessionAlias", sessionAlias)
+                .append("message", message)
+                .toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.exactpro.th2.fix.client.reconnect;
+
+import quickfix.SessionID;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spreads the first logons of the sessions after the start of the client evenly over a window, so hundreds of sessions
+ * do not log on, resend and write their stores in the same second. QuickFIX/J asks for a permission before each logon
+ * and retries once a second, so the delays are precise to a second. Later logons after reconnects are not delayed.
+ * Only the Logon message is held back: QuickFIX/J opens the connection of a delayed session at the start anyway.
+ */
+public class LogonScheduler {
+
+    private final Map<SessionID, Long> delays = new HashMap<>();
+    // time in milliseconds since the epoch when the delayed sessions were first permitted to log on after the start
+    private final Map<SessionID, Long> permitted = new ConcurrentHashMap<>();
+    private volatile long start = System.nanoTime();
+
+    /**
+     * @param sessionIDs  sessions in the order of their logons
+     * @param windowNanos time from the start of the client to the logon of the last session
+     */
+    public LogonScheduler(List<SessionID> sessionIDs, long windowNanos) {
+        for (int i = 0; i < sessionIDs.size(); i++) {
+            delays.put(sessionIDs.get(i), windowNanos * i / sessionIDs.size());
+        }
+    }
+
+    public void start() {
+        permitted.clear();
+        start = System.nanoTime();
+    }
+
+    public boolean canLogon(SessionID sessionID) {
+        Long delay = delays.get(sessionID);
+        if (delay == null || delay == 0) {
+            return true;
+        }
+        if (System.nanoTime() - start < delay) {
+            return false;
+        }
+        permitted.putIfAbsent(sessionID, System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * @return time in milliseconds since the epoch when the session was first permitted to log on after the start
+     * of the client or {@code 0} if its logon was not delayed
+     */
+    public long getPermittedAt(SessionID sessionID) {
+        return permitted.getOrDefault(sessionID, 0L);
+    }
+}
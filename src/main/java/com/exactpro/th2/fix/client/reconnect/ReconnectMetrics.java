@@ -0,0 +1,54 @@
+package com.exactpro.th2.fix.client.reconnect;
+
+import io.prometheus.client.Counter;
+
+/**
+ * Counts the logon and connection attempts of the sessions from the events QuickFIX/J writes to their logs.
+ */
+public class ReconnectMetrics {
+
+    private static final Counter LOGON_ATTEMPTS = Counter.build()
+            .name("th2_conn_qfj_logon_attempts_total")
+            .help("Number of Logon messages sent by a session")
+            .labelNames("session_alias")
+            .register();
+
+    private static final Counter CONNECTION_FAILURES = Counter.build()
+            .name("th2_conn_qfj_connection_failures_total")
+            .help("Number of failed attempts to connect a session")
+            .labelNames("session_alias")
+            .register();
+
+    // texts of the events logged by QuickFIX/J
+    private static final String LOGON_EVENT = "Initiated logon request";
+    private static final String CONNECTION_FAILURE_EVENT = " during connection to ";
+
+    private ReconnectMetrics() {
+    }
+
+    public static void onEvent(String sessionAlias, String text) {
+        if (isLogonEvent(text)) {
+            LOGON_ATTEMPTS.labels(sessionAlias).inc();
+        }
+    }
+
+    public static void onErrorEvent(String sessionAlias, String text) {
+        if (isConnectionFailureEvent(text)) {
+            CONNECTION_FAILURES.labels(sessionAlias).inc();
+        }
+    }
+
+    /**
+     * @return {@code true} if the text of an event logged by QuickFIX/J reports a sent Logon message
+     */
+    public static boolean isLogonEvent(String text) {
+        return text.startsWith(LOGON_EVENT);
+    }
+
+    /**
+     * @return {@code true} if the text of an error event logged by QuickFIX/J reports a failed connection attempt
+     */
+    public static boolean isConnectionFailureEvent(String text) {
+        return text.contains(CONNECTION_FAILURE_EVENT);
+    }
+}
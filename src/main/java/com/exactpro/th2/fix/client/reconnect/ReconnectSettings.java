@@ -0,0 +1,93 @@
+package com.exactpro.th2.fix.client.reconnect;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Exponential backoff of the reconnection attempts of a session. Each interval is changed by a random share
+ * of up to {@code jitter}, so sessions disconnected at the same time do not reconnect at the same time.
+ */
+public class ReconnectSettings {
+
+    private int initialInterval = 1;
+    private int maxInterval = 60;
+    private double multiplier = 2;
+    private double jitter = 0.2;
+
+    public int getInitialInterval() {
+        return initialInterval;
+    }
+
+    public void setInitialInterval(int initialInterval) {
+        if (initialInterval <= 0) {
+            throw new IllegalArgumentException("Initial interval must be positive (value of initial interval: " + initialInterval + ").");
+        }
+        this.initialInterval = initialInterval;
+    }
+
+    public int getMaxInterval() {
+        return maxInterval;
+    }
+
+    public void setMaxInterval(int maxInterval) {
+        if (maxInterval <= 0) {
+            throw new IllegalArgumentException("Max interval must be positive (value of max interval: " + maxInterval + ").");
+        }
+        this.maxInterval = maxInterval;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(double multiplier) {
+        if (!(multiplier > 1)) {
+            throw new IllegalArgumentException("Multiplier must be greater than 1 (value of multiplier: " + multiplier + ").");
+        }
+        this.multiplier = multiplier;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(double jitter) {
+        if (!(jitter >= 0 && jitter < 1)) {
+            throw new IllegalArgumentException("Jitter must be in range from 0 to 1 exclusive (value of jitter: " + jitter + ").");
+        }
+        this.jitter = jitter;
+    }
+
+    /**
+     * Draws the intervals in whole seconds, as QuickFIX/J accepts them in {@code ReconnectInterval}. QuickFIX/J waits
+     * the n-th interval before the n-th attempt after a disconnect and the last interval before all following ones.
+     *
+     * @return value of {@code ReconnectInterval}, e.g. {@code 1;2;4;9;15;31;58}
+     */
+    public String toReconnectInterval(Random random) {
+        List<String> intervals = new ArrayList<>();
+        double interval = Math.min(initialInterval, maxInterval);
+        while (true) {
+            long value = Math.round(interval * (1 + jitter * (2 * random.nextDouble() - 1)));
+            intervals.add(String.valueOf(Math.max(1, value)));
+            if (interval >= maxInterval) {
+                return String.join(";", intervals);
+            }
+            interval = Math.min(interval * multiplier, maxInterval);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("initialInterval", initialInterval)
+                .append("maxInterval", maxInterval)
+                .append("multiplier", multiplier)
+                .append("jitter", jitter)
+                .toString();
+    }
+}
@@ -0,0 +1,76 @@
+package com.exactpro.th2.fix.client.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a message log line by line through memory-mapped windows of the file, so files larger than 2 GB
+ * are supported and the file is not copied through a heap buffer.
+ */
+public class RecordingReader implements AutoCloseable {
+
+    private static final long WINDOW = 256L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private MappedByteBuffer buffer;
+    private long windowStart;
+
+    public RecordingReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        map(0);
+    }
+
+    /**
+     * @return next line without the line terminator or {@code null} at the end of the file
+     */
+    public String readLine() throws IOException {
+        while (true) {
+            int start = buffer.position();
+            for (int i = start; i < buffer.limit(); i++) {
+                if (buffer.get(i) == '\n') {
+                    buffer.position(i + 1);
+                    return decode(start, i);
+                }
+            }
+            if (windowStart + buffer.limit() >= size) {
+                if (start == buffer.limit()) {
+                    return null;
+                }
+                buffer.position(buffer.limit());
+                return decode(start, buffer.limit());
+            }
+            if (start == 0) {
+                throw new IOException("Line at position " + windowStart + " is longer than " + WINDOW + " bytes");
+            }
+            map(windowStart + start);
+        }
+    }
+
+    private void map(long position) throws IOException {
+        windowStart = position;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW, size - position));
+    }
+
+    private String decode(int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        byte[] line = new byte[end - start];
+        ByteBuffer source = buffer.duplicate();
+        source.position(start);
+        source.get(line);
+        return new String(line, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,88 @@
+package com.exactpro.th2.fix.client.replay;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.Map;
+import java.util.Objects;
+
+import static com.exactpro.th2.fix.client.util.FixBeanUtil.requireNotNullOrBlank;
+
+public class ReplaySettings {
+
+    private String file;
+    private String sessionAlias;
+    private double speed = 1;
+    private String senderCompID = null;
+    private Map<String, String> rewrites = Map.of();
+    private String clOrdIdSuffix = "";
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = requireNotNullOrBlank("File", file);
+    }
+
+    public String getSessionAlias() {
+        return sessionAlias;
+    }
+
+    public void setSessionAlias(String sessionAlias) {
+        this.sessionAlias = requireNotNullOrBlank("SessionAlias", sessionAlias);
+    }
+
+    /**
+     * @return speed-up relative to the recorded pacing or {@code 0} to replay as fast as possible
+     */
+    public double getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(double speed) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("Replay speed cannot be negative (value of speed: " + speed + ").");
+        }
+        this.speed = speed;
+    }
+
+    /**
+     * @return SenderCompID of the recorded messages to replay or {@code null} to replay the messages with the SenderCompID of the live session
+     */
+    public String getSenderCompID() {
+        return senderCompID;
+    }
+
+    public void setSenderCompID(String senderCompID) {
+        this.senderCompID = senderCompID;
+    }
+
+    public Map<String, String> getRewrites() {
+        return rewrites;
+    }
+
+    public void setRewrites(Map<String, String> rewrites) {
+        this.rewrites = Map.copyOf(Objects.requireNonNull(rewrites, "Rewrites must not be null"));
+    }
+
+    public String getClOrdIdSuffix() {
+        return clOrdIdSuffix;
+    }
+
+    public void setClOrdIdSuffix(String clOrdIdSuffix) {
+        this.clOrdIdSuffix = Objects.requireNonNull(clOrdIdSuffix, "ClOrdID suffix must not be null");
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("file", file)
+                .append("sessionAlias", sessionAlias)
+                .append("speed", speed)
+                .append("senderCompID", senderCompID)
+                .append("rewrites", rewrites)
+                .append("clOrdIdSuffix", clOrdIdSuffix)
+                .toString();
+    }
+}
@@ -0,0 +1,238 @@
+package com.exactpro.th2.fix.client.replay;
+
+import com.exactpro.th2.common.event.Event;
+import com.exactpro.th2.common.event.EventUtils;
+import com.exactpro.th2.common.grpc.EventBatch;
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.common.schema.message.MessageRouterUtils;
+import com.exactpro.th2.fix.client.outbound.MessageSender;
+import com.exactpro.th2.fix.client.outbound.OutboundMessage;
+import com.exactpro.th2.fix.client.outbound.SendListener;
+import com.exactpro.th2.fix.client.statistics.LatencyHistogram;
+import com.exactpro.th2.fix.client.statistics.SessionStatistics;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import com.google.protobuf.ByteString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import quickfix.FieldConvertError;
+import quickfix.SessionID;
+import quickfix.field.converter.UtcTimestampConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.exactpro.th2.fix.client.util.MessageUtil.SOH;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Replays application messages recorded by {@code FileLogFactory} (or a dump with one raw message per line)
+ * into a live session through the regular send pipeline. Messages are paced by their SendingTime (52)
+ * divided by the configured speed. Session level fields of the header are set by the session itself,
+ * other fields can be rewritten by tag.
+ */
+public class SessionReplayer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionReplayer.class);
+
+    private static final Set<String> ADMIN_TYPES = Set.of("0", "1", "2", "3", "4", "5", "A");
+    private static final String SENDER_COMP_ID = "49";
+    private static final String SENDING_TIME = "52";
+    private static final String CL_ORD_ID = "11";
+    private static final String ORIG_CL_ORD_ID = "41";
+    private static final String BEGIN_STRING = "8=FIX";
+
+    private final ReplaySettings settings;
+    private final String senderCompID;
+    private final MessageSender sender;
+    private final SessionStatistics statistics;
+    private final Runnable beforeStart;
+    private final MessageRouter<EventBatch> eventRouter;
+    private final String rootEventId;
+    private final LatencyHistogram latency = new LatencyHistogram(Long.MAX_VALUE);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * @param sessionID   live session, whose SenderCompID selects the replayed messages unless the settings set another one
+     * @param beforeStart called before waiting for the logon, e.g. to start the client
+     */
+    public SessionReplayer(ReplaySettings settings, SessionID sessionID, MessageSender sender, SessionStatistics statistics, Runnable beforeStart,
+                           MessageRouter<EventBatch> eventRouter, String rootEventId) {
+        this.settings = settings;
+        this.senderCompID = Objects.requireNonNullElse(settings.getSenderCompID(), sessionID.getSenderCompID());
+        this.sender = sender;
+        this.statistics = statistics;
+        this.beforeStart = beforeStart;
+        this.eventRouter = eventRouter;
+        this.rootEventId = rootEventId;
+        this.thread = new Thread(this::run, "replay-" + settings.getSessionAlias());
+        this.thread.start();
+    }
+
+    private void run() {
+        try {
+            beforeStart.run();
+            while (running && !statistics.isLoggedOn()) {
+                Thread.sleep(100);
+            }
+            if (!running) {
+                return;
+            }
+            LOGGER.info("Replaying {} into session {}", settings.getFile(), settings.getSessionAlias());
+            replay();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.error("Replay of {} into session {} failed", settings.getFile(), settings.getSessionAlias(), e);
+            MessageRouterUtils.storeEvent(eventRouter, rootEventId, "Replay of " + settings.getFile() + " failed", "Error", e);
+        }
+    }
+
+    private void replay() throws Exception {
+        long submitted = 0;
+        long started = 0;
+        long firstSendingTime = -1;
+        try (RecordingReader reader = new RecordingReader(Path.of(settings.getFile()))) {
+            String line;
+            while (running && (line = reader.readLine()) != null) {
+                int start = line.indexOf(BEGIN_STRING);
+                if (start < 0) {
+                    continue;
+                }
+                String message = start == 0 ? line : line.substring(start);
+                String msgType = MessageUtil.getMsgType(message);
+                if (msgType == null || ADMIN_TYPES.contains(msgType)) {
+                    continue;
+                }
+                if (!senderCompID.equals(MessageUtil.getField(message, SENDER_COMP_ID))) {
+                    continue;
+                }
+
+                if (submitted == 0) {
+                    started = System.nanoTime();
+                }
+                if (settings.getSpeed() > 0) {
+                    long sendingTime = getSendingTime(message);
+                    if (sendingTime >= 0) {
+                        if (firstSendingTime < 0) {
+                            firstSendingTime = sendingTime;
+                        }
+                        long due = started + (long) ((sendingTime - firstSendingTime) / settings.getSpeed());
+                        long delay;
+                        while ((delay = due - System.nanoTime()) > 0 && running) {
+                            LockSupport.parkNanos(delay);
+                        }
+                    }
+                }
+
+                send(rewrite(message));
+                submitted++;
+            }
+        }
+
+        long deadline = System.nanoTime() + SECONDS.toNanos(30);
+        while (sent.sum() + failed.sum() < submitted && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        report(submitted, System.nanoTime() - started);
+    }
+
+    private void send(String message) {
+        long submittedAt = System.nanoTime();
+        sender.send(MessageUtil.toOutgoingMessage(settings.getSessionAlias(), ByteString.copyFrom(message, StandardCharsets.ISO_8859_1)),
+                new SendListener() {
+                    @Override
+                    public void onSent(OutboundMessage outboundMessage) {
+                        latency.record(System.nanoTime() - submittedAt);
+                        sent.increment();
+                    }
+
+                    @Override
+                    public void onFailed(OutboundMessage outboundMessage, String reason) {
+                        failed.increment();
+                    }
+                });
+    }
+
+    private String rewrite(String message) {
+        Map<String, String> rewrites = settings.getRewrites();
+        String suffix = settings.getClOrdIdSuffix();
+        if (rewrites.isEmpty() && suffix.isEmpty()) {
+            return message;
+        }
+        StringBuilder builder = new StringBuilder(message.length() + 32);
+        int start = 0;
+        while (start < message.length()) {
+            int end = message.indexOf(SOH, start);
+            if (end < 0) {
+                end = message.length();
+            }
+            int separator = message.indexOf('=', start);
+            String tag = separator > start && separator < end ? message.substring(start, separator) : null;
+            String value = tag == null ? null : rewrites.get(tag);
+            if (value != null) {
+                builder.append(tag).append('=').append(value);
+            } else {
+                builder.append(message, start, end);
+                if (!suffix.isEmpty() && (CL_ORD_ID.equals(tag) || ORIG_CL_ORD_ID.equals(tag))) {
+                    builder.append(suffix);
+                }
+            }
+            if (end < message.length()) {
+                builder.append(SOH);
+            }
+            start = end + 1;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return SendingTime in nanoseconds since the epoch or {@code -1} if it is absent or malformed
+     */
+    private static long getSendingTime(String message) {
+        String value = MessageUtil.getField(message, SENDING_TIME);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            LocalDateTime time = UtcTimestampConverter.convertToLocalDateTime(value);
+            return SECONDS.toNanos(time.toEpochSecond(ZoneOffset.UTC)) + time.getNano();
+        } catch (FieldConvertError e) {
+            return -1;
+        }
+    }
+
+    private void report(long submitted, long duration) {
+        double seconds = duration / 1e9;
+        String summary = String.format("Replay of %s into session %s: %d messages submitted, %d sent, %d failed in %.3f s (%.0f msg/s). "
+                        + "Latency from submission to the session: p50 %d us, p99 %d us, p99.9 %d us, max %d us",
+                settings.getFile(), settings.getSessionAlias(), submitted, sent.sum(), failed.sum(), seconds,
+                seconds > 0 ? sent.sum() / seconds : 0,
+                latency.getPercentile(50) / 1000, latency.getPercentile(99) / 1000,
+                latency.getPercentile(99.9) / 1000, latency.getPercentile(100) / 1000);
+        LOGGER.info(summary);
+        Event event = Event.start()
+                .name("Replay of " + settings.getFile() + " finished")
+                .type("Replay")
+                .status(failed.sum() == 0 && sent.sum() == submitted ? Event.Status.PASSED : Event.Status.FAILED)
+                .bodyData(EventUtils.createMessageBean(summary));
+        MessageRouterUtils.storeEvent(eventRouter, event, rootEventId);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(MILLISECONDS.convert(5, SECONDS));
+    }
+}
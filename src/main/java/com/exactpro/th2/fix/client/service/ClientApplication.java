@@ -1,18 +1,63 @@
 package com.exactpro.th2.fix.client.service;
 
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.fix.client.reconnect.LogonScheduler;
+import com.exactpro.th2.fix.client.statistics.SessionStatistics;
+import com.exactpro.th2.fix.client.tls.TlsSupport;
+import com.exactpro.th2.fix.client.util.ThreadAffinity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import quickfix.Application;
+import quickfix.ApplicationExtended;
 import quickfix.Message;
 import quickfix.SessionID;
 
-public class ClientApplication implements Application {
+import java.util.Map;
+
+public class ClientApplication implements ApplicationExtended {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientApplication.class);
 
+    private final int logSampleRate;
+    private final Map<SessionID, SessionStatistics> statistics;
+    private final Map<SessionID, Integer> dispatcherCpus;
+    private final LogonScheduler logonScheduler;
+
+    /**
+     * @param logSampleRate  every N-th application message of each session in each direction is logged at INFO level, {@code 0} disables sampling
+     * @param dispatcherCpus CPUs the threads processing incoming messages of the sessions are pinned to
+     * @param logonScheduler permits the first logons of the sessions after the start of the client
+     */
+    public ClientApplication(int logSampleRate, Map<SessionID, SessionStatistics> statistics, Map<SessionID, Integer> dispatcherCpus,
+                             LogonScheduler logonScheduler) {
+        this.logSampleRate = logSampleRate;
+        this.statistics = statistics;
+        this.dispatcherCpus = dispatcherCpus;
+        this.logonScheduler = logonScheduler;
+    }
+
+    @Override
+    public boolean canLogon(SessionID sessionId) {
+        return logonScheduler.canLogon(sessionId);
+    }
+
+    @Override
+    public void onBeforeSessionReset(SessionID sessionId) {
+    }
+
     @Override
     public void onLogon(SessionID sessionId) {
         LOGGER.info(">> onLogon for session: {}", sessionId);
+        setLoggedOn(sessionId, true);
+        SessionStatistics sessionStatistics = statistics.get(sessionId);
+        if (sessionStatistics != null) {
+            TlsSupport.onLogon(sessionStatistics.getSessionAlias(), sessionId, logonScheduler.getPermittedAt(sessionId));
+        }
+        // the initiator calls it from the dispatcher thread of the session, which processes all its incoming messages.
+        // A reconnect may bring a new dispatcher thread, the one already pinned is skipped
+        Integer cpu = dispatcherCpus.get(sessionId);
+        if (cpu != null) {
+            ThreadAffinity.pinCurrentThreadAsync(cpu);
+        }
     }
 
     @Override
@@ -23,6 +68,7 @@ public class ClientApplication implements Application {
     @Override
     public void onLogout(SessionID sessionId) {
         LOGGER.info(">> onLogout for session: {}", sessionId);
+        setLoggedOn(sessionId, false);
     }
 
     @Override
@@ -35,11 +81,34 @@ public class ClientApplication implements Application {
 
     @Override
     public void toApp(Message message, SessionID sessionId) {
-        LOGGER.info(">> toApp for session: {} with message {}", sessionId, message);
+        if (isSampled(sessionId, Direction.SECOND)) {
+            LOGGER.info(">> toApp sample for session: {} with message {}", sessionId, message);
+        } else {
+            LOGGER.debug(">> toApp for session: {} with message {}", sessionId, message);
+        }
     }
 
     @Override
     public void fromApp(Message message, SessionID sessionID) {
-        LOGGER.info("<< From app: " + message + " session ID: " + sessionID);
+        if (isSampled(sessionID, Direction.FIRST)) {
+            LOGGER.info("<< fromApp sample for session: {} with message {}", sessionID, message);
+        } else {
+            LOGGER.debug("<< fromApp for session: {} with message {}", sessionID, message);
+        }
+    }
+
+    private void setLoggedOn(SessionID sessionId, boolean loggedOn) {
+        SessionStatistics sessionStatistics = statistics.get(sessionId);
+        if (sessionStatistics != null) {
+            sessionStatistics.setLoggedOn(loggedOn);
+        }
+    }
+
+    private boolean isSampled(SessionID sessionId, Direction direction) {
+        if (logSampleRate == 0 || !LOGGER.isInfoEnabled()) {
+            return false;
+        }
+        SessionStatistics sessionStatistics = statistics.get(sessionId);
+        return sessionStatistics != null && sessionStatistics.isSampled(direction, logSampleRate);
     }
 }
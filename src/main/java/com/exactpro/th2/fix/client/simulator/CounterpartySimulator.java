@@ -0,0 +1,250 @@
+package com.exactpro.th2.fix.client.simulator;
+
+import com.exactpro.th2.fix.client.fixBean.FixBean;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import quickfix.Acceptor;
+import quickfix.ApplicationAdapter;
+import quickfix.CompositeLogFactory;
+import quickfix.ConfigError;
+import quickfix.DefaultMessageFactory;
+import quickfix.FieldNotFound;
+import quickfix.LogFactory;
+import quickfix.MemoryStoreFactory;
+import quickfix.Message;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.SessionNotFound;
+import quickfix.SessionSettings;
+import quickfix.ThreadedSocketAcceptor;
+import quickfix.field.AvgPx;
+import quickfix.field.ClOrdID;
+import quickfix.field.CumQty;
+import quickfix.field.ExecID;
+import quickfix.field.ExecTransType;
+import quickfix.field.ExecType;
+import quickfix.field.LastPx;
+import quickfix.field.LastQty;
+import quickfix.field.LeavesQty;
+import quickfix.field.MsgType;
+import quickfix.field.OrdStatus;
+import quickfix.field.OrderID;
+import quickfix.field.OrderQty;
+import quickfix.field.OrigClOrdID;
+import quickfix.field.Price;
+import quickfix.field.Side;
+import quickfix.field.Symbol;
+import quickfix.field.Text;
+import quickfix.field.TransactTime;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Acceptor which logs on the sessions of the connector and answers NewOrderSingle, OrderCancelRequest and
+ * OrderCancelReplaceRequest with ExecutionReports. Orders are acknowledged or rejected and then filled
+ * according to the configured ratios. The simulator keeps no order book, so replaces and cancels always succeed.
+ * It can be started from tests or standalone with the path to a JSON file with {@link SimulatorSettings}.
+ */
+public class CounterpartySimulator extends ApplicationAdapter implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CounterpartySimulator.class);
+
+    private static final String NEW_ORDER_SINGLE = "D";
+    private static final String ORDER_CANCEL_REQUEST = "F";
+    private static final String ORDER_CANCEL_REPLACE_REQUEST = "G";
+
+    private final SimulatorSettings settings;
+    private final Acceptor acceptor;
+    // each session is served by its own thread, so a session gets its own generator to keep its decisions reproducible
+    private final Map<SessionID, Random> randoms = new ConcurrentHashMap<>();
+    private final AtomicLong orderCounter = new AtomicLong();
+    private final AtomicLong execCounter = new AtomicLong();
+    private final ScheduledExecutorService executor;
+
+    public CounterpartySimulator(SimulatorSettings settings) throws ConfigError {
+        this.settings = settings;
+        this.executor = settings.getLatency() > 0 ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulator-delay");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+
+        SessionSettings sessionSettings = createSessionSettings(settings.getSessionSettings());
+        this.acceptor = new ThreadedSocketAcceptor(this, new MemoryStoreFactory(), sessionSettings,
+                new CompositeLogFactory(new LogFactory[0]), new DefaultMessageFactory());
+    }
+
+    public void start() throws ConfigError {
+        acceptor.start();
+        LOGGER.info("Counterparty simulator started with {}", settings);
+    }
+
+    @Override
+    public void fromApp(Message message, SessionID sessionId) throws FieldNotFound {
+        String msgType = message.getHeader().getString(MsgType.FIELD);
+        List<Message> responses = new ArrayList<>();
+        switch (msgType) {
+            case NEW_ORDER_SINGLE:
+                onNewOrder(message, sessionId, responses);
+                break;
+            case ORDER_CANCEL_REQUEST:
+                responses.add(createReport(message, sessionId, ExecType.CANCELED, OrdStatus.CANCELED, 0, 0, 0));
+                break;
+            case ORDER_CANCEL_REPLACE_REQUEST:
+                responses.add(createReport(message, sessionId, ExecType.REPLACED, OrdStatus.NEW, getDouble(message, OrderQty.FIELD), 0, 0));
+                break;
+            default:
+                return;
+        }
+
+        if (executor == null) {
+            send(responses, sessionId);
+        } else {
+            executor.schedule(() -> send(responses, sessionId), settings.getLatency(), MICROSECONDS);
+        }
+    }
+
+    private void onNewOrder(Message order, SessionID sessionId, List<Message> responses) {
+        double quantity = getDouble(order, OrderQty.FIELD);
+        Random random = randoms.computeIfAbsent(sessionId, id -> new Random(settings.getSeed() * 31 + id.toString().hashCode()));
+        if (random.nextDouble() < settings.getRejectRatio()) {
+            Message reject = createReport(order, sessionId, ExecType.REJECTED, OrdStatus.REJECTED, 0, 0, 0);
+            reject.setString(Text.FIELD, "Rejected by simulator");
+            responses.add(reject);
+            return;
+        }
+        responses.add(createReport(order, sessionId, ExecType.NEW, OrdStatus.NEW, quantity, 0, 0));
+        if (random.nextDouble() >= settings.getFillRatio()) {
+            return;
+        }
+
+        double price = order.isSetField(Price.FIELD) ? getDouble(order, Price.FIELD) : settings.getMarketPrice();
+        int fills = settings.getPartialFills() + 1;
+        double filled = 0;
+        for (int i = 1; i <= fills; i++) {
+            double lastQuantity = i == fills ? quantity - filled : quantity / fills;
+            filled += lastQuantity;
+            boolean last = i == fills;
+            char execType = isLegacy(sessionId) ? (last ? ExecType.FILL : ExecType.PARTIAL_FILL) : ExecType.TRADE;
+            Message fill = createReport(order, sessionId, execType, last ? OrdStatus.FILLED : OrdStatus.PARTIALLY_FILLED,
+                    quantity - filled, filled, price);
+            fill.setDouble(LastQty.FIELD, lastQuantity);
+            fill.setDouble(LastPx.FIELD, price);
+            responses.add(fill);
+        }
+    }
+
+    private Message createReport(Message request, SessionID sessionId, char execType, char ordStatus, double leavesQty, double cumQty, double avgPx) {
+        Message report = new Message();
+        report.getHeader().setString(MsgType.FIELD, MsgType.EXECUTION_REPORT);
+        report.setString(OrderID.FIELD, "O" + orderCounter.incrementAndGet());
+        report.setString(ExecID.FIELD, "E" + execCounter.incrementAndGet());
+        if (isLegacy(sessionId)) {
+            report.setChar(ExecTransType.FIELD, ExecTransType.NEW);
+        }
+        report.setChar(ExecType.FIELD, execType);
+        report.setChar(OrdStatus.FIELD, ordStatus);
+        copy(request, report, ClOrdID.FIELD);
+        copy(request, report, OrigClOrdID.FIELD);
+        copy(request, report, Symbol.FIELD);
+        copy(request, report, Side.FIELD);
+        copy(request, report, OrderQty.FIELD);
+        report.setDouble(LeavesQty.FIELD, leavesQty);
+        report.setDouble(CumQty.FIELD, cumQty);
+        report.setDouble(AvgPx.FIELD, avgPx);
+        report.setUtcTimeStamp(TransactTime.FIELD, LocalDateTime.now(ZoneOffset.UTC));
+        return report;
+    }
+
+    private void send(List<Message> responses, SessionID sessionId) {
+        try {
+            for (Message response : responses) {
+                Session.sendToTarget(response, sessionId);
+            }
+        } catch (SessionNotFound e) {
+            LOGGER.warn("Session {} disappeared before the response was sent", sessionId, e);
+        }
+    }
+
+    private static boolean isLegacy(SessionID sessionId) {
+        String beginString = sessionId.getBeginString();
+        return beginString.equals("FIX.4.0") || beginString.equals("FIX.4.1") || beginString.equals("FIX.4.2");
+    }
+
+    private static void copy(Message source, Message target, int tag) {
+        if (source.isSetField(tag)) {
+            try {
+                target.setString(tag, source.getString(tag));
+            } catch (FieldNotFound e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static double getDouble(Message message, int tag) {
+        try {
+            return message.isSetField(tag) ? message.getDouble(tag) : 0;
+        } catch (FieldNotFound | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static SessionSettings createSessionSettings(List<FixBean> sessions) {
+        SessionSettings sessionSettings = new SessionSettings();
+        sessionSettings.setString("ConnectionType", "acceptor");
+        sessionSettings.setString("NonStopSession", "Y");
+        sessionSettings.setString("UseDataDictionary", "N");
+        sessionSettings.setString("ResetOnLogon", "Y");
+        for (FixBean session : sessions) {
+            SessionID sessionID = new SessionID(session.getBeginString(), session.getTargetCompID(),
+                    session.getTargetSubID(), session.getTargetLocationID(), session.getSenderCompID(),
+                    session.getSenderSubID(), session.getSenderLocationID(), "");
+            sessionSettings.setString(sessionID, "SocketAcceptPort", String.valueOf(session.getSocketConnectPort()));
+            if (session.getDefaultApplVerID() != null) {
+                sessionSettings.setString(sessionID, "DefaultApplVerID", session.getDefaultApplVerID());
+            }
+        }
+        return sessionSettings;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        acceptor.stop();
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(5, SECONDS);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("Usage: CounterpartySimulator <settings.json>");
+            System.exit(1);
+        }
+        SimulatorSettings settings = JsonMapper.builder().build().readValue(new File(args[0]), SimulatorSettings.class);
+        CounterpartySimulator simulator = new CounterpartySimulator(settings);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                simulator.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "simulator-shutdown"));
+        simulator.start();
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,116 @@
+package com.exactpro.th2.fix.client.simulator;
+
+import com.exactpro.th2.fix.client.fixBean.FixBean;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class SimulatorSettings {
+
+    private double fillRatio = 1;
+    private int partialFills = 0;
+    private double rejectRatio = 0;
+    private long latency = 0;
+    private double marketPrice = 100;
+    private long seed = 1;
+    @JsonProperty(required = true)
+    private List<FixBean> sessionSettings = new ArrayList<>();
+
+    /**
+     * @return share of accepted orders which are filled right after the acknowledgement
+     */
+    public double getFillRatio() {
+        return fillRatio;
+    }
+
+    public void setFillRatio(double fillRatio) {
+        this.fillRatio = requireRatio("Fill ratio", fillRatio);
+    }
+
+    public int getPartialFills() {
+        return partialFills;
+    }
+
+    public void setPartialFills(int partialFills) {
+        if (partialFills < 0) {
+            throw new IllegalArgumentException("Number of partial fills cannot be negative (value of partial fills: " + partialFills + ").");
+        }
+        this.partialFills = partialFills;
+    }
+
+    public double getRejectRatio() {
+        return rejectRatio;
+    }
+
+    public void setRejectRatio(double rejectRatio) {
+        this.rejectRatio = requireRatio("Reject ratio", rejectRatio);
+    }
+
+    /**
+     * @return delay in microseconds before answering a request
+     */
+    public long getLatency() {
+        return latency;
+    }
+
+    public void setLatency(long latency) {
+        if (latency < 0) {
+            throw new IllegalArgumentException("Latency cannot be negative (value of latency: " + latency + ").");
+        }
+        this.latency = latency;
+    }
+
+    public double getMarketPrice() {
+        return marketPrice;
+    }
+
+    public void setMarketPrice(double marketPrice) {
+        if (marketPrice <= 0) {
+            throw new IllegalArgumentException("Market price must be positive (value of market price: " + marketPrice + ").");
+        }
+        this.marketPrice = marketPrice;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @return sessions of the connector, the simulator accepts them with swapped sender and target IDs
+     */
+    public List<FixBean> getSessionSettings() {
+        return sessionSettings;
+    }
+
+    public void setSessionSettings(List<FixBean> sessionSettings) {
+        this.sessionSettings = Objects.requireNonNull(sessionSettings, "Session settings must not be null");
+    }
+
+    private static double requireRatio(String name, double ratio) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException(name + " must be from 0 to 1 (value of " + name.toLowerCase() + ": " + ratio + ").");
+        }
+        return ratio;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("fillRatio", fillRatio)
+                .append("partialFills", partialFills)
+                .append("rejectRatio", rejectRatio)
+                .append("latency", latency)
+                .append("marketPrice", marketPrice)
+                .append("seed", seed)
+                .append("sessionSettings", sessionSettings)
+                .toString();
+    }
+}
@@ -0,0 +1,151 @@
+package com.exactpro.th2.fix.client.standby;
+
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import quickfix.MessageStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.MESSAGE;
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.RESET;
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.SENDER_SEQ_NUM;
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.TARGET_SEQ_NUM;
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.encode;
+
+/**
+ * Message store which sends each update to the connected standbys after it is written to the underlying store.
+ * Updates and the chunks of a snapshot are queued under the lock of the store, so a standby receives the updates of
+ * a session in the same order as they were written and none of them is lost between its snapshot and the following
+ * updates. The snapshot waits for the queue of the connection outside of the lock, so a slow standby holds back
+ * neither the session thread nor the other updates.
+ */
+class ReplicatingStore implements MessageStore, Closeable {
+
+    private final String sessionID;
+    private final MessageStore delegate;
+    private final List<ReplicationConnection> connections = new CopyOnWriteArrayList<>();
+
+    ReplicatingStore(String sessionID, MessageStore delegate) {
+        this.sessionID = sessionID;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Sends the snapshot of the store to the standby in chunks and each update from the start of the snapshot.
+     * A message sent again by the session while the snapshot is sent is replicated twice with the same content.
+     */
+    void subscribe(ReplicationConnection connection) throws IOException, InterruptedException {
+        int end;
+        synchronized (this) {
+            end = delegate.getNextSenderMsgSeqNum() - 1;
+            connection.sendSnapshot(encode(RESET, sessionID, 0, ""));
+            connection.sendSnapshot(encode(SENDER_SEQ_NUM, sessionID, end + 1, ""));
+            connection.sendSnapshot(encode(TARGET_SEQ_NUM, sessionID, delegate.getNextTargetMsgSeqNum(), ""));
+            connections.add(connection);
+        }
+        int chunk = connection.getSnapshotChunk();
+        List<String> messages = new ArrayList<>(chunk);
+        for (int start = 1; start <= end && !connection.isClosed(); start += chunk) {
+            connection.awaitSnapshotSpace(chunk);
+            synchronized (this) {
+                delegate.get(start, Math.min(end, start + chunk - 1), messages);
+                for (String message : messages) {
+                    int sequence = MessageUtil.getIntField(message, "34");
+                    if (sequence > 0) {
+                        connection.sendSnapshot(encode(MESSAGE, sessionID, sequence, message));
+                    }
+                }
+            }
+            messages.clear();
+        }
+    }
+
+    private void replicate(byte type, int value, String message) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        connections.removeIf(ReplicationConnection::isClosed);
+        byte[] record = encode(type, sessionID, value, message);
+        connections.forEach(connection -> connection.send(record));
+    }
+
+    @Override
+    public synchronized boolean set(int sequence, String message) throws IOException {
+        boolean result = delegate.set(sequence, message);
+        replicate(MESSAGE, sequence, message);
+        return result;
+    }
+
+    @Override
+    public synchronized void get(int startSequence, int endSequence, Collection<String> messages) throws IOException {
+        delegate.get(startSequence, endSequence, messages);
+    }
+
+    @Override
+    public synchronized int getNextSenderMsgSeqNum() throws IOException {
+        return delegate.getNextSenderMsgSeqNum();
+    }
+
+    @Override
+    public synchronized int getNextTargetMsgSeqNum() throws IOException {
+        return delegate.getNextTargetMsgSeqNum();
+    }
+
+    @Override
+    public synchronized void setNextSenderMsgSeqNum(int next) throws IOException {
+        delegate.setNextSenderMsgSeqNum(next);
+        replicate(SENDER_SEQ_NUM, next, "");
+    }
+
+    @Override
+    public synchronized void setNextTargetMsgSeqNum(int next) throws IOException {
+        delegate.setNextTargetMsgSeqNum(next);
+        replicate(TARGET_SEQ_NUM, next, "");
+    }
+
+    @Override
+    public synchronized void incrNextSenderMsgSeqNum() throws IOException {
+        delegate.incrNextSenderMsgSeqNum();
+        replicate(SENDER_SEQ_NUM, delegate.getNextSenderMsgSeqNum(), "");
+    }
+
+    @Override
+    public synchronized void incrNextTargetMsgSeqNum() throws IOException {
+        delegate.incrNextTargetMsgSeqNum();
+        replicate(TARGET_SEQ_NUM, delegate.getNextTargetMsgSeqNum(), "");
+    }
+
+    @Override
+    public synchronized Date getCreationTime() throws IOException {
+        return delegate.getCreationTime();
+    }
+
+    @Override
+    public synchronized Calendar getCreationTimeCalendar() throws IOException {
+        return delegate.getCreationTimeCalendar();
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        delegate.reset();
+        replicate(RESET, 0, "");
+    }
+
+    @Override
+    public synchronized void refresh() throws IOException {
+        delegate.refresh();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (delegate instanceof Closeable) {
+            ((Closeable) delegate).close();
+        }
+    }
+}
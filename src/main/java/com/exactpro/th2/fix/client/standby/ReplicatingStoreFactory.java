@@ -0,0 +1,23 @@
+package com.exactpro.th2.fix.client.standby;
+
+import quickfix.MessageStore;
+import quickfix.MessageStoreFactory;
+import quickfix.SessionID;
+
+class ReplicatingStoreFactory implements MessageStoreFactory {
+
+    private final MessageStoreFactory delegate;
+    private final StoreReplication replication;
+
+    ReplicatingStoreFactory(MessageStoreFactory delegate, StoreReplication replication) {
+        this.delegate = delegate;
+        this.replication = replication;
+    }
+
+    @Override
+    public MessageStore create(SessionID sessionID) {
+        ReplicatingStore store = new ReplicatingStore(sessionID.toString(), delegate.create(sessionID));
+        replication.register(sessionID, store);
+        return store;
+    }
+}
@@ -0,0 +1,204 @@
+package com.exactpro.th2.fix.client.standby;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import quickfix.CharsetSupport;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Writing side of the connection between the instances. Store updates are queued by the session threads and written by
+ * the thread of the connection, which sends heartbeats while there are no updates. The standby sends only heartbeats,
+ * which renew the lease of the active instance. A record consists of its type, session ID, an integer value (a sequence
+ * number or a role) and a message, which is empty for the store updates except {@link #MESSAGE}.
+ */
+class ReplicationConnection {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicationConnection.class);
+
+    static final byte RESET = 'R';
+    static final byte SENDER_SEQ_NUM = 'S';
+    static final byte TARGET_SEQ_NUM = 'T';
+    static final byte MESSAGE = 'M';
+    static final byte HEARTBEAT = 'H';
+    static final byte HELLO = 'O';
+    static final byte AUTH = 'A';
+    static final byte BYE = 'B';
+
+    private static final int MAX_MESSAGE_LENGTH = 64 * 1024 * 1024;
+
+    private static final byte[] HEARTBEAT_RECORD = encode(HEARTBEAT, "", 0, "");
+    private static final byte[] BYE_RECORD = encode(BYE, "", 0, "");
+
+    private final Socket socket;
+    private final int queueCapacity;
+    private final long heartbeatInterval;
+    private final Runnable onClose;
+    private final BlockingQueue<byte[]> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * @param queueCapacity     number of queued updates after which the standby is considered too slow and disconnected
+     * @param heartbeatInterval interval in milliseconds between heartbeats
+     */
+    ReplicationConnection(Socket socket, int queueCapacity, long heartbeatInterval, Runnable onClose) {
+        this.socket = socket;
+        this.queueCapacity = queueCapacity;
+        this.heartbeatInterval = heartbeatInterval;
+        this.onClose = onClose;
+        this.thread = new Thread(this::run, "replication-" + socket.getRemoteSocketAddress());
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * @return number of snapshot records which can be queued at once after {@link #awaitSnapshotSpace(int)}
+     */
+    int getSnapshotChunk() {
+        return Math.min(100, getSnapshotLimit());
+    }
+
+    /**
+     * Waits until the snapshot records queued so far take at most half of the queue capacity less the {@code records},
+     * so the snapshot keeps the other half for the updates made while it is sent.
+     */
+    void awaitSnapshotSpace(int records) throws InterruptedException {
+        while (!closed && queue.size() > getSnapshotLimit() - records) {
+            LockSupport.parkNanos(MILLISECONDS.toNanos(1));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Queues a record of a snapshot after {@link #awaitSnapshotSpace(int)}.
+     */
+    void sendSnapshot(byte[] record) {
+        if (!closed) {
+            queue.add(record);
+        }
+    }
+
+    private int getSnapshotLimit() {
+        return Math.max(1, queueCapacity / 2);
+    }
+
+    void send(byte[] record) {
+        if (closed) {
+            return;
+        }
+        if (queue.size() >= queueCapacity) {
+            LOGGER.warn("Standby {} is too slow, {} store updates are queued. Disconnecting it", socket.getRemoteSocketAddress(), queue.size());
+            close();
+            return;
+        }
+        queue.add(record);
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    private void run() {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (!closed) {
+                byte[] record = queue.poll(heartbeatInterval, MILLISECONDS);
+                output.write(record == null ? HEARTBEAT_RECORD : record);
+                if (record == BYE_RECORD) {
+                    output.flush();
+                    break;
+                }
+                if (queue.isEmpty()) {
+                    output.flush();
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                LOGGER.warn("Lost connection to peer {}", socket.getRemoteSocketAddress(), e);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close();
+            queue.clear();
+            onClose.run();
+        }
+    }
+
+    /**
+     * Sends the queued records and tells the peer that this instance stops, then closes the connection.
+     */
+    void closeGracefully(long timeoutMillis) throws InterruptedException {
+        queue.add(BYE_RECORD);
+        thread.join(timeoutMillis);
+        close();
+    }
+
+    void close() {
+        closed = true;
+        thread.interrupt();
+        try {
+            socket.close();
+        } catch (IOException e) {
+            LOGGER.error("Failed to close connection to peer {}", socket.getRemoteSocketAddress(), e);
+        }
+    }
+
+    static byte[] encode(byte type, String sessionID, int value, String message) {
+        byte[] body = message.getBytes(CharsetSupport.getCharsetInstance());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + sessionID.length() + 16);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(type);
+            output.writeUTF(sessionID);
+            output.writeInt(value);
+            output.writeInt(body.length);
+            output.write(body);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode store update", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Record decode(DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        String sessionID = input.readUTF();
+        int value = input.readInt();
+        int length = input.readInt();
+        if (length < 0 || length > MAX_MESSAGE_LENGTH) {
+            throw new IOException("Invalid length of record message: " + length);
+        }
+        byte[] body = new byte[length];
+        input.readFully(body);
+        return new Record(type, sessionID, value, new String(body, CharsetSupport.getCharsetInstance()));
+    }
+
+    static class Record {
+
+        final byte type;
+        final String sessionID;
+        final int value;
+        final String message;
+
+        private Record(byte type, String sessionID, int value, String message) {
+            this.type = type;
+            this.sessionID = sessionID;
+            this.value = value;
+            this.message = message;
+        }
+    }
+}
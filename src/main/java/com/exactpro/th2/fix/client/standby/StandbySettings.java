@@ -0,0 +1,103 @@
+package com.exactpro.th2.fix.client.standby;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import static com.exactpro.th2.fix.client.util.FixBeanUtil.requireNotNullOrBlank;
+
+/**
+ * Pair of connector instances with the same sessions. The active instance runs the sessions and replicates its message
+ * store to the standby one, which takes over when the active instance stops answering.
+ */
+public class StandbySettings {
+
+    private String host = "localhost";
+    private int port;
+    private String peerHost = "localhost";
+    private int peerPort;
+    private int failoverTimeout = 5;
+    private int queueCapacity = 100000;
+    private String secret;
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = requireNotNullOrBlank("Host", host);
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = requirePort("Port", port);
+    }
+
+    public String getPeerHost() {
+        return peerHost;
+    }
+
+    public void setPeerHost(String peerHost) {
+        this.peerHost = requireNotNullOrBlank("Peer host", peerHost);
+    }
+
+    public int getPeerPort() {
+        return peerPort;
+    }
+
+    public void setPeerPort(int peerPort) {
+        this.peerPort = requirePort("Peer port", peerPort);
+    }
+
+    public int getFailoverTimeout() {
+        return failoverTimeout;
+    }
+
+    public void setFailoverTimeout(int failoverTimeout) {
+        if (failoverTimeout <= 0) {
+            throw new IllegalArgumentException("Failover timeout must be positive (value of failover timeout: " + failoverTimeout + ").");
+        }
+        this.failoverTimeout = failoverTimeout;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive (value of queue capacity: " + queueCapacity + ").");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = requireNotNullOrBlank("Secret", secret);
+    }
+
+    private static int requirePort(String name, int port) {
+        if (port <= 0 || port > 65535) {
+            throw new IllegalArgumentException(name + " must be in range from 1 to 65535 (value of " + name.toLowerCase() + ": " + port + ").");
+        }
+        return port;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("host", host)
+                .append("port", port)
+                .append("peerHost", peerHost)
+                .append("peerPort", peerPort)
+                .append("failoverTimeout", failoverTimeout)
+                .append("queueCapacity", queueCapacity)
+                .append("secret", secret == null ? null : "***")
+                .toString();
+    }
+}
@@ -0,0 +1,542 @@
+package com.exactpro.th2.fix.client.standby;
+
+import com.exactpro.th2.fix.client.standby.ReplicationConnection.Record;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import quickfix.MessageStore;
+import quickfix.MessageStoreFactory;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.AUTH;
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.BYE;
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.HEARTBEAT;
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.HELLO;
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.MESSAGE;
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.RESET;
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.SENDER_SEQ_NUM;
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.TARGET_SEQ_NUM;
+import static com.exactpro.th2.fix.client.standby.ReplicationConnection.encode;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Replicates the message stores between two instances of the connector with the same sessions. From the start each
+ * instance listens on its port and connects to its peer. The instances agree on their roles when they connect: the
+ * active one stays active, a standby is preferred to an instance which has just started, and otherwise the instance with
+ * the lower ID, i.e. its host name and port, becomes active. The standby writes the received snapshots and updates of
+ * the stores to its own stores, and its heartbeats renew the lease of the active instance.
+ * <p>
+ * The standby takes over when it does not hear from the active instance for the failover timeout. The active instance
+ * stops its sessions when its lease is not renewed for three quarters of the failover timeout, so it stops before its
+ * standby takes over, and starts them again if it finds no active peer for the failover timeout after that. An instance
+ * without a peer becomes active after the failover timeout.
+ */
+public class StoreReplication implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoreReplication.class);
+
+    private static final int CANDIDATE = 0;
+    private static final int STANDBY = 1;
+    private static final int ACTIVE = 2;
+    private static final String HMAC = "HmacSHA256";
+
+    private final StandbySettings settings;
+    private final String instanceID;
+    private final long failoverTimeout;
+    private final long leaseTimeout;
+    private final long heartbeatInterval;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, SessionID> sessionIDs = new ConcurrentHashMap<>();
+    private final Map<SessionID, MessageStoreFactory> storeFactories = new ConcurrentHashMap<>();
+    private final Map<SessionID, ReplicatingStore> stores = new HashMap<>();
+    private final Thread thread;
+    private final Thread listener;
+    private final ExecutorService roleExecutor = createExecutor("replication-role");
+    private final ExecutorService snapshotExecutor = createExecutor("replication-snapshot");
+    private volatile Runnable onActive;
+    private volatile Runnable onStandby;
+    private volatile int role = CANDIDATE;
+    private volatile boolean closed;
+    private volatile ServerSocket server;
+    private Peer peer;
+    private boolean leased;
+    private long lastContact;
+    private Future<?> roleChange = CompletableFuture.completedFuture(null);
+
+    public StoreReplication(StandbySettings settings) {
+        this.settings = settings;
+        this.instanceID = getHostName() + ":" + settings.getPort();
+        this.failoverTimeout = SECONDS.toNanos(settings.getFailoverTimeout());
+        this.leaseTimeout = failoverTimeout * 3 / 4;
+        this.heartbeatInterval = SECONDS.toMillis(settings.getFailoverTimeout()) / 4;
+        this.thread = new Thread(this::run, "store-replication");
+        this.thread.setDaemon(true);
+        this.listener = new Thread(this::listen, "replication-listener");
+        this.listener.setDaemon(true);
+    }
+
+    /**
+     * @return factory of stores of the sessions in the settings which are replicated to the standby when this instance is active
+     */
+    public MessageStoreFactory wrap(MessageStoreFactory factory, SessionSettings sessionSettings) {
+        for (Iterator<SessionID> iterator = sessionSettings.sectionIterator(); iterator.hasNext(); ) {
+            SessionID sessionID = iterator.next();
+            sessionIDs.put(sessionID.toString(), sessionID);
+            storeFactories.put(sessionID, factory);
+        }
+        return new ReplicatingStoreFactory(factory, this);
+    }
+
+    /**
+     * Starts listening on the port and connecting to the peer.
+     *
+     * @param onActive  called when this instance becomes active and must start the sessions
+     * @param onStandby called when this instance stops being active and must stop the sessions
+     */
+    public void start(Runnable onActive, Runnable onStandby) {
+        this.onActive = onActive;
+        this.onStandby = onStandby;
+        try {
+            ServerSocket serverSocket = new ServerSocket();
+            serverSocket.setReuseAddress(true);
+            serverSocket.bind(new InetSocketAddress(settings.getHost(), settings.getPort()));
+            server = serverSocket;
+            if (settings.getSecret() == null && !serverSocket.getInetAddress().isLoopbackAddress()) {
+                LOGGER.warn("Replication port {}:{} accepts peers without a secret", settings.getHost(), settings.getPort());
+            }
+            listener.start();
+        } catch (IOException e) {
+            LOGGER.error("Failed to listen on replication port {}:{}, only this instance connects to its peer", settings.getHost(), settings.getPort(), e);
+        }
+        synchronized (this) {
+            lastContact = System.nanoTime();
+        }
+        thread.start();
+    }
+
+    public boolean isActive() {
+        return role == ACTIVE;
+    }
+
+    synchronized void register(SessionID sessionID, ReplicatingStore store) {
+        stores.put(sessionID, store);
+        if (role == ACTIVE && peer != null && peer.active) {
+            subscribe(store, peer.connection);
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            if (!isConnected()) {
+                dial();
+            }
+            check();
+            try {
+                Thread.sleep(Math.min(1000, heartbeatInterval));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void listen() {
+        while (!closed) {
+            try {
+                connect(server.accept(), false);
+            } catch (IOException e) {
+                if (!closed) {
+                    LOGGER.error("Failed to accept peer", e);
+                }
+            }
+        }
+    }
+
+    private void dial() {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(settings.getPeerHost(), settings.getPeerPort()), (int) Math.min(1000, heartbeatInterval));
+        } catch (IOException e) {
+            LOGGER.debug("No connection to the peer at {}:{}", settings.getPeerHost(), settings.getPeerPort(), e);
+            closeSocket(socket);
+            return;
+        }
+        connect(socket, true);
+    }
+
+    /**
+     * Authenticates the peer and agrees on the roles with it. Both instances connect to each other until they keep
+     * the connection opened by the instance with the lower ID, so they always agree on the roles on one connection.
+     */
+    private void connect(Socket socket, boolean dialed) {
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout((int) (2 * heartbeatInterval));
+            DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            byte[] bytes = new byte[16];
+            random.nextBytes(bytes);
+            String nonce = Base64.getEncoder().encodeToString(bytes);
+            int ownRole = role;
+            output.write(encode(HELLO, instanceID, ownRole, nonce));
+            output.flush();
+
+            Record hello = read(input, HELLO);
+            String peerID = hello.sessionID;
+            if (peerID.equals(instanceID)) {
+                throw new IOException("Peer has the same ID " + instanceID + ", the instances must differ in host name or port");
+            }
+            output.write(encode(AUTH, instanceID, 0, sign(hello.message, nonce, instanceID)));
+            output.flush();
+            if (!MessageDigest.isEqual(read(input, AUTH).message.getBytes(UTF_8), sign(nonce, hello.message, peerID).getBytes(UTF_8))) {
+                throw new IOException("Peer " + peerID + " is not authenticated, the instances must have the same secret");
+            }
+
+            if (dialed != instanceID.compareTo(peerID) < 0) {
+                socket.close();
+                return;
+            }
+            socket.setSoTimeout((int) SECONDS.toMillis(settings.getFailoverTimeout()));
+            boolean active = hello.value < ownRole || hello.value == ownRole && instanceID.compareTo(peerID) < 0;
+            attach(new Peer(socket, peerID, input, active));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to connect peer {}", socket.getRemoteSocketAddress(), e);
+            closeSocket(socket);
+        }
+    }
+
+    private synchronized void attach(Peer next) {
+        if (closed) {
+            next.close();
+            return;
+        }
+        Peer previous = closePeer();
+        peer = next;
+        lastContact = System.nanoTime();
+        if (next.active) {
+            leased = true;
+            promote(previous, "Active instance for standby " + next.id);
+            stores.values().forEach(store -> subscribe(store, next.connection));
+        } else {
+            leased = false;
+            demote(STANDBY, "Standby of active instance " + next.id);
+        }
+        next.start(roleChange);
+    }
+
+    /**
+     * Takes over when there is no active peer and gives up the active role when the standby does not renew the lease.
+     * The roles do not change while the sessions are being started or stopped.
+     */
+    private synchronized void check() {
+        if (closed || !roleChange.isDone()) {
+            return;
+        }
+        long silence = System.nanoTime() - lastContact;
+        if (role == ACTIVE) {
+            if (leased && silence >= leaseTimeout) {
+                closePeer();
+                leased = false;
+                demote(CANDIDATE, "No heartbeat from the standby for " + NANOSECONDS.toMillis(silence) + " ms, the lease is lost");
+            }
+        } else if (silence >= failoverTimeout) {
+            promote(closePeer(), "No active instance at " + settings.getPeerHost() + ":" + settings.getPeerPort()
+                    + " for " + settings.getFailoverTimeout() + " seconds");
+        }
+    }
+
+    private void promote(Peer previous, String reason) {
+        if (role == ACTIVE) {
+            return;
+        }
+        role = ACTIVE;
+        LOGGER.info("{}, starting sessions", reason);
+        roleChange = roleExecutor.submit(() -> {
+            if (previous != null) {
+                previous.join(); // the replicas are closed before the sessions open the stores
+            }
+            call(onActive, "start");
+            return null;
+        });
+    }
+
+    private void demote(int next, String reason) {
+        if (role == ACTIVE) {
+            LOGGER.warn("{}, stopping sessions", reason);
+            stores.clear(); // the sessions register new stores when they start again
+            roleChange = roleExecutor.submit(() -> call(onStandby, "stop"));
+        } else if (next == STANDBY) {
+            LOGGER.info(reason);
+        }
+        role = next;
+    }
+
+    private void call(Runnable callback, String action) {
+        try {
+            callback.run();
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to {} sessions", action, e);
+        }
+        synchronized (this) {
+            lastContact = System.nanoTime();
+        }
+    }
+
+    private synchronized boolean isConnected() {
+        return peer != null && !peer.connection.isClosed();
+    }
+
+    private Peer closePeer() {
+        Peer previous = peer;
+        if (previous != null) {
+            previous.close();
+            peer = null;
+        }
+        return previous;
+    }
+
+    private synchronized void touch(Peer source) {
+        if (source == peer) {
+            lastContact = System.nanoTime();
+        }
+    }
+
+    private synchronized void bye(Peer source) {
+        if (source != peer) {
+            return;
+        }
+        if (source.active) {
+            LOGGER.info("Standby {} stopped", source.id);
+            leased = false;
+        } else {
+            LOGGER.info("Active instance {} stopped", source.id);
+            lastContact = System.nanoTime() - failoverTimeout;
+        }
+    }
+
+    private void subscribe(ReplicatingStore store, ReplicationConnection connection) {
+        snapshotExecutor.execute(() -> {
+            try {
+                store.subscribe(connection);
+            } catch (IOException e) {
+                LOGGER.error("Failed to read snapshot of message store", e);
+                connection.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private void apply(Record record, Map<SessionID, MessageStore> replicas) throws IOException {
+        if (record.type == HEARTBEAT) {
+            return;
+        }
+        SessionID sessionID = sessionIDs.get(record.sessionID);
+        if (sessionID == null) {
+            return; // session of the peer which this instance does not have
+        }
+        MessageStore store = replicas.get(sessionID);
+        if (store == null) {
+            store = storeFactories.get(sessionID).create(sessionID);
+            replicas.put(sessionID, store);
+        }
+        switch (record.type) {
+        case RESET:
+            store.reset();
+            break;
+        case SENDER_SEQ_NUM:
+            store.setNextSenderMsgSeqNum(record.value);
+            break;
+        case TARGET_SEQ_NUM:
+            store.setNextTargetMsgSeqNum(record.value);
+            break;
+        case MESSAGE:
+            store.set(record.value, record.message);
+            break;
+        default:
+            throw new IOException("Unknown type of store update: " + (char) record.type);
+        }
+    }
+
+    private String sign(String challenge, String response, String id) {
+        if (settings.getSecret() == null) {
+            return "";
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(settings.getSecret().getBytes(UTF_8), HMAC));
+            return Base64.getEncoder().encodeToString(mac.doFinal((challenge + ':' + response + ':' + id).getBytes(UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign replication handshake", e);
+        }
+    }
+
+    private static Record read(DataInputStream input, byte type) throws IOException {
+        Record record = ReplicationConnection.decode(input);
+        if (record.type != type) {
+            throw new IOException("Unexpected record " + (char) record.type + " instead of " + (char) type);
+        }
+        return record;
+    }
+
+    private static void closeStore(MessageStore store) {
+        if (store instanceof Closeable) {
+            try {
+                ((Closeable) store).close();
+            } catch (IOException e) {
+                LOGGER.error("Failed to close replicated message store", e);
+            }
+        }
+    }
+
+    private static void closeSocket(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            LOGGER.debug("Failed to close socket", e);
+        }
+    }
+
+    private static String getHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+
+    private static ExecutorService createExecutor(String name) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Closes the connection to the peer after sending the queued updates. An active instance must stop its sessions
+     * before, as its standby takes over at once.
+     */
+    @Override
+    public void close() throws IOException, InterruptedException {
+        Peer last;
+        synchronized (this) {
+            closed = true;
+            last = peer;
+        }
+        thread.interrupt();
+        ServerSocket serverSocket = server;
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        snapshotExecutor.shutdownNow();
+        if (last != null) {
+            last.connection.closeGracefully(SECONDS.toMillis(settings.getFailoverTimeout()));
+            last.join();
+        }
+        roleExecutor.shutdown();
+        thread.join(SECONDS.toMillis(5));
+        listener.join(SECONDS.toMillis(5));
+        roleExecutor.awaitTermination(5, SECONDS);
+    }
+
+    /**
+     * Connection to the peer agreed on the roles. The standby applies the records of the active instance, which only
+     * reads the heartbeats of the standby.
+     */
+    private class Peer {
+
+        private final String id;
+        private final DataInputStream input;
+        private final boolean active;
+        private final ReplicationConnection connection;
+        private final Thread thread;
+        private volatile Future<?> ready;
+
+        /**
+         * @param active whether this instance is active on the connection
+         */
+        private Peer(Socket socket, String id, DataInputStream input, boolean active) {
+            this.id = id;
+            this.input = input;
+            this.active = active;
+            this.connection = new ReplicationConnection(socket, settings.getQueueCapacity(), heartbeatInterval, () -> { });
+            this.thread = new Thread(this::read, "replication-peer-" + id);
+            this.thread.setDaemon(true);
+        }
+
+        private void start(Future<?> ready) {
+            this.ready = ready;
+            connection.start();
+            thread.start();
+        }
+
+        private void read() {
+            Map<SessionID, MessageStore> replicas = new HashMap<>();
+            try {
+                if (!active) {
+                    ready.get(); // the sessions of a former active instance stop before the replicas are written
+                }
+                while (true) {
+                    Record record = ReplicationConnection.decode(input);
+                    if (record.type == BYE) {
+                        bye(this);
+                        return;
+                    }
+                    if (!active) {
+                        apply(record, replicas);
+                    }
+                    touch(this);
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!closed && !connection.isClosed()) {
+                    LOGGER.warn("Lost connection to peer {}", id, e);
+                }
+            } catch (ExecutionException e) {
+                LOGGER.error("Failed to stop sessions before replicating from peer {}", id, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                connection.close();
+                replicas.values().forEach(StoreReplication::closeStore);
+            }
+        }
+
+        private void close() {
+            connection.close();
+        }
+
+        private void join() throws InterruptedException {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.exactpro.th2.fix.client.statistics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram over fixed time windows. Values are counted in log-linear buckets
+ * (8 sub-buckets per power of two, i.e. about 12% precision). Percentiles are read from the last
+ * complete window, or from the current one until the first window completes.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long windowNanos;
+    private volatile Window current;
+    private volatile Window previous;
+
+    public LatencyHistogram(long windowNanos) {
+        this.windowNanos = windowNanos;
+        this.current = new Window(System.nanoTime());
+    }
+
+    public void record(long nanos) {
+        Window window = rotate(System.nanoTime());
+        window.counts.incrementAndGet(index(Math.max(0, nanos)));
+    }
+
+    /**
+     * @param percentile value from 0 to 100
+     * @return upper bound of the bucket containing the percentile in nanoseconds or {@code 0} if there are no values
+     */
+    public long getPercentile(double percentile) {
+        rotate(System.nanoTime());
+        Window window = previous;
+        return (window != null ? window : current).percentile(percentile);
+    }
+
+    public long getCount() {
+        rotate(System.nanoTime());
+        Window window = previous;
+        return (window != null ? window : current).count();
+    }
+
+    private Window rotate(long now) {
+        Window window = current;
+        if (now - window.start >= windowNanos) {
+            synchronized (this) {
+                if (current == window) {
+                    // after an idle gap of a whole window the last complete window has no values
+                    previous = now - window.start - windowNanos >= windowNanos ? new Window(now - windowNanos) : window;
+                    current = new Window(now);
+                }
+            }
+            return current;
+        }
+        return window;
+    }
+
+    /**
+     * @return index of the bucket counting the non-negative {@code value}
+     */
+    public static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the largest value counted by the bucket with the {@code index}
+     */
+    public static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static class Window {
+        private final long start;
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+        private long count() {
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                count += counts.get(i);
+            }
+            return count;
+        }
+
+        private long percentile(double percentile) {
+            long total = count();
+            if (total == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                cumulative += counts.get(i);
+                if (cumulative >= target) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(BUCKETS - 1);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.exactpro.th2.fix.client.statistics;
+
+/**
+ * Bounded open-addressing table of send times keyed by a 64-bit hash. Entries are stored in parallel
+ * primitive arrays, so neither inserts nor lookups allocate. A key is searched within a fixed number
+ * of slots from its home slot, which bounds the cost of both operations. Expired and removed slots are reused,
+ * and when the whole probe window is live, the oldest entry of the window is evicted. Not thread-safe.
+ */
+public class RoundTripTable {
+
+    private static final int MAX_PROBES = 16;
+    private static final long EMPTY = 0;
+
+    private final long[] keys;
+    private final long[] times;
+    private final String[] msgTypes;
+    private final int mask;
+    private final long expiryNanos;
+
+    /**
+     * @param capacity    maximum number of entries, rounded up to a power of two
+     * @param expiryNanos time after which an entry is no longer matched and its slot can be reused
+     */
+    public RoundTripTable(int capacity, long expiryNanos) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be from 1 to 2^30 (value of capacity: " + capacity + ").");
+        }
+        int size = Math.max(MAX_PROBES, Integer.highestOneBit(capacity - 1) << 1);
+        this.keys = new long[size];
+        this.times = new long[size];
+        this.msgTypes = new String[size];
+        this.mask = size - 1;
+        this.expiryNanos = expiryNanos;
+    }
+
+    /**
+     * @param key non-zero key
+     * @return {@code true} if a live entry was evicted to make room
+     */
+    public boolean put(long key, String msgType, long time) {
+        int home = home(key);
+        int victim = home;
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int slot = (home + i) & mask;
+            if (keys[slot] == EMPTY || keys[slot] == key || time - times[slot] > expiryNanos) {
+                set(slot, key, msgType, time);
+                return false;
+            }
+            if (times[slot] - times[victim] < 0) {
+                victim = slot;
+            }
+        }
+        set(victim, key, msgType, time);
+        return true;
+    }
+
+    /**
+     * @return slot of the live entry with the key or {@code -1} if there is none
+     */
+    public int find(long key, long now) {
+        int home = home(key);
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int slot = (home + i) & mask;
+            if (keys[slot] == key && now - times[slot] <= expiryNanos) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    public long getTime(int slot) {
+        return times[slot];
+    }
+
+    public String getMsgType(int slot) {
+        return msgTypes[slot];
+    }
+
+    public void remove(int slot) {
+        keys[slot] = EMPTY;
+        msgTypes[slot] = null;
+    }
+
+    private int home(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    private void set(int slot, long key, String msgType, long time) {
+        keys[slot] = key;
+        times[slot] = time;
+        msgTypes[slot] = msgType;
+    }
+}
@@ -0,0 +1,97 @@
+package com.exactpro.th2.fix.client.statistics;
+
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the time from sending an order message to the first ExecutionReport or OrderCancelReject
+ * with the same ClOrdID (11). Send times are kept in a {@link RoundTripTable}, so tracking does not allocate
+ * for single character MsgTypes.
+ */
+public class RoundTripTracker {
+
+    private static final Histogram ROUND_TRIP = Histogram.build()
+            .name("th2_conn_qfj_round_trip_seconds")
+            .help("Time from sending an order message to the first ExecutionReport or OrderCancelReject with its ClOrdID")
+            .labelNames("session_alias", "msg_type")
+            .buckets(0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.5, 1, 5)
+            .register();
+
+    private static final Counter EVICTED = Counter.build()
+            .name("th2_conn_qfj_round_trip_evicted_total")
+            .help("Number of pending order messages evicted from the round trip table before they were answered")
+            .labelNames("session_alias")
+            .register();
+
+    private static final String CL_ORD_ID = "11";
+    private static final Set<String> REQUEST_TYPES = Set.of("D", "F", "G", "AB", "AC");
+    private static final Set<String> RESPONSE_TYPES = Set.of("8", "9");
+
+    private final String sessionAlias;
+    private final RoundTripTable table;
+    private final Counter.Child evicted;
+    private final Map<String, Histogram.Child> latencies = new ConcurrentHashMap<>();
+
+    public RoundTripTracker(String sessionAlias, int capacity, long expiryNanos) {
+        this.sessionAlias = sessionAlias;
+        this.table = new RoundTripTable(capacity, expiryNanos);
+        this.evicted = EVICTED.labels(sessionAlias);
+    }
+
+    public void record(Direction direction, String msgType, String message) {
+        if (msgType == null) {
+            return;
+        }
+        if (direction == Direction.SECOND) {
+            if (REQUEST_TYPES.contains(msgType)) {
+                onRequest(msgType, message);
+            }
+        } else if (RESPONSE_TYPES.contains(msgType)) {
+            onResponse(message);
+        }
+    }
+
+    private void onRequest(String msgType, String message) {
+        long key = MessageUtil.hashField(message, CL_ORD_ID);
+        if (key == 0) {
+            return;
+        }
+        boolean evictedEntry;
+        synchronized (table) {
+            evictedEntry = table.put(key, msgType, System.nanoTime());
+        }
+        if (evictedEntry) {
+            evicted.inc();
+        }
+    }
+
+    private void onResponse(String message) {
+        long key = MessageUtil.hashField(message, CL_ORD_ID);
+        if (key == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long sentAt;
+        String msgType;
+        synchronized (table) {
+            int slot = table.find(key, now);
+            if (slot < 0) {
+                return;
+            }
+            sentAt = table.getTime(slot);
+            msgType = table.getMsgType(slot);
+            table.remove(slot);
+        }
+        Histogram.Child latency = latencies.get(msgType);
+        if (latency == null) {
+            latency = latencies.computeIfAbsent(msgType, type -> ROUND_TRIP.labels(sessionAlias, type));
+        }
+        latency.observe((now - sentAt) / 1e9);
+    }
+}
@@ -0,0 +1,160 @@
+package com.exactpro.th2.fix.client.statistics;
+
+import com.exactpro.th2.common.grpc.Direction;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Message and byte counters of a session per direction and MsgType, logon state, time of the last heartbeats
+ * and send/publish latencies. Recording and reading never lock, only waiting for the logon does.
+ */
+public class SessionStatistics {
+
+    private static final long LATENCY_WINDOW = SECONDS.toNanos(60);
+    private static final String HEARTBEAT = "0";
+
+    private final String sessionAlias;
+    private final Map<String, Counters> incoming = new ConcurrentHashMap<>();
+    private final Map<String, Counters> outgoing = new ConcurrentHashMap<>();
+    private final LatencyHistogram sendLatency = new LatencyHistogram(LATENCY_WINDOW);
+    private final LatencyHistogram publishLatency = new LatencyHistogram(LATENCY_WINDOW);
+    private final Object logon = new Object();
+    private volatile boolean loggedOn = false;
+    private volatile long lastIncomingHeartbeat = 0;
+    private volatile long lastOutgoingHeartbeat = 0;
+    // written without synchronization, each direction of a session is handled by one thread at a time
+    private long incomingSamples = 0;
+    private long outgoingSamples = 0;
+
+    public SessionStatistics(String sessionAlias) {
+        this.sessionAlias = sessionAlias;
+    }
+
+    public void record(Direction direction, String msgType, int bytes) {
+        Map<String, Counters> counters = direction == Direction.FIRST ? incoming : outgoing;
+        String key = msgType == null ? "unknown" : msgType;
+        Counters typeCounters = counters.get(key);
+        if (typeCounters == null) {
+            typeCounters = counters.computeIfAbsent(key, k -> new Counters());
+        }
+        typeCounters.messages.increment();
+        typeCounters.bytes.add(bytes);
+        if (HEARTBEAT.equals(msgType)) {
+            if (direction == Direction.FIRST) {
+                lastIncomingHeartbeat = System.currentTimeMillis();
+            } else {
+                lastOutgoingHeartbeat = System.currentTimeMillis();
+            }
+        }
+    }
+
+    public long getMessages(Direction direction) {
+        long messages = 0;
+        for (Counters counters : getCounters(direction).values()) {
+            messages += counters.getMessages();
+        }
+        return messages;
+    }
+
+    public long getBytes(Direction direction) {
+        long bytes = 0;
+        for (Counters counters : getCounters(direction).values()) {
+            bytes += counters.getBytes();
+        }
+        return bytes;
+    }
+
+    public boolean isLoggedOn() {
+        return loggedOn;
+    }
+
+    public void setLoggedOn(boolean loggedOn) {
+        synchronized (logon) {
+            this.loggedOn = loggedOn;
+            if (loggedOn) {
+                logon.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until the session is logged on.
+     *
+     * @param deadline {@link System#nanoTime()} after which the waiting stops
+     * @return {@code true} if the session is logged on
+     */
+    public boolean awaitLoggedOn(long deadline) throws InterruptedException {
+        if (loggedOn) {
+            return true;
+        }
+        synchronized (logon) {
+            while (!loggedOn) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                NANOSECONDS.timedWait(logon, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return time in milliseconds of the last heartbeat in the direction or {@code 0} if there was none
+     */
+    public long getLastHeartbeat(Direction direction) {
+        return direction == Direction.FIRST ? lastIncomingHeartbeat : lastOutgoingHeartbeat;
+    }
+
+    /**
+     * Counts an application message for the log sampling. A lost update only shifts the next sample.
+     *
+     * @return {@code true} for every {@code rate}-th application message of the session in the direction
+     */
+    public boolean isSampled(Direction direction, int rate) {
+        if (direction == Direction.FIRST) {
+            return incomingSamples++ % rate == 0;
+        }
+        return outgoingSamples++ % rate == 0;
+    }
+
+    /**
+     * Time from queueing an outgoing message in its lane to the end of {@code Session.send}
+     */
+    public LatencyHistogram getSendLatency() {
+        return sendLatency;
+    }
+
+    /**
+     * Time from capturing a message to the end of its publication to MQ
+     */
+    public LatencyHistogram getPublishLatency() {
+        return publishLatency;
+    }
+
+    public String getSessionAlias() {
+        return sessionAlias;
+    }
+
+    public Map<String, Counters> getCounters(Direction direction) {
+        return direction == Direction.FIRST ? incoming : outgoing;
+    }
+
+    public static class Counters {
+        private final LongAdder messages = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        public long getMessages() {
+            return messages.sum();
+        }
+
+        public long getBytes() {
+            return bytes.sum();
+        }
+    }
+}
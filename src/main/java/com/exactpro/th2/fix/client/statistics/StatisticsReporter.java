@@ -0,0 +1,90 @@
+package com.exactpro.th2.fix.client.statistics;
+
+import com.exactpro.th2.common.event.Event;
+import com.exactpro.th2.common.event.EventUtils;
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.common.grpc.EventBatch;
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.common.schema.message.MessageRouterUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Periodically logs and stores as an event the number of messages and bytes per session, direction and MsgType
+ * captured since the previous summary.
+ */
+public class StatisticsReporter implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatisticsReporter.class);
+
+    private final Collection<SessionStatistics> statistics;
+    private final MessageRouter<EventBatch> eventRouter;
+    private final String rootEventId;
+    private final Map<String, long[]> reported = new HashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "statistics-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public StatisticsReporter(Collection<SessionStatistics> statistics, MessageRouter<EventBatch> eventRouter, String rootEventId, int interval) {
+        this.statistics = statistics;
+        this.eventRouter = eventRouter;
+        this.rootEventId = rootEventId;
+        executor.scheduleAtFixedRate(this::report, interval, interval, SECONDS);
+    }
+
+    private void report() {
+        try {
+            StringBuilder summary = new StringBuilder();
+            for (SessionStatistics sessionStatistics : statistics) {
+                append(summary, sessionStatistics, Direction.FIRST);
+                append(summary, sessionStatistics, Direction.SECOND);
+            }
+            if (summary.length() == 0) {
+                return;
+            }
+            LOGGER.info("Message statistics:{}", summary);
+            Event event = Event.start()
+                    .name("Message statistics")
+                    .type("Statistics")
+                    .bodyData(EventUtils.createMessageBean(summary.toString()));
+            MessageRouterUtils.storeEvent(eventRouter, event, rootEventId);
+        } catch (Exception e) {
+            LOGGER.error("Failed to report message statistics", e);
+        }
+    }
+
+    private void append(StringBuilder summary, SessionStatistics sessionStatistics, Direction direction) {
+        sessionStatistics.getCounters(direction).forEach((msgType, counters) -> {
+            long[] previous = reported.computeIfAbsent(sessionStatistics.getSessionAlias() + ':' + direction + ':' + msgType, key -> new long[2]);
+            long messages = counters.getMessages();
+            long bytes = counters.getBytes();
+            if (messages != previous[0]) {
+                summary.append(System.lineSeparator())
+                        .append(sessionStatistics.getSessionAlias()).append(' ')
+                        .append(direction == Direction.FIRST ? "in" : "out").append(' ')
+                        .append("35=").append(msgType).append(": ")
+                        .append(messages - previous[0]).append(" messages, ")
+                        .append(bytes - previous[1]).append(" bytes");
+                previous[0] = messages;
+                previous[1] = bytes;
+            }
+        });
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, SECONDS)) executor.shutdownNow();
+        report();
+    }
+}
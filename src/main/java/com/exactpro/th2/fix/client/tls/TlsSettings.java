@@ -0,0 +1,53 @@
+package com.exactpro.th2.fix.client.tls;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * TLS settings shared by all sessions with {@code SocketUseSSL=Y}. Unset values keep the defaults of the JDK.
+ */
+public class TlsSettings {
+
+    private String securityProvider = null;
+    private Integer sessionCacheSize = null;
+    private Integer sessionTimeout = null;
+
+    public String getSecurityProvider() {
+        return securityProvider;
+    }
+
+    public void setSecurityProvider(String securityProvider) {
+        this.securityProvider = securityProvider;
+    }
+
+    public Integer getSessionCacheSize() {
+        return sessionCacheSize;
+    }
+
+    public void setSessionCacheSize(Integer sessionCacheSize) {
+        if (sessionCacheSize != null && sessionCacheSize < 0) {
+            throw new IllegalArgumentException("Session cache size cannot be negative (value of session cache size: " + sessionCacheSize + ").");
+        }
+        this.sessionCacheSize = sessionCacheSize;
+    }
+
+    public Integer getSessionTimeout() {
+        return sessionTimeout;
+    }
+
+    public void setSessionTimeout(Integer sessionTimeout) {
+        if (sessionTimeout != null && sessionTimeout < 0) {
+            throw new IllegalArgumentException("Session timeout cannot be negative (value of session timeout: " + sessionTimeout + ").");
+        }
+        this.sessionTimeout = sessionTimeout;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("securityProvider", securityProvider)
+                .append("sessionCacheSize", sessionCacheSize)
+                .append("sessionTimeout", sessionTimeout)
+                .toString();
+    }
+}
@@ -0,0 +1,118 @@
+package com.exactpro.th2.fix.client.tls;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
+import org.apache.mina.core.session.IoSession;
+import org.apache.mina.filter.ssl.SslFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.Responder;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.mina.IoSessionResponder;
+import quickfix.mina.ssl.SSLContextFactory;
+import quickfix.mina.ssl.SSLSupport;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
+import java.security.GeneralSecurityException;
+import java.security.Provider;
+import java.security.Security;
+import java.util.Iterator;
+
+/**
+ * Tuning and metrics of the TLS connections of the sessions. QuickFIX/J keeps one {@link SSLContext} per distinct
+ * TLS configuration, so the client session cache of this context lets a reconnecting initiator resume its TLS session
+ * with an abbreviated handshake. JSSE looks up a cached session by the peer host and port, which QuickFIX/J passes
+ * to the TLS engine only with {@code SocketUseSNI=Y}.
+ */
+public class TlsSupport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TlsSupport.class);
+
+    private static final Histogram LOGON_TIME = Histogram.build()
+            .name("th2_conn_qfj_logon_seconds")
+            .help("Time from opening the connection of a session or from the end of its logon delay to its logon, including the TLS handshake")
+            .labelNames("session_alias", "tls")
+            .buckets(0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10)
+            .register();
+
+    private static final Counter HANDSHAKES = Counter.build()
+            .name("th2_conn_qfj_tls_handshakes_total")
+            .help("Number of TLS connections of a session by whether the TLS session was resumed from the cache")
+            .labelNames("session_alias", "resumed")
+            .register();
+
+    private TlsSupport() {
+    }
+
+    /**
+     * Makes the provider the most preferred one, so the TLS contexts of the sessions are created by it.
+     *
+     * @param className class of the provider with a public constructor without arguments
+     */
+    public static void installProvider(String className) {
+        Provider provider;
+        try {
+            provider = (Provider) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Failed to create security provider: " + className, e);
+        }
+        Security.insertProviderAt(provider, 1);
+        LOGGER.info("Installed security provider {} {}", provider.getName(), provider.getVersionStr());
+    }
+
+    /**
+     * Configures the client session cache of the TLS context of each session with {@code SocketUseSSL=Y}.
+     */
+    public static void configureSessionCache(SessionSettings sessionSettings, TlsSettings settings) throws ConfigError {
+        for (Iterator<SessionID> iterator = sessionSettings.sectionIterator(); iterator.hasNext(); ) {
+            SessionID sessionID = iterator.next();
+            try {
+                if (!sessionSettings.isSetting(sessionID, "SocketUseSSL") || !sessionSettings.getBool(sessionID, "SocketUseSSL")) {
+                    continue;
+                }
+                SSLContext context = SSLContextFactory.getInstance(SSLSupport.getSslConfig(sessionSettings, sessionID));
+                SSLSessionContext sessionContext = context.getClientSessionContext();
+                if (settings.getSessionCacheSize() != null) {
+                    sessionContext.setSessionCacheSize(settings.getSessionCacheSize());
+                }
+                if (settings.getSessionTimeout() != null) {
+                    sessionContext.setSessionTimeout(settings.getSessionTimeout());
+                }
+                LOGGER.info("TLS context of session {} from provider {}: session cache size {}, session timeout {} s", sessionID,
+                        context.getProvider().getName(), sessionContext.getSessionCacheSize(), sessionContext.getSessionTimeout());
+            } catch (FieldConvertError | GeneralSecurityException e) {
+                throw new ConfigError("Failed to configure TLS of session " + sessionID, e);
+            }
+        }
+    }
+
+    /**
+     * Records the logon time and whether the TLS session was resumed. Must be called on logon of the session.
+     *
+     * @param permittedAt time in milliseconds since the epoch when the logon was permitted, the time before it is not counted
+     */
+    public static void onLogon(String sessionAlias, SessionID sessionID, long permittedAt) {
+        Session session = Session.lookupSession(sessionID);
+        Responder responder = session == null ? null : session.getResponder();
+        if (!(responder instanceof IoSessionResponder)) {
+            return;
+        }
+        IoSession ioSession = ((IoSessionResponder) responder).getIoSession();
+        SSLSession sslSession = (SSLSession) ioSession.getAttribute(SslFilter.SSL_SESSION);
+        long logonTime = System.currentTimeMillis() - Math.max(ioSession.getCreationTime(), permittedAt);
+        LOGON_TIME.labels(sessionAlias, String.valueOf(sslSession != null)).observe(logonTime / 1000.0);
+        if (sslSession != null) {
+            // a resumed TLS session keeps the creation time of the full handshake which created it
+            boolean resumed = sslSession.getCreationTime() < ioSession.getCreationTime();
+            HANDSHAKES.labels(sessionAlias, String.valueOf(resumed)).inc();
+            LOGGER.info("Session {} logged on in {} ms over {} with {}, TLS session {}", sessionAlias, logonTime,
+                    sslSession.getProtocol(), sslSession.getCipherSuite(), resumed ? "resumed" : "created by a full handshake");
+        }
+    }
+}
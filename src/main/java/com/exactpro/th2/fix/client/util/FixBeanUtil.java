@@ -10,16 +10,24 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 public class FixBeanUtil {
 
     public static File createConfig(Settings settings) throws CreatingConfigFileException {
+        return createConfig(settings, settings.getSessionSettings());
+    }
+
+    /**
+     * Creates a config file with the default section of the settings and only the given sessions.
+     */
+    public static File createConfig(Settings settings, List<FixBean> sessions) throws CreatingConfigFileException {
 
         StringBuilder sb = new StringBuilder();
 
         sb.append(settings.toConfig("default"));
 
-        for (FixBean fixBean : settings.getSessionSettings()) {
+        for (FixBean fixBean : sessions) {
             sb.append(fixBean.toConfig("session"));
         }
 
@@ -0,0 +1,98 @@
+package com.exactpro.th2.fix.client.util;
+
+import com.exactpro.th2.common.grpc.ListValue;
+import com.exactpro.th2.common.grpc.Message;
+import com.exactpro.th2.common.grpc.MessageMetadata;
+import com.exactpro.th2.common.grpc.RawMessageMetadata;
+import com.exactpro.th2.common.grpc.Value;
+import quickfix.DataDictionary;
+import quickfix.DefaultMessageFactory;
+import quickfix.Field;
+import quickfix.FieldMap;
+import quickfix.Group;
+import quickfix.InvalidMessage;
+import quickfix.MessageFactory;
+import quickfix.MessageUtils;
+import quickfix.field.BeginString;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Converts raw FIX strings to th2 parsed messages using the dictionaries of a session.
+ * Instances are immutable and may be shared between threads.
+ */
+public class FixMessageConverter {
+
+    public static final String HEADER = "header";
+    public static final String TRAILER = "trailer";
+
+    private final DataDictionary sessionDictionary;
+    private final DataDictionary applicationDictionary;
+    private final MessageFactory messageFactory = new DefaultMessageFactory();
+
+    public FixMessageConverter(DataDictionary sessionDictionary, DataDictionary applicationDictionary) {
+        this.sessionDictionary = sessionDictionary;
+        this.applicationDictionary = applicationDictionary;
+    }
+
+    public DataDictionary getApplicationDictionary() {
+        return applicationDictionary;
+    }
+
+    public quickfix.Message parse(String rawMessage) throws InvalidMessage {
+        String beginString = MessageUtils.getStringField(rawMessage, BeginString.FIELD);
+        quickfix.Message message = messageFactory.create(beginString, MessageUtils.getMessageType(rawMessage));
+        message.fromString(rawMessage, sessionDictionary, applicationDictionary, false);
+        return message;
+    }
+
+    public Message toProto(String rawMessage, RawMessageMetadata rawMetadata) throws InvalidMessage {
+        String msgType = MessageUtils.getMessageType(rawMessage);
+        quickfix.Message message = parse(rawMessage);
+        DataDictionary dictionary = MessageUtils.isAdminMessage(msgType) ? sessionDictionary : applicationDictionary;
+
+        Message.Builder builder = Message.newBuilder();
+        MessageMetadata.Builder metadata = builder.getMetadataBuilder();
+        metadata.setId(rawMetadata.getId());
+        metadata.setTimestamp(rawMetadata.getTimestamp());
+        metadata.setMessageType(message.getClass() == quickfix.Message.class ? msgType : message.getClass().getSimpleName());
+
+        builder.putFields(HEADER, Value.newBuilder().setMessageValue(toProto(message.getHeader(), sessionDictionary)).build());
+        addFields(builder, message, dictionary);
+        builder.putFields(TRAILER, Value.newBuilder().setMessageValue(toProto(message.getTrailer(), sessionDictionary)).build());
+        return builder.build();
+    }
+
+    private Message.Builder toProto(FieldMap fieldMap, DataDictionary dictionary) {
+        Message.Builder builder = Message.newBuilder();
+        addFields(builder, fieldMap, dictionary);
+        return builder;
+    }
+
+    private void addFields(Message.Builder builder, FieldMap fieldMap, DataDictionary dictionary) {
+        Iterator<Field<?>> fields = fieldMap.iterator();
+        while (fields.hasNext()) {
+            Field<?> field = fields.next();
+            int tag = field.getTag();
+            if (fieldMap.hasGroup(tag)) {
+                ListValue.Builder groups = ListValue.newBuilder();
+                List<Group> groupList = fieldMap.getGroups(tag);
+                for (Group group : groupList) {
+                    groups.addValues(Value.newBuilder().setMessageValue(toProto(group, dictionary)));
+                }
+                builder.putFields(getFieldName(tag, dictionary), Value.newBuilder().setListValue(groups).build());
+            } else {
+                builder.putFields(getFieldName(tag, dictionary), Value.newBuilder().setSimpleValue(String.valueOf(field.getObject())).build());
+            }
+        }
+    }
+
+    private String getFieldName(int tag, DataDictionary dictionary) {
+        String name = dictionary.getFieldName(tag);
+        if (name == null && dictionary != sessionDictionary) {
+            name = sessionDictionary.getFieldName(tag);
+        }
+        return name == null ? String.valueOf(tag) : name;
+    }
+}
@@ -9,6 +9,7 @@ import com.exactpro.th2.common.grpc.MessageID;
 import com.exactpro.th2.common.grpc.RawMessage;
 import com.exactpro.th2.common.grpc.RawMessageMetadata;
 import com.exactpro.th2.common.message.MessageUtils;
+import com.exactpro.th2.fix.client.jfr.BatchBuildEvent;
 import com.google.protobuf.ByteString;
 
 import java.nio.charset.StandardCharsets;
@@ -16,7 +17,23 @@ import java.time.Instant;
 
 public class MessageUtil {
 
+    public static final char SOH = '\u0001';
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final String[] SINGLE_CHAR_MSG_TYPES = new String[128];
+
+    static {
+        for (char c = '0'; c < SINGLE_CHAR_MSG_TYPES.length; c++) {
+            SINGLE_CHAR_MSG_TYPES[c] = String.valueOf(c);
+        }
+    }
+
     public static MessageGroupBatch toBatch(byte[] byteArray, ConnectionID connectionID, Direction direction, long sequence) {
+        BatchBuildEvent event = new BatchBuildEvent();
+        event.begin();
+
         RawMessage.Builder rawMessage = RawMessage.newBuilder();
         rawMessage.setBody(ByteString.copyFrom(byteArray));
 
@@ -32,9 +49,26 @@ public class MessageUtil {
         MessageGroup.Builder messageGroup = MessageGroup.newBuilder().addMessages(anyMessage);
         MessageGroupBatch messageGroupBatch = MessageGroupBatch.newBuilder().addGroups(messageGroup).build();
 
+        if (event.shouldCommit()) {
+            event.sessionAlias = connectionID.getSessionAlias();
+            event.direction = direction.name();
+            event.size = byteArray.length;
+            event.commit();
+        }
         return messageGroupBatch;
     }
 
+    /**
+     * Wraps a raw message received outside of MQ into the form accepted by the send pipeline.
+     */
+    public static AnyMessage toOutgoingMessage(String sessionAlias, ByteString body) {
+        RawMessage.Builder rawMessage = RawMessage.newBuilder().setBody(body);
+        RawMessageMetadata.Builder metadata = rawMessage.getMetadataBuilder();
+        metadata.setTimestamp(MessageUtils.toTimestamp(Instant.now()));
+        metadata.getIdBuilder().getConnectionIdBuilder().setSessionAlias(sessionAlias);
+        return AnyMessage.newBuilder().setRawMessage(rawMessage).build();
+    }
+
     public static String rawToString(AnyMessage message) {
         return new String(message.getRawMessage().getBody().toByteArray(), StandardCharsets.UTF_8);
     }
@@ -42,4 +76,119 @@ public class MessageUtil {
     public static String getSessionAlias(AnyMessage message) {
         return message.getRawMessage().getMetadata().getId().getConnectionId().getSessionAlias();
     }
+
+    /**
+     * Extracts the MsgType (35) value from a raw FIX string without parsing the rest of the message.
+     * Single character message types are returned as shared constants, so the common case does not allocate.
+     *
+     * @return MsgType value or {@code null} if the message has no tag 35
+     */
+    public static String getMsgType(CharSequence message) {
+        int length = message.length();
+        for (int i = 0; i + 2 < length; i++) {
+            if (message.charAt(i) == '3' && message.charAt(i + 1) == '5' && message.charAt(i + 2) == '='
+                    && (i == 0 || message.charAt(i - 1) == SOH)) {
+                int start = i + 3;
+                int end = start;
+                while (end < length && message.charAt(end) != SOH) {
+                    end++;
+                }
+                if (end - start == 1) {
+                    char type = message.charAt(start);
+                    if (type < SINGLE_CHAR_MSG_TYPES.length && SINGLE_CHAR_MSG_TYPES[type] != null) {
+                        return SINGLE_CHAR_MSG_TYPES[type];
+                    }
+                }
+                return message.subSequence(start, end).toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Hashes the value of the first occurrence of a tag in a raw FIX string with 64-bit FNV-1a without allocating.
+     *
+     * @return non-zero hash of the value or {@code 0} if the message has no such tag
+     */
+    public static long hashField(CharSequence message, String tag) {
+        int start = indexOfValue(message, tag);
+        if (start < 0) {
+            return 0;
+        }
+        long hash = FNV_OFFSET;
+        for (int i = start; i < message.length() && message.charAt(i) != SOH; i++) {
+            hash ^= message.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Hashes a field value the same way as {@link #hashField(CharSequence, String)}.
+     */
+    public static long hashValue(CharSequence value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Parses the non-negative integer value of the first occurrence of a tag in a raw FIX string without allocating.
+     *
+     * @return value or {@code -1} if the message has no such tag or its value is not a non-negative integer
+     */
+    public static int getIntField(CharSequence message, String tag) {
+        int start = indexOfValue(message, tag);
+        if (start < 0) {
+            return -1;
+        }
+        int value = 0;
+        int i = start;
+        for (; i < message.length() && message.charAt(i) != SOH; i++) {
+            char c = message.charAt(i);
+            if (c < '0' || c > '9' || value > (Integer.MAX_VALUE - (c - '0')) / 10) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return i == start ? -1 : value;
+    }
+
+    /**
+     * @return value of the first occurrence of a tag in a raw FIX string or {@code null} if the message has no such tag
+     */
+    public static String getField(CharSequence message, String tag) {
+        int start = indexOfValue(message, tag);
+        if (start < 0) {
+            return null;
+        }
+        int end = start;
+        while (end < message.length() && message.charAt(end) != SOH) {
+            end++;
+        }
+        return message.subSequence(start, end).toString();
+    }
+
+    private static int indexOfValue(CharSequence message, String tag) {
+        int length = message.length();
+        int tagLength = tag.length();
+        for (int i = 0; i + tagLength < length; i++) {
+            if ((i == 0 || message.charAt(i - 1) == SOH) && message.charAt(i + tagLength) == '=' && startsWith(message, i, tag)) {
+                return i + tagLength + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(CharSequence message, int offset, String prefix) {
+        for (int i = 0; i < prefix.length(); i++) {
+            if (message.charAt(offset + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
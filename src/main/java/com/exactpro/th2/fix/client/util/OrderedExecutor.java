@@ -0,0 +1,74 @@
+package com.exactpro.th2.fix.client.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Runs tasks on a shared pool in parallel while passing their results to consumers in submission order per key.
+ * When the pool queue is full or the executor is closed the task is rejected, and its error handler receives
+ * the {@link RejectedExecutionException} in its turn, so the following results of the key are not held back.
+ */
+public class OrderedExecutor<K> implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderedExecutor.class);
+
+    private final ExecutorService pool;
+    private final ConcurrentHashMap<K, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    public OrderedExecutor(String name, int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        pool = new ThreadPoolExecutor(threads, threads, 0, MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public <T> void submit(K key, Supplier<T> task, Consumer<T> consumer, Consumer<Throwable> errorHandler) {
+        // the swap fixes the order, the task is started outside of the map
+        CompletableFuture<Void> tail = new CompletableFuture<>();
+        CompletableFuture<Void> previous = tails.put(key, tail);
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(task, pool);
+        } catch (RejectedExecutionException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        (previous == null ? CompletableFuture.<Void>completedFuture(null) : previous)
+                .thenCombine(result, (ignored, value) -> value)
+                .thenAccept(consumer)
+                .exceptionally(e -> {
+                    errorHandler.accept(e.getCause() == null ? e : e.getCause());
+                    return null;
+                })
+                .whenComplete((ignored, e) -> {
+                    tails.remove(key, tail);
+                    tail.complete(null);
+                });
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        pool.shutdown();
+        if (!pool.awaitTermination(5, SECONDS)) {
+            LOGGER.warn("Tasks were not completed in time, forcing shutdown");
+            pool.shutdownNow();
+        }
+    }
+}
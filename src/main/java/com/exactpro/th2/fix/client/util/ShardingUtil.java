@@ -0,0 +1,53 @@
+package com.exactpro.th2.fix.client.util;
+
+import com.exactpro.th2.fix.client.fixBean.FixBean;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns sessions to connector replicas with jump consistent hash (Lamping, Veach) of the session alias.
+ * When the number of replicas grows from N to N + 1 only about 1 / (N + 1) of the sessions move, and all of them move to the new replica.
+ */
+public class ShardingUtil {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public static List<FixBean> filterSessions(List<FixBean> sessions, int replicaIndex, int replicaCount) {
+        return sessions.stream()
+                .filter(session -> getReplica(session.getSessionAlias(), replicaCount) == replicaIndex)
+                .collect(Collectors.toList());
+    }
+
+    public static int getReplica(String sessionAlias, int replicaCount) {
+        return jumpConsistentHash(hash(sessionAlias), replicaCount);
+    }
+
+    static int jumpConsistentHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        // murmur3 finalizer spreads FNV output over all bits used by the jump hash
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,111 @@
+package com.exactpro.th2.fix.client.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pins threads to CPUs on Linux with {@code taskset}. The native thread id is taken from {@code /proc/thread-self}.
+ * A thread is pinned at most once per CPU, so repeated calls on a hot path cost only a thread local lookup.
+ */
+public class ThreadAffinity {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadAffinity.class);
+
+    private static final Path THREAD_SELF = Path.of("/proc/thread-self");
+    private static final ThreadLocal<Integer> PINNED_CPU = new ThreadLocal<>();
+    private static final Executor EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "thread-affinity");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ThreadAffinity() {
+    }
+
+    /**
+     * Pins the current thread and waits for {@code taskset} to finish.
+     *
+     * @return {@code true} if the thread is pinned
+     */
+    public static boolean pinCurrentThread(int cpu) {
+        if (isPinned(cpu)) {
+            return true;
+        }
+        String tid = getThreadId(cpu);
+        if (tid == null) {
+            return false;
+        }
+        boolean pinned = pin(Thread.currentThread().getName(), tid, cpu);
+        if (pinned) {
+            PINNED_CPU.set(cpu);
+        }
+        return pinned;
+    }
+
+    /**
+     * Pins the current thread without waiting: {@code taskset} is started from a background thread,
+     * so it can be called from threads which must not block, e.g. a session dispatcher.
+     */
+    public static void pinCurrentThreadAsync(int cpu) {
+        if (isPinned(cpu)) {
+            return;
+        }
+        // a failed attempt is not repeated on every call
+        PINNED_CPU.set(cpu);
+        String tid = getThreadId(cpu);
+        if (tid != null) {
+            String thread = Thread.currentThread().getName();
+            EXECUTOR.execute(() -> pin(thread, tid, cpu));
+        }
+    }
+
+    private static boolean isPinned(int cpu) {
+        Integer pinned = PINNED_CPU.get();
+        return pinned != null && pinned == cpu;
+    }
+
+    /**
+     * @return native id of the current thread or {@code null} if it is not available
+     */
+    private static String getThreadId(int cpu) {
+        String thread = Thread.currentThread().getName();
+        if (!Files.isSymbolicLink(THREAD_SELF)) {
+            LOGGER.warn("Thread {} is not pinned to CPU {}: thread affinity is supported only on Linux", thread, cpu);
+            return null;
+        }
+        try {
+            return Files.readSymbolicLink(THREAD_SELF).getFileName().toString();
+        } catch (IOException e) {
+            LOGGER.warn("Thread {} is not pinned to CPU {}", thread, cpu, e);
+            return null;
+        }
+    }
+
+    private static boolean pin(String thread, String tid, int cpu) {
+        try {
+            Process process = new ProcessBuilder("taskset", "-p", "-c", String.valueOf(cpu), tid)
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(process.getInputStream().readAllBytes()).trim();
+            if (!process.waitFor(5, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                LOGGER.warn("Thread {} is not pinned to CPU {}: {}", thread, cpu, output);
+                return false;
+            }
+            LOGGER.info("Thread {} (tid {}) is pinned to CPU {}", thread, tid, cpu);
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Thread {} is not pinned to CPU {}", thread, cpu, e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
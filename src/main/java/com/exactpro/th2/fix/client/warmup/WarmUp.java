@@ -0,0 +1,261 @@
+package com.exactpro.th2.fix.client.warmup;
+
+import com.exactpro.th2.common.event.Event;
+import com.exactpro.th2.common.event.EventUtils;
+import com.exactpro.th2.common.grpc.ConnectionID;
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.common.grpc.EventBatch;
+import com.exactpro.th2.common.grpc.MessageGroupBatch;
+import com.exactpro.th2.common.grpc.RawMessageMetadata;
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.common.schema.message.MessageRouterUtils;
+import com.exactpro.th2.fix.client.fixBean.FixBean;
+import com.exactpro.th2.fix.client.util.FixMessageConverter;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import quickfix.DataDictionary;
+import quickfix.FieldType;
+import quickfix.Message;
+import quickfix.field.BeginString;
+import quickfix.field.MsgSeqNum;
+import quickfix.field.MsgType;
+import quickfix.field.SenderCompID;
+import quickfix.field.SendingTime;
+import quickfix.field.TargetCompID;
+
+import java.io.OutputStream;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Drives messages generated from the session dictionaries through the same parse, validate, encode and publish code
+ * as live traffic, so they are compiled before the sessions log on. Batches are written to a no-op sink.
+ * The warm-up stops when the JIT compiler has been idle for several rounds or the time budget is exhausted.
+ */
+public class WarmUp {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmUp.class);
+
+    private static final int ROUND_SIZE = 1000;
+    private static final int SETTLED_ROUNDS = 5;
+    private static final long SETTLED_COMPILATION_MILLIS = 1;
+    private static final String ENUM_CANDIDATES = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    private final WarmUpSettings settings;
+    private final boolean parsedOutput;
+    private final MessageRouter<EventBatch> eventRouter;
+    private final String rootEventId;
+    private final List<Sample> samples = new ArrayList<>();
+    private final OutputStream sink = OutputStream.nullOutputStream();
+    private long sequence;
+
+    public WarmUp(WarmUpSettings settings, boolean parsedOutput, MessageRouter<EventBatch> eventRouter, String rootEventId) {
+        this.settings = settings;
+        this.parsedOutput = parsedOutput;
+        this.eventRouter = eventRouter;
+        this.rootEventId = rootEventId;
+    }
+
+    public void addSession(FixBean sessionSetting, FixMessageConverter converter) {
+        DataDictionary dictionary = converter.getApplicationDictionary();
+        ConnectionID connectionID = ConnectionID.newBuilder().setSessionAlias(sessionSetting.getSessionAlias()).build();
+        for (String msgType : settings.getMsgTypes()) {
+            if (!dictionary.isMsgType(msgType)) {
+                continue;
+            }
+            String rawMessage = generate(sessionSetting, dictionary, msgType);
+            boolean valid = true;
+            try {
+                dictionary.validate(converter.parse(rawMessage), true);
+            } catch (Exception e) {
+                LOGGER.debug("Warm-up message {} of session {} is not valid, its validation is skipped: {}",
+                        msgType, sessionSetting.getSessionAlias(), rawMessage, e);
+                valid = false;
+            }
+            samples.add(new Sample(connectionID, converter, rawMessage, valid));
+        }
+    }
+
+    public void run() {
+        if (samples.isEmpty()) {
+            LOGGER.warn("Warm-up is skipped because no messages are generated for message types {}", settings.getMsgTypes());
+            return;
+        }
+
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        boolean monitored = compilation != null && compilation.isCompilationTimeMonitoringSupported();
+        long compilationStart = monitored ? compilation.getTotalCompilationTime() : 0;
+        long lastCompilation = compilationStart;
+
+        long start = System.nanoTime();
+        long deadline = start + SECONDS.toNanos(settings.getDuration());
+        long firstRound = 0;
+        long lastRound = 0;
+        long lastRoundTime = Long.MAX_VALUE;
+        int rounds = 0;
+        int idleRounds = 0;
+        long failures = 0;
+        while (idleRounds < SETTLED_ROUNDS && System.nanoTime() < deadline) {
+            long roundStart = System.nanoTime();
+            for (int i = 0; i < ROUND_SIZE; i++) {
+                if (!process(samples.get(i % samples.size()))) {
+                    failures++;
+                }
+            }
+            lastRound = System.nanoTime() - roundStart;
+            if (rounds++ == 0) {
+                firstRound = lastRound;
+            }
+
+            if (monitored) {
+                long total = compilation.getTotalCompilationTime();
+                idleRounds = total - lastCompilation <= SETTLED_COMPILATION_MILLIS ? idleRounds + 1 : 0;
+                lastCompilation = total;
+            } else {
+                idleRounds = Math.abs(lastRound - lastRoundTime) * 20 < lastRoundTime ? idleRounds + 1 : 0;
+                lastRoundTime = lastRound;
+            }
+        }
+
+        report(rounds, System.nanoTime() - start, firstRound, lastRound, idleRounds >= SETTLED_ROUNDS,
+                monitored ? lastCompilation - compilationStart : -1, failures);
+    }
+
+    private boolean process(Sample sample) {
+        try {
+            Message message = sample.converter.parse(sample.rawMessage);
+            if (sample.valid) {
+                sample.converter.getApplicationDictionary().validate(message, true);
+            }
+            String encoded = message.toString();
+            Direction direction = (sequence & 1) == 0 ? Direction.FIRST : Direction.SECOND;
+            MessageGroupBatch batch = MessageUtil.toBatch(encoded.getBytes(), sample.connectionID, direction, ++sequence);
+            batch.writeTo(sink);
+            if (parsedOutput) {
+                RawMessageMetadata metadata = batch.getGroups(0).getMessages(0).getRawMessage().getMetadata();
+                sample.converter.toProto(encoded, metadata).writeTo(sink);
+            }
+            return true;
+        } catch (Exception e) {
+            LOGGER.trace("Failed to process warm-up message {}", sample.rawMessage, e);
+            return false;
+        }
+    }
+
+    private void report(int rounds, long duration, long firstRound, long lastRound, boolean settled, long compilationMillis, long failures) {
+        String summary = String.format("Warm-up with %d sample messages processed %d messages in %.3f s and %s. "
+                        + "Time per message: %d ns in the first round, %d ns in the last round (%.1fx faster). "
+                        + "JIT compilation time: %s. Failed messages: %d",
+                samples.size(), (long) rounds * ROUND_SIZE, duration / 1e9,
+                settled ? "settled" : "exhausted its time budget of " + settings.getDuration() + " s",
+                firstRound / ROUND_SIZE, lastRound / ROUND_SIZE, lastRound > 0 ? (double) firstRound / lastRound : 0,
+                compilationMillis < 0 ? "not monitored" : compilationMillis + " ms", failures);
+        LOGGER.info(summary);
+        Event event = Event.start()
+                .name("Warm-up finished")
+                .type("Warm-up")
+                .status(failures == 0 ? Event.Status.PASSED : Event.Status.FAILED)
+                .bodyData(EventUtils.createMessageBean(summary));
+        MessageRouterUtils.storeEvent(eventRouter, event, rootEventId);
+    }
+
+    private static String generate(FixBean sessionSetting, DataDictionary dictionary, String msgType) {
+        Message message = new Message();
+        Message.Header header = message.getHeader();
+        header.setString(BeginString.FIELD, sessionSetting.getBeginString());
+        header.setString(MsgType.FIELD, msgType);
+        header.setString(SenderCompID.FIELD, sessionSetting.getSenderCompID());
+        header.setString(TargetCompID.FIELD, sessionSetting.getTargetCompID());
+        header.setInt(MsgSeqNum.FIELD, 1);
+        header.setUtcTimeStamp(SendingTime.FIELD, LocalDateTime.now(ZoneOffset.UTC));
+        for (int tag : dictionary.getOrderedFields()) {
+            if (!dictionary.isRequiredField(msgType, tag) || dictionary.isGroup(msgType, tag)
+                    || dictionary.isHeaderField(tag) || dictionary.isTrailerField(tag)) {
+                continue;
+            }
+            String value = sampleValue(dictionary, tag);
+            if (value != null) {
+                message.setString(tag, value);
+            }
+        }
+        return message.toString();
+    }
+
+    private static String sampleValue(DataDictionary dictionary, int tag) {
+        if (dictionary.hasFieldValue(tag)) {
+            for (int i = 0; i < ENUM_CANDIDATES.length(); i++) {
+                String value = String.valueOf(ENUM_CANDIDATES.charAt(i));
+                if (dictionary.isFieldValue(tag, value)) {
+                    return value;
+                }
+            }
+            return null;
+        }
+        FieldType type = dictionary.getFieldType(tag);
+        switch (type == null ? "STRING" : type.name()) {
+            case "INT":
+            case "LENGTH":
+            case "SEQNUM":
+            case "NUMINGROUP":
+            case "DAYOFMONTH":
+            case "TAGNUM":
+                return "1";
+            case "PRICE":
+            case "AMT":
+            case "QTY":
+            case "FLOAT":
+            case "PRICEOFFSET":
+            case "PERCENTAGE":
+                return "1.5";
+            case "BOOLEAN":
+                return "Y";
+            case "CHAR":
+                return "A";
+            case "UTCTIMESTAMP":
+            case "TZTIMESTAMP":
+                return "20200101-00:00:00.000";
+            case "UTCDATEONLY":
+            case "UTCDATE":
+            case "LOCALMKTDATE":
+                return "20200101";
+            case "UTCTIMEONLY":
+            case "TIME":
+            case "TZTIMEONLY":
+                return "00:00:00";
+            case "MONTHYEAR":
+                return "202001";
+            case "CURRENCY":
+                return "USD";
+            case "COUNTRY":
+                return "US";
+            case "EXCHANGE":
+                return "XNYS";
+            case "LANGUAGE":
+                return "en";
+            default:
+                return "WARMUP";
+        }
+    }
+
+    private static class Sample {
+
+        private final ConnectionID connectionID;
+        private final FixMessageConverter converter;
+        private final String rawMessage;
+        private final boolean valid;
+
+        private Sample(ConnectionID connectionID, FixMessageConverter converter, String rawMessage, boolean valid) {
+            this.connectionID = connectionID;
+            this.converter = converter;
+            this.rawMessage = rawMessage;
+            this.valid = valid;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.exactpro.th2.fix.client.warmup;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.List;
+import java.util.Objects;
+
+public class WarmUpSettings {
+
+    private int duration = 30;
+    private List<String> msgTypes = List.of("D", "F", "G", "8", "9");
+
+    /**
+     * @return time budget of the warm-up in seconds
+     */
+    public int getDuration() {
+        return duration;
+    }
+
+    public void setDuration(int duration) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Duration must be positive (value of duration: " + duration + ").");
+        }
+        this.duration = duration;
+    }
+
+    /**
+     * @return types of the messages generated from the session dictionaries
+     */
+    public List<String> getMsgTypes() {
+        return msgTypes;
+    }
+
+    public void setMsgTypes(List<String> msgTypes) {
+        Objects.requireNonNull(msgTypes, "Message types must not be null");
+        if (msgTypes.isEmpty()) {
+            throw new IllegalArgumentException("Message types must not be empty.");
+        }
+        this.msgTypes = msgTypes;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("duration", duration)
+                .append("msgTypes", msgTypes)
+                .toString();
+    }
+}
@@ -0,0 +1,92 @@
+import com.exactpro.th2.common.grpc.Message;
+import com.exactpro.th2.common.grpc.MessageID;
+import com.exactpro.th2.common.grpc.RawMessageMetadata;
+import com.exactpro.th2.common.grpc.Value;
+import com.exactpro.th2.fix.client.util.FixMessageConverter;
+import org.junit.Assert;
+import org.junit.Test;
+import quickfix.DataDictionary;
+import quickfix.field.AllocAccount;
+import quickfix.field.AllocShares;
+import quickfix.field.ClOrdID;
+import quickfix.field.HandlInst;
+import quickfix.field.MsgSeqNum;
+import quickfix.field.OrdType;
+import quickfix.field.SenderCompID;
+import quickfix.field.SendingTime;
+import quickfix.field.Side;
+import quickfix.field.Symbol;
+import quickfix.field.TargetCompID;
+import quickfix.field.TestReqID;
+import quickfix.field.TransactTime;
+import quickfix.fix42.Heartbeat;
+import quickfix.fix42.NewOrderSingle;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class FixMessageConverterTest {
+
+    private static final RawMessageMetadata METADATA = RawMessageMetadata.newBuilder()
+            .setId(MessageID.newBuilder().setSequence(5))
+            .build();
+
+    private final FixMessageConverter converter;
+
+    public FixMessageConverterTest() throws Exception {
+        DataDictionary dictionary = new DataDictionary("FIX42.xml");
+        converter = new FixMessageConverter(dictionary, dictionary);
+    }
+
+    @Test
+    public void testApplicationMessage() throws Exception {
+        NewOrderSingle order = new NewOrderSingle(new ClOrdID("order-1"), new HandlInst('1'), new Symbol("ABC"), new Side('1'),
+                new TransactTime(LocalDateTime.now()), new OrdType('1'));
+        setHeader(order);
+        for (String account : List.of("account-1", "account-2")) {
+            NewOrderSingle.NoAllocs allocation = new NewOrderSingle.NoAllocs();
+            allocation.set(new AllocAccount(account));
+            allocation.set(new AllocShares(10));
+            order.addGroup(allocation);
+        }
+        order.setString(5001, "custom");
+
+        Message message = converter.toProto(order.toString(), METADATA);
+
+        Assert.assertEquals("NewOrderSingle", message.getMetadata().getMessageType());
+        Assert.assertEquals(5, message.getMetadata().getId().getSequence());
+        Assert.assertEquals("client", getMessage(message, FixMessageConverter.HEADER).getFieldsMap().get("SenderCompID").getSimpleValue());
+        Assert.assertTrue(getMessage(message, FixMessageConverter.TRAILER).containsFields("CheckSum"));
+        Assert.assertEquals("order-1", message.getFieldsMap().get("ClOrdID").getSimpleValue());
+        Assert.assertEquals("1", message.getFieldsMap().get("Side").getSimpleValue());
+        Assert.assertEquals("custom", message.getFieldsMap().get("5001").getSimpleValue());
+        Assert.assertFalse("Header fields must not be in the body", message.containsFields("SenderCompID"));
+
+        List<Value> allocations = message.getFieldsMap().get("NoAllocs").getListValue().getValuesList();
+        Assert.assertEquals(2, allocations.size());
+        Assert.assertEquals("account-2", allocations.get(1).getMessageValue().getFieldsMap().get("AllocAccount").getSimpleValue());
+    }
+
+    @Test
+    public void testAdminMessage() throws Exception {
+        Heartbeat heartbeat = new Heartbeat();
+        heartbeat.set(new TestReqID("test"));
+        setHeader(heartbeat);
+
+        Message message = converter.toProto(heartbeat.toString(), METADATA);
+
+        Assert.assertEquals("Heartbeat", message.getMetadata().getMessageType());
+        Assert.assertEquals("test", message.getFieldsMap().get("TestReqID").getSimpleValue());
+    }
+
+    private static void setHeader(quickfix.Message message) {
+        message.getHeader().setField(new SenderCompID("client"));
+        message.getHeader().setField(new TargetCompID("server"));
+        message.getHeader().setField(new MsgSeqNum(1));
+        message.getHeader().setField(new SendingTime(LocalDateTime.now()));
+    }
+
+    private static Message getMessage(Message message, String field) {
+        return message.getFieldsMap().get(field).getMessageValue();
+    }
+}
@@ -0,0 +1,85 @@
+import com.exactpro.th2.fix.client.statistics.LatencyHistogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketEdges() {
+        for (long value = 0; value < 16; value++) {
+            Assert.assertEquals(value, LatencyHistogram.index(value));
+            Assert.assertEquals(value, LatencyHistogram.upperBound((int) value));
+        }
+
+        // from 16 on a power of two is split into 8 buckets of equal width
+        Assert.assertEquals(16, LatencyHistogram.index(16));
+        Assert.assertEquals(16, LatencyHistogram.index(17));
+        Assert.assertEquals(17, LatencyHistogram.index(18));
+        Assert.assertEquals(17, LatencyHistogram.upperBound(16));
+        Assert.assertEquals(31, LatencyHistogram.upperBound(LatencyHistogram.index(31)));
+        Assert.assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.index(Long.MAX_VALUE)));
+
+        for (int bit = 4; bit < 63; bit++) {
+            for (long value : new long[]{(1L << bit) - 1, 1L << bit, (1L << bit) + 1}) {
+                int index = LatencyHistogram.index(value);
+                Assert.assertTrue("Value " + value + " is above its bucket", value <= LatencyHistogram.upperBound(index));
+                Assert.assertTrue("Value " + value + " fits into the previous bucket", value > LatencyHistogram.upperBound(index - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testPercentileSelection() {
+        LatencyHistogram histogram = new LatencyHistogram(Long.MAX_VALUE);
+        Assert.assertEquals(0, histogram.getPercentile(99));
+
+        for (int i = 0; i < 90; i++) {
+            histogram.record(1);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(5);
+        }
+        histogram.record(1000);
+
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(1, histogram.getPercentile(0));
+        Assert.assertEquals(1, histogram.getPercentile(50));
+        Assert.assertEquals(1, histogram.getPercentile(90));
+        Assert.assertEquals(5, histogram.getPercentile(91));
+        Assert.assertEquals(5, histogram.getPercentile(99));
+        Assert.assertEquals(LatencyHistogram.upperBound(LatencyHistogram.index(1000)), histogram.getPercentile(100));
+    }
+
+    @Test
+    public void testWindowRotation() throws InterruptedException {
+        long window = MILLISECONDS.toNanos(200);
+        LatencyHistogram histogram = new LatencyHistogram(window);
+
+        // the current window is read until the first one completes
+        histogram.record(3);
+        Assert.assertEquals(3, histogram.getPercentile(50));
+
+        MILLISECONDS.sleep(250);
+        histogram.record(7);
+        histogram.record(7);
+        Assert.assertEquals("The last complete window must be read", 1, histogram.getCount());
+        Assert.assertEquals(3, histogram.getPercentile(50));
+
+        MILLISECONDS.sleep(250);
+        Assert.assertEquals(2, histogram.getCount());
+        Assert.assertEquals(7, histogram.getPercentile(50));
+    }
+
+    @Test
+    public void testIdleGap() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram(MILLISECONDS.toNanos(100));
+        histogram.record(3);
+
+        // the window of the value and the following one complete without reads or values
+        MILLISECONDS.sleep(250);
+        Assert.assertEquals("Values older than the last complete window must not be read", 0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getPercentile(99));
+    }
+}
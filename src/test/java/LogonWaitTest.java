@@ -0,0 +1,124 @@
+import com.exactpro.th2.common.grpc.AnyMessage;
+import com.exactpro.th2.fix.client.outbound.OutboundMessage;
+import com.exactpro.th2.fix.client.outbound.PriorityLanes;
+import com.exactpro.th2.fix.client.outbound.SendFailureHandler;
+import com.exactpro.th2.fix.client.outbound.SendListener;
+import com.exactpro.th2.fix.client.outbound.SessionSender;
+import com.exactpro.th2.fix.client.statistics.SessionStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+import quickfix.SessionID;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class LogonWaitTest {
+
+    private static final String SESSION_ALIAS = "logon";
+    private static final SessionID SESSION_ID = new SessionID("FIX.4.2", "client", "server");
+
+    private final SessionStatistics statistics = new SessionStatistics(SESSION_ALIAS);
+
+    @Test
+    public void testAwaitLoggedOnTimeout() throws InterruptedException {
+        long start = System.nanoTime();
+        Assert.assertFalse(statistics.awaitLoggedOn(start + MILLISECONDS.toNanos(100)));
+        Assert.assertTrue("Waiting must last until the deadline", System.nanoTime() - start >= MILLISECONDS.toNanos(100));
+        Assert.assertFalse("Passed deadline must not wait", statistics.awaitLoggedOn(start));
+    }
+
+    @Test
+    public void testAwaitLoggedOn() throws Exception {
+        Thread logon = new Thread(() -> {
+            try {
+                MILLISECONDS.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            statistics.setLoggedOn(true);
+        });
+        logon.start();
+
+        long start = System.nanoTime();
+        Assert.assertTrue(statistics.awaitLoggedOn(start + SECONDS.toNanos(5)));
+        Assert.assertTrue("Logon must end the waiting", System.nanoTime() - start < SECONDS.toNanos(5));
+        logon.join();
+
+        statistics.setLoggedOn(false);
+        statistics.setLoggedOn(true);
+        Assert.assertTrue(statistics.awaitLoggedOn(System.nanoTime()));
+    }
+
+    /**
+     * The session is not created, so messages fail as soon as they pass the logon wait,
+     * which tells apart the messages held until the logon from the ones which timed out.
+     */
+    @Test
+    public void testHoldUntilLogon() throws Exception {
+        List<String> results = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        SendListener listener = new SendListener() {
+            @Override
+            public void onSent(OutboundMessage message) {
+                throw new AssertionError("Session is not created, nothing can be sent");
+            }
+
+            @Override
+            public void onFailed(OutboundMessage message, String reason) {
+                results.add(message.getRawMessage() + ": " + reason);
+                done.countDown();
+            }
+        };
+
+        try (SendFailureHandler failureHandler = new SendFailureHandler(new TestEventRouter(), "root", 60, 3);
+             SessionSender sender = new SessionSender(SESSION_ALIAS, SESSION_ID, new PriorityLanes(List.of()), 10,
+                     failureHandler, statistics, SECONDS.toNanos(5), null)) {
+            for (String text : Arrays.asList("first", "second", "third")) {
+                OutboundMessage message = new OutboundMessage(AnyMessage.getDefaultInstance(), SESSION_ALIAS, text, "D", listener);
+                sender.enqueue(message, sender.tryAcquire(message.getMsgType()));
+            }
+
+            Assert.assertFalse("Messages must be held until the logon", done.await(200, MILLISECONDS));
+            Assert.assertTrue(results.isEmpty());
+
+            statistics.setLoggedOn(true);
+            Assert.assertTrue(done.await(5, SECONDS));
+        }
+
+        String reason = ": java.lang.IllegalStateException: Session is not created: " + SESSION_ID;
+        Assert.assertEquals(Arrays.asList("first" + reason, "second" + reason, "third" + reason), results);
+    }
+
+    @Test
+    public void testLogonTimeout() throws Exception {
+        List<String> reasons = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        SendListener listener = new SendListener() {
+            @Override
+            public void onSent(OutboundMessage message) {
+                throw new AssertionError("Session is not logged on, nothing can be sent");
+            }
+
+            @Override
+            public void onFailed(OutboundMessage message, String reason) {
+                reasons.add(reason);
+                done.countDown();
+            }
+        };
+
+        try (SendFailureHandler failureHandler = new SendFailureHandler(new TestEventRouter(), "root", 60, 3);
+             SessionSender sender = new SessionSender(SESSION_ALIAS, SESSION_ID, new PriorityLanes(List.of()), 10,
+                     failureHandler, statistics, MILLISECONDS.toNanos(100), null)) {
+            OutboundMessage message = new OutboundMessage(AnyMessage.getDefaultInstance(), SESSION_ALIAS, "late", "D", listener);
+            sender.enqueue(message, sender.tryAcquire(message.getMsgType()));
+            Assert.assertTrue(done.await(5, SECONDS));
+        }
+
+        Assert.assertEquals(List.of("Session " + SESSION_ALIAS + " is not logged on within 100 ms"), reasons);
+    }
+}
@@ -7,19 +7,14 @@ import com.exactpro.th2.common.grpc.MessageID;
 import com.exactpro.th2.common.grpc.RawMessage;
 import com.exactpro.th2.common.grpc.RawMessageMetadata;
 import com.exactpro.th2.common.schema.grpc.router.GrpcRouter;
-import com.exactpro.th2.common.schema.message.MessageListener;
 import com.exactpro.th2.common.schema.message.MessageRouter;
-import com.exactpro.th2.common.schema.message.MessageRouterContext;
-import com.exactpro.th2.common.schema.message.SubscriberMonitor;
-import com.exactpro.th2.common.schema.message.configuration.MessageRouterConfiguration;
-import com.exactpro.th2.common.schema.message.impl.rabbitmq.connection.ConnectionManager;
 import com.exactpro.th2.fix.client.Main;
 import com.exactpro.th2.fix.client.exceptions.CreatingConfigFileException;
 import com.exactpro.th2.fix.client.fixBean.FixBean;
+import com.exactpro.th2.fix.client.simulator.CounterpartySimulator;
+import com.exactpro.th2.fix.client.simulator.SimulatorSettings;
 import com.exactpro.th2.fix.client.util.MessageUtil;
 import com.google.protobuf.ByteString;
-import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -71,222 +66,119 @@ public class MainTest extends Main {
         fixBeans.add(fixBean1);
         settings.setSessionSettings(fixBeans);
 
-        MyMessageRouter messageRouter = new MyMessageRouter();
+        SimulatorSettings simulatorSettings = new SimulatorSettings();
+        simulatorSettings.setSessionSettings(fixBeans);
+        // only acknowledgements, so each order gets exactly one response
+        simulatorSettings.setFillRatio(0);
+        CounterpartySimulator simulator = new CounterpartySimulator(simulatorSettings);
+        simulator.start();
+        try {
+            TestMessageRouter messageRouter = new TestMessageRouter();
+
+            MessageRouter<EventBatch> eventRouter = new TestEventRouter();
+            GrpcRouter grpcRouter = Mockito.mock(GrpcRouter.class);
+            ConcurrentLinkedDeque<Main.Resources> resources = new ConcurrentLinkedDeque<>();
+
+            Thread thread = new Thread(() -> {
+                try {
+                    Main.run(settings, messageRouter, eventRouter, grpcRouter, resources);
+                } catch (ConfigError | CreatingConfigFileException | IncorrectDataFormat configError) {
+                    configError.printStackTrace();
+                }
+            });
+            thread.start();
+
+            Message fixMessage = new Message();
+            Message.Header header = fixMessage.getHeader();
+            header.setField(new BeginString("FIX.4.2"));
+            header.setField(new MsgType("D"));
+            header.setField(new SenderCompID("client"));
+            header.setField(new TargetCompID("server"));
+            header.setField(new SenderSubID("sendSubId"));
+            header.setField(new TargetSubID("tarSubId"));
+
+            quickfix.fix42.NewOrderSingle fixMessage2 = new quickfix.fix42.NewOrderSingle(
+                    new ClOrdID("ClOrdID"),
+                    new HandlInst('3'),
+                    new Symbol("Symbol"),
+                    new Side('1'),
+                    new TransactTime(LocalDateTime.now()),
+                    new OrdType('1'));
+            fixMessage2.setField(new SenderCompID("client2"));
+            fixMessage2.setField(new TargetCompID("server"));
+
+            MessageGroupBatch messageGroupBatch = MessageGroupBatch.newBuilder()
+                    .addGroups(MessageGroup.newBuilder()
+                            .addMessages(AnyMessage.newBuilder()
+                                    .setRawMessage(RawMessage.newBuilder()
+                                            .setBody(ByteString
+                                                    .copyFrom(fixMessage
+                                                            .toString()
+                                                            .getBytes()))
+                                            .setMetadata(RawMessageMetadata
+                                                    .newBuilder()
+                                                    .setId(MessageID
+                                                            .newBuilder()
+                                                            .setConnectionId(ConnectionID
+                                                                    .newBuilder()
+                                                                    .setSessionAlias("client1")
+                                                                    .build())
+                                                            .build())
+                                                    .build())
+                                            .build())
+                                    .build())
+                            .build())
+                    .build();
+
+            MessageGroupBatch messageGroupBatch2 = MessageGroupBatch.newBuilder()
+                    .addGroups(MessageGroup.newBuilder()
+                            .addMessages(AnyMessage.newBuilder()
+                                    .setRawMessage(RawMessage.newBuilder()
+                                            .setBody(ByteString
+                                                    .copyFrom(fixMessage2
+                                                            .toString()
+                                                            .getBytes()))
+                                            .setMetadata(RawMessageMetadata
+                                                    .newBuilder()
+                                                    .setId(MessageID
+                                                            .newBuilder()
+                                                            .setConnectionId(ConnectionID
+                                                                    .newBuilder()
+                                                                    .setSessionAlias("client2")
+                                                                    .build())
+                                                            .build())
+                                                    .build())
+                                            .build())
+                                    .build())
+                            .build())
+                    .build();
+
+            Thread.sleep(10000);
+
+            messageRouter.sendToSubscriber("client1", messageGroupBatch);
+            messageRouter.sendToSubscriber("client2", messageGroupBatch2);
+
+            Thread.sleep(10000);
+
+            String testString;
+            int countOfOrders = 0;
+            int countOfResponses = 0;
+
+            for (MessageGroupBatch message : messageRouter.messages) {
+                testString = MessageUtil.rawToString(message.getGroupsList().get(0).getMessagesList().get(0));
+                if (testString.contains("\00135=D")) {
+                    countOfOrders++;
+                }
+                if (testString.contains("\00135=8")) {
+                    countOfResponses++;
+                }
 
-        MessageRouter<EventBatch> eventRouter = new MyEventRouter();
-        GrpcRouter grpcRouter = Mockito.mock(GrpcRouter.class);
-        ConcurrentLinkedDeque<Main.Resources> resources = new ConcurrentLinkedDeque<>();
-
-        Thread thread = new Thread(() -> {
-            try {
-                Main.run(settings, messageRouter, eventRouter, grpcRouter, resources);
-            } catch (ConfigError | CreatingConfigFileException | IncorrectDataFormat configError) {
-                configError.printStackTrace();
-            }
-        });
-        thread.start();
-
-        Message fixMessage = new Message();
-        Message.Header header = fixMessage.getHeader();
-        header.setField(new BeginString("FIX.4.2"));
-        header.setField(new MsgType("D"));
-        header.setField(new SenderCompID("client"));
-        header.setField(new TargetCompID("server"));
-        header.setField(new SenderSubID("sendSubId"));
-        header.setField(new TargetSubID("tarSubId"));
-
-        quickfix.fix42.NewOrderSingle fixMessage2 = new quickfix.fix42.NewOrderSingle(
-                new ClOrdID("ClOrdID"),
-                new HandlInst('3'),
-                new Symbol("Symbol"),
-                new Side('1'),
-                new TransactTime(LocalDateTime.now()),
-                new OrdType('1'));
-        fixMessage2.setField(new SenderCompID("client2"));
-        fixMessage2.setField(new TargetCompID("server"));
-
-        MessageGroupBatch messageGroupBatch = MessageGroupBatch.newBuilder()
-                .addGroups(MessageGroup.newBuilder()
-                        .addMessages(AnyMessage.newBuilder()
-                                .setRawMessage(RawMessage.newBuilder()
-                                        .setBody(ByteString
-                                                .copyFrom(fixMessage
-                                                        .toString()
-                                                        .getBytes()))
-                                        .setMetadata(RawMessageMetadata
-                                                .newBuilder()
-                                                .setId(MessageID
-                                                        .newBuilder()
-                                                        .setConnectionId(ConnectionID
-                                                                .newBuilder()
-                                                                .setSessionAlias("client1")
-                                                                .build())
-                                                        .build())
-                                                .build())
-                                        .build())
-                                .build())
-                        .build())
-                .build();
-
-        MessageGroupBatch messageGroupBatch2 = MessageGroupBatch.newBuilder()
-                .addGroups(MessageGroup.newBuilder()
-                        .addMessages(AnyMessage.newBuilder()
-                                .setRawMessage(RawMessage.newBuilder()
-                                        .setBody(ByteString
-                                                .copyFrom(fixMessage2
-                                                        .toString()
-                                                        .getBytes()))
-                                        .setMetadata(RawMessageMetadata
-                                                .newBuilder()
-                                                .setId(MessageID
-                                                        .newBuilder()
-                                                        .setConnectionId(ConnectionID
-                                                                .newBuilder()
-                                                                .setSessionAlias("client2")
-                                                                .build())
-                                                        .build())
-                                                .build())
-                                        .build())
-                                .build())
-                        .build())
-                .build();
-
-        Thread.sleep(10000);
-
-        messageRouter.sendToSubscriber("client1", messageGroupBatch);
-        messageRouter.sendToSubscriber("client2", messageGroupBatch2);
-
-        Thread.sleep(10000);
-
-        String testString;
-        int countOfOrders = 0;
-        int countOfResponses = 0;
-
-        for (MessageGroupBatch message : messageRouter.messages) {
-            testString = MessageUtil.rawToString(message.getGroupsList().get(0).getMessagesList().get(0));
-            if (testString.contains("\00135=D")) {
-                countOfOrders++;
-            }
-            if (testString.contains("\00135=8")) {
-                countOfResponses++;
             }
 
-        }
-        System.out.println(countOfOrders);
-        Assert.assertEquals(countOfOrders, countOfResponses);
-    }
-
-    public static class MyMessageRouter implements MessageRouter<MessageGroupBatch> {
-
-        List<MessageListener> listeners = new ArrayList<>();
-        List<MessageGroupBatch> messages = new ArrayList<>();
-
-        public void sendToSubscriber(String tag, MessageGroupBatch message) throws Exception {
-            listeners.get(0).handler(tag, message);
-        }
-
-        @Override
-        public void init(@NotNull ConnectionManager connectionManager, @NotNull MessageRouterConfiguration configuration) {
-
-        }
-
-        @Override
-        public void init(@NotNull MessageRouterContext context) {
-
-        }
-
-        @Override
-        public void send(MessageGroupBatch message) {
-
-            messages.add(message);
-        }
-
-        @Override
-        public void send(MessageGroupBatch message, String... queueAttr) {
-            messages.add(message);
-        }
-
-        @Override
-        public void sendAll(MessageGroupBatch message, String... queueAttr) {
-            messages.add(message);
-        }
-
-        @Override
-        public @Nullable SubscriberMonitor subscribe(MessageListener callback, String... queueAttr) {
-
-            listeners.add(callback);
-
-            return () -> {
-            };
-        }
-
-        @Override
-        public @Nullable SubscriberMonitor subscribeAll(MessageListener callback) {
-            listeners.add(callback);
-
-            return () -> {
-            };
-        }
-
-        @Override
-        public @Nullable SubscriberMonitor subscribeAll(MessageListener callback, String... queueAttr) {
-            listeners.add(callback);
-
-            return () -> {
-            };
-        }
-
-        @Override
-        public void close() {
-
-        }
-
-    }
-
-    public static class MyEventRouter implements MessageRouter<EventBatch> {
-        @Override
-        public void init(@NotNull ConnectionManager connectionManager, @NotNull MessageRouterConfiguration configuration) {
-
-        }
-
-        @Override
-        public void init(@NotNull MessageRouterContext context) {
-
-        }
-
-        @Override
-        public @Nullable SubscriberMonitor subscribe(MessageListener<EventBatch> callback, String... queueAttr) {
-            return null;
-        }
-
-        @Override
-        public @Nullable SubscriberMonitor subscribeAll(MessageListener<EventBatch> callback) {
-            return null;
-        }
-
-        @Override
-        public @Nullable SubscriberMonitor subscribeAll(MessageListener<EventBatch> callback, String... queueAttr) {
-            return null;
-        }
-
-        @Override
-        public void send(EventBatch message) {
-
-        }
-
-        @Override
-        public void send(EventBatch message, String... queueAttr) {
-
-        }
-
-        @Override
-        public void sendAll(EventBatch message, String... queueAttr) {
-
-        }
-
-        @Override
-        public void close() {
-
+            System.out.println(countOfOrders);
+            Assert.assertEquals(countOfOrders, countOfResponses);
+        } finally {
+            simulator.close();
         }
     }
 }
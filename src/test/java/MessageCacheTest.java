@@ -0,0 +1,56 @@
+import com.exactpro.th2.fix.client.inbound.MessageCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class MessageCacheTest {
+
+    @Test
+    public void lookupTest() {
+        MessageCache cache = new MessageCache(100, 10000, false);
+        for (int i = 1; i <= 10; i++) {
+            cache.add("message" + i, i, i % 2 + 1, i);
+        }
+        MessageCache.Entry entry = cache.findBySeqNum(5);
+        Assert.assertEquals("message5", new String(entry.getMessage(), StandardCharsets.ISO_8859_1));
+        Assert.assertEquals(5, entry.getTimestamp());
+        Assert.assertNull(cache.findBySeqNum(11));
+
+        List<MessageCache.Entry> entries = cache.findByClOrdId(1, 3);
+        Assert.assertEquals(3, entries.size());
+        Assert.assertEquals(10, entries.get(0).getSeqNum());
+        Assert.assertEquals(8, entries.get(1).getSeqNum());
+        Assert.assertEquals(6, entries.get(2).getSeqNum());
+    }
+
+    @Test
+    public void messageLimitTest() {
+        MessageCache cache = new MessageCache(5, 10000, false);
+        for (int i = 1; i <= 20; i++) {
+            cache.add("message" + i, i, 0, i);
+        }
+        Assert.assertEquals(5, cache.size());
+        Assert.assertNull(cache.findBySeqNum(15));
+        Assert.assertNotNull(cache.findBySeqNum(16));
+    }
+
+    @Test
+    public void byteLimitTest() {
+        MessageCache cache = new MessageCache(1000, 95, true);
+        for (int i = 10; i < 100; i++) {
+            cache.add("message" + i, i, 0, i);
+            for (int seqNum = i; seqNum > i - 10 && seqNum >= 10; seqNum--) {
+                MessageCache.Entry entry = cache.findBySeqNum(seqNum);
+                if (entry != null) {
+                    Assert.assertEquals("message" + seqNum, new String(entry.getMessage(), StandardCharsets.ISO_8859_1));
+                }
+            }
+            Assert.assertNotNull(cache.findBySeqNum(i));
+            Assert.assertTrue(cache.size() <= 95 / 9);
+        }
+        cache.add("x".repeat(96), 1000, 0, 0);
+        Assert.assertNull(cache.findBySeqNum(1000));
+    }
+}
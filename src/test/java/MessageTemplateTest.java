@@ -0,0 +1,159 @@
+import com.exactpro.th2.common.grpc.AnyMessage;
+import com.exactpro.th2.fix.client.outbound.MessagePreparer;
+import com.exactpro.th2.fix.client.outbound.MessageSender;
+import com.exactpro.th2.fix.client.outbound.MessageTemplate;
+import com.exactpro.th2.fix.client.outbound.MessageTemplates;
+import com.exactpro.th2.fix.client.outbound.OutboundMessage;
+import com.exactpro.th2.fix.client.outbound.PriorityLanes;
+import com.exactpro.th2.fix.client.outbound.SendFailureHandler;
+import com.exactpro.th2.fix.client.outbound.SendListener;
+import com.exactpro.th2.fix.client.outbound.TemplateSettings;
+import com.exactpro.th2.fix.client.statistics.SessionStatistics;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import com.google.protobuf.ByteString;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import quickfix.ApplicationAdapter;
+import quickfix.CompositeLogFactory;
+import quickfix.DefaultSessionFactory;
+import quickfix.LogFactory;
+import quickfix.MemoryStoreFactory;
+import quickfix.Message;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.field.ClOrdID;
+import quickfix.field.HandlInst;
+import quickfix.field.MsgSeqNum;
+import quickfix.field.OrdType;
+import quickfix.field.OrderQty;
+import quickfix.field.Price;
+import quickfix.field.SenderCompID;
+import quickfix.field.SenderSubID;
+import quickfix.field.SendingTime;
+import quickfix.field.Side;
+import quickfix.field.Symbol;
+import quickfix.field.TargetCompID;
+import quickfix.field.TransactTime;
+import quickfix.fix42.NewOrderSingle;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class MessageTemplateTest {
+
+    private static final String SESSION_ALIAS = "template";
+    private static final SessionID SESSION_ID = new SessionID("FIX.4.2", "client", "server");
+    private static final String TEMPLATE_ID = "order";
+
+    private Session session;
+
+    @Before
+    public void createSession() throws Exception {
+        SessionSettings settings = new SessionSettings();
+        settings.setString(SESSION_ID, "ConnectionType", "acceptor");
+        settings.setString(SESSION_ID, "NonStopSession", "Y");
+        settings.setString(SESSION_ID, "UseDataDictionary", "N");
+        session = new DefaultSessionFactory(new ApplicationAdapter(), new MemoryStoreFactory(), new CompositeLogFactory(new LogFactory[0]))
+                .create(SESSION_ID, settings);
+    }
+
+    @After
+    public void closeSession() throws Exception {
+        session.close();
+    }
+
+    @Test
+    public void testFillAndRelease() throws Exception {
+        MessageTemplate template = new MessageTemplate(TEMPLATE_ID, createTemplate(), 4);
+        MessagePreparer preparer = new MessagePreparer(false);
+        Assert.assertEquals("D", template.getMsgType());
+
+        Map<String, String> values = Map.of(MessageTemplate.TEMPLATE_PROPERTY, TEMPLATE_ID, "11", "ord-1", "44", "10.5", "50", "trader");
+        Message message = preparer.prepare(SESSION_ID, template, values);
+        Assert.assertEquals("ord-1", message.getString(ClOrdID.FIELD));
+        Assert.assertEquals("10.5", message.getString(Price.FIELD));
+        Assert.assertEquals("trader", message.getHeader().getString(SenderSubID.FIELD));
+        Assert.assertFalse("Header field must not be set in the body", message.isSetField(SenderSubID.FIELD));
+        Assert.assertEquals("100", message.getString(OrderQty.FIELD));
+
+        template.release(message, values);
+        Message reused = preparer.prepare(SESSION_ID, template, Map.of("11", "ord-2"));
+        Assert.assertSame("Released message must be reused", message, reused);
+        Assert.assertEquals("ord-2", reused.getString(ClOrdID.FIELD));
+        Assert.assertEquals("1", reused.getString(Price.FIELD));
+        Assert.assertFalse("Field added by the previous values must be removed", reused.getHeader().isSetField(SenderSubID.FIELD));
+    }
+
+    /**
+     * The session is never logged on, so both messages fail in the sender thread after the logon timeout.
+     * The copy of the template used by the first message must return to the pool restored.
+     */
+    @Test
+    public void testReuseAfterLogonTimeout() throws Exception {
+        TemplateSettings settings = new TemplateSettings();
+        settings.setId(TEMPLATE_ID);
+        settings.setMessage(createTemplate());
+        List<Message> failed = new CopyOnWriteArrayList<>();
+        List<String> failedMessages = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        SendListener listener = new SendListener() {
+            @Override
+            public void onSent(OutboundMessage message) {
+                throw new AssertionError("Session is not logged on, nothing can be sent");
+            }
+
+            @Override
+            public void onFailed(OutboundMessage message, String reason) {
+                failed.add(message.getFixMessage());
+                failedMessages.add(message.getFixMessage().toString());
+                done.countDown();
+            }
+        };
+
+        try (SendFailureHandler failureHandler = new SendFailureHandler(new TestEventRouter(), "root", 60, 3);
+             MessageSender sender = new MessageSender(Map.of(SESSION_ALIAS, SESSION_ID), Map.of(SESSION_ALIAS, new SessionStatistics(SESSION_ALIAS)),
+                     new PriorityLanes(List.of()), 10, 1, false, failureHandler,
+                     new MessageTemplates(List.of(settings), Set.of(SESSION_ALIAS), 4), MILLISECONDS.toNanos(1), Map.of())) {
+            sender.send(createMessage(Map.of("11", "ord-1", "44", "10.5")), listener);
+            sender.send(createMessage(Map.of("11", "ord-2")), listener);
+            Assert.assertTrue(done.await(5, SECONDS));
+        }
+
+        Assert.assertSame("Message of the failed send must be reused", failed.get(0), failed.get(1));
+        Assert.assertTrue(failedMessages.get(0).contains("\u000111=ord-1\u0001"));
+        Assert.assertTrue(failedMessages.get(0).contains("\u000144=10.5\u0001"));
+        Assert.assertTrue(failedMessages.get(1).contains("\u000111=ord-2\u0001"));
+        Assert.assertTrue("Price must be restored from the template", failedMessages.get(1).contains("\u000144=1\u0001"));
+    }
+
+    private static AnyMessage createMessage(Map<String, String> values) {
+        Map<String, String> properties = new HashMap<>(values);
+        properties.put(MessageTemplate.TEMPLATE_PROPERTY, TEMPLATE_ID);
+        AnyMessage.Builder message = MessageUtil.toOutgoingMessage(SESSION_ALIAS, ByteString.EMPTY).toBuilder();
+        message.getRawMessageBuilder().getMetadataBuilder().putAllProperties(properties);
+        return message.build();
+    }
+
+    private static String createTemplate() {
+        NewOrderSingle order = new NewOrderSingle(new ClOrdID("template"), new HandlInst('1'), new Symbol("ABC"), new Side('1'),
+                new TransactTime(LocalDateTime.now()), new OrdType('2'));
+        order.set(new OrderQty(100));
+        order.set(new Price(1));
+        order.getHeader().setField(new SenderCompID("client"));
+        order.getHeader().setField(new TargetCompID("server"));
+        order.getHeader().setField(new MsgSeqNum(1));
+        order.getHeader().setField(new SendingTime(LocalDateTime.now()));
+        return order.toString();
+    }
+}
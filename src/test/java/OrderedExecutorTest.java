@@ -0,0 +1,122 @@
+import com.exactpro.th2.fix.client.util.OrderedExecutor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class OrderedExecutorTest {
+
+    private static final int TASKS = 2000;
+
+    /**
+     * Tasks take random time, so they complete out of order on the pool.
+     */
+    @Test
+    public void testOrderPerKey() throws Exception {
+        List<String> keys = List.of("a", "b", "c");
+        Map<String, List<Integer>> results = new ConcurrentHashMap<>();
+        keys.forEach(key -> results.put(key, Collections.synchronizedList(new ArrayList<>())));
+        CountDownLatch done = new CountDownLatch(TASKS * keys.size());
+
+        try (OrderedExecutor<String> executor = new OrderedExecutor<>("test", 4, TASKS * keys.size())) {
+            List<Thread> producers = new ArrayList<>();
+            for (String key : keys) {
+                Thread producer = new Thread(() -> {
+                    for (int i = 0; i < TASKS; i++) {
+                        int value = i;
+                        executor.submit(key, () -> {
+                            sleep(ThreadLocalRandom.current().nextInt(50));
+                            return value;
+                        }, result -> {
+                            results.get(key).add(result);
+                            done.countDown();
+                        }, e -> Assert.fail(e.toString()));
+                    }
+                });
+                producer.start();
+                producers.add(producer);
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            Assert.assertTrue(done.await(30, SECONDS));
+        }
+
+        List<Integer> expected = IntStream.range(0, TASKS).boxed().collect(Collectors.toList());
+        keys.forEach(key -> Assert.assertEquals("Results of key " + key, expected, results.get(key)));
+    }
+
+    @Test
+    public void testFailedTaskKeepsOrder() throws Exception {
+        List<Object> results = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+        try (OrderedExecutor<String> executor = new OrderedExecutor<>("test", 2, 10)) {
+            executor.submit("a", () -> {
+                sleep(20_000);
+                return 1;
+            }, results::add, results::add);
+            executor.submit("a", () -> {
+                throw new IllegalStateException("failed");
+            }, results::add, results::add);
+            executor.submit("a", () -> 3, result -> {
+                results.add(result);
+                done.countDown();
+            }, results::add);
+            Assert.assertTrue(done.await(5, SECONDS));
+        }
+
+        Assert.assertEquals(3, results.size());
+        Assert.assertEquals(1, results.get(0));
+        Assert.assertTrue(results.get(1) instanceof IllegalStateException);
+        Assert.assertEquals(3, results.get(2));
+    }
+
+    /**
+     * The third task does not fit the queue and the fourth one is submitted after closing,
+     * both are reported in their turn and the tail of the key completes.
+     */
+    @Test
+    public void testRejectedTaskKeepsOrder() throws Exception {
+        List<Object> results = Collections.synchronizedList(new ArrayList<>());
+        OrderedExecutor<String> executor = new OrderedExecutor<>("test", 1, 1);
+        executor.submit("a", () -> {
+            sleep(200_000);
+            return 1;
+        }, results::add, results::add);
+        executor.submit("a", () -> 2, results::add, results::add);
+        executor.submit("a", () -> 3, results::add, results::add);
+        executor.close();
+        CountDownLatch done = new CountDownLatch(1);
+        executor.submit("a", () -> 4, results::add, e -> {
+            results.add(e);
+            done.countDown();
+        });
+        Assert.assertTrue(done.await(5, SECONDS));
+
+        Assert.assertEquals(4, results.size());
+        Assert.assertEquals(1, results.get(0));
+        Assert.assertEquals(2, results.get(1));
+        Assert.assertTrue(results.get(2) instanceof RejectedExecutionException);
+        Assert.assertTrue(results.get(3) instanceof RejectedExecutionException);
+    }
+
+    private static void sleep(long micros) {
+        try {
+            MICROSECONDS.sleep(micros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+import com.exactpro.th2.common.grpc.AnyMessage;
+import com.exactpro.th2.fix.client.outbound.LaneSettings;
+import com.exactpro.th2.fix.client.outbound.OutboundMessage;
+import com.exactpro.th2.fix.client.outbound.PriorityLanes;
+import com.exactpro.th2.fix.client.outbound.SendFailureHandler;
+import com.exactpro.th2.fix.client.outbound.SendListener;
+import com.exactpro.th2.fix.client.outbound.SessionSender;
+import com.exactpro.th2.fix.client.statistics.SessionStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+import quickfix.SessionID;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class PriorityLanesTest {
+
+    private static final String SESSION_ALIAS = "lanes";
+
+    private final PriorityLanes lanes = new PriorityLanes(Arrays.asList(
+            new LaneSettings("urgent", Arrays.asList("F", "q")),
+            new LaneSettings("orders", Collections.singletonList("D"))));
+
+    @Test
+    public void testLaneOf() {
+        Assert.assertEquals(Arrays.asList("urgent", "orders", PriorityLanes.BULK_LANE), lanes.getNames());
+        Assert.assertEquals(0, lanes.laneOf("F"));
+        Assert.assertEquals(0, lanes.laneOf("q"));
+        Assert.assertEquals(1, lanes.laneOf("D"));
+        Assert.assertEquals(2, lanes.laneOf("8"));
+        Assert.assertEquals(2, lanes.laneOf(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMsgTypeInTwoLanes() {
+        new PriorityLanes(Arrays.asList(new LaneSettings("a", Collections.singletonList("F")), new LaneSettings("b", Collections.singletonList("F"))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExplicitBulkLane() {
+        new PriorityLanes(Collections.singletonList(new LaneSettings(PriorityLanes.BULK_LANE, Collections.singletonList("F"))));
+    }
+
+    /**
+     * The session is not created, so every message fails in the sender thread and the listener sees the order
+     * in which the lanes are drained. The listener holds the first message until the lanes are filled.
+     */
+    @Test
+    public void testPriorityCapacityAndFairness() throws Exception {
+        CountDownLatch firstTaken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(4);
+        List<String> order = new CopyOnWriteArrayList<>();
+        SendListener listener = new SendListener() {
+            @Override
+            public void onSent(OutboundMessage message) {
+                throw new AssertionError("Session is not created, nothing can be sent");
+            }
+
+            @Override
+            public void onFailed(OutboundMessage message, String reason) {
+                order.add(message.getRawMessage());
+                firstTaken.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            }
+        };
+
+        try (SendFailureHandler failureHandler = new SendFailureHandler(new TestEventRouter(), "root", 60, 3);
+             SessionSender sender = new SessionSender(SESSION_ALIAS, new SessionID("FIX.4.2", "client", "server"), lanes, 2,
+                     failureHandler, new SessionStatistics(SESSION_ALIAS), 0, null)) {
+            enqueue(sender, createMessage("bulk-0", "8", listener));
+            Assert.assertTrue(firstTaken.await(5, SECONDS));
+
+            // the message being sent keeps its place until it is sent
+            enqueue(sender, createMessage("bulk-1", "8", listener));
+            Assert.assertEquals("Taking a place in a full lane must fail without waiting", -1, sender.tryAcquire("8"));
+
+            // a full bulk lane does not hold back the other lanes
+            enqueue(sender, createMessage("cancel", "F", listener));
+            enqueue(sender, createMessage("order", "D", listener));
+
+            release.countDown();
+            Assert.assertTrue(done.await(5, SECONDS));
+            Assert.assertEquals(Arrays.asList("bulk-0", "cancel", "order", "bulk-1"), order);
+        }
+    }
+
+    private static void enqueue(SessionSender sender, OutboundMessage message) {
+        sender.enqueue(message, sender.tryAcquire(message.getMsgType()));
+    }
+
+    private static OutboundMessage createMessage(String text, String msgType, SendListener listener) {
+        return new OutboundMessage(AnyMessage.getDefaultInstance(), SESSION_ALIAS, text, msgType, listener);
+    }
+}
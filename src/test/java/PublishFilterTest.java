@@ -0,0 +1,77 @@
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.fix.client.inbound.PublishFilter;
+import com.exactpro.th2.fix.client.inbound.PublishFilterSettings;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class PublishFilterTest {
+
+    private static final String HEARTBEAT = "8=FIX.4.2\u00019=55\u000135=0\u000134=2\u000149=client\u000152=20210101-00:00:00\u000156=server\u000110=000\u0001";
+    private static final String ORDER = "8=FIX.4.2\u00019=60\u000135=D\u000134=3\u000149=client\u000152=20210101-00:00:00\u000156=server\u000111=1\u000110=000\u0001";
+
+    @Test
+    public void msgTypeTest() {
+        Assert.assertEquals("0", MessageUtil.getMsgType(HEARTBEAT));
+        Assert.assertEquals("D", MessageUtil.getMsgType(ORDER));
+        Assert.assertEquals("AE", MessageUtil.getMsgType("8=FIXT.1.1\u00019=5\u000135=AE\u0001"));
+        Assert.assertEquals("X", MessageUtil.getMsgType("35=X\u0001"));
+        Assert.assertNull(MessageUtil.getMsgType("8=FIX.4.2\u00019=5\u0001135=D\u0001"));
+    }
+
+    @Test
+    public void publishTest() {
+        PublishFilter filter = new PublishFilter(new PublishFilterSettings());
+        Assert.assertArrayEquals(new String[]{"first"}, filter.getAttributes(HEARTBEAT, Direction.FIRST));
+        Assert.assertArrayEquals(new String[]{"second"}, filter.getAttributes(ORDER, Direction.SECOND));
+    }
+
+    @Test
+    public void parsedOutputTest() {
+        PublishFilter withoutParsed = new PublishFilter(new PublishFilterSettings(), false);
+        Assert.assertArrayEquals(new String[]{"first"}, withoutParsed.getTarget(ORDER, Direction.FIRST).getRawAttributes());
+        Assert.assertNull(withoutParsed.getTarget(ORDER, Direction.FIRST).getParsedAttributes());
+
+        PublishFilter withParsed = new PublishFilter(new PublishFilterSettings(), true);
+        Assert.assertArrayEquals(new String[]{"second", "raw"}, withParsed.getTarget(ORDER, Direction.SECOND).getRawAttributes());
+        Assert.assertArrayEquals(new String[]{"second", "parsed"}, withParsed.getTarget(ORDER, Direction.SECOND).getParsedAttributes());
+    }
+
+    @Test
+    public void dropTest() {
+        PublishFilter filter = new PublishFilter(settings(PublishFilterSettings.Mode.DROP));
+        Assert.assertNull(filter.getAttributes(HEARTBEAT, Direction.FIRST));
+        Assert.assertArrayEquals(new String[]{"first"}, filter.getAttributes(ORDER, Direction.FIRST));
+    }
+
+    @Test
+    public void sampleTest() {
+        PublishFilterSettings settings = settings(PublishFilterSettings.Mode.SAMPLE);
+        settings.setSampleRate(3);
+        PublishFilter filter = new PublishFilter(settings);
+        int published = 0;
+        for (int i = 0; i < 9; i++) {
+            if (filter.getAttributes(HEARTBEAT, Direction.FIRST) != null) {
+                published++;
+            }
+        }
+        Assert.assertEquals(3, published);
+    }
+
+    @Test
+    public void routeTest() {
+        PublishFilterSettings settings = settings(PublishFilterSettings.Mode.ROUTE);
+        settings.setMsgTypes(List.of("0"));
+        PublishFilter filter = new PublishFilter(settings);
+        Assert.assertArrayEquals(new String[]{"admin"}, filter.getAttributes(HEARTBEAT, Direction.SECOND));
+        Assert.assertArrayEquals(new String[]{"second"}, filter.getAttributes(ORDER, Direction.SECOND));
+    }
+
+    private static PublishFilterSettings settings(PublishFilterSettings.Mode mode) {
+        PublishFilterSettings settings = new PublishFilterSettings();
+        settings.setMode(mode);
+        return settings;
+    }
+}
@@ -0,0 +1,185 @@
+import com.exactpro.th2.fix.client.reconnect.LogonScheduler;
+import com.exactpro.th2.fix.client.reconnect.ReconnectMetrics;
+import com.exactpro.th2.fix.client.reconnect.ReconnectSettings;
+import org.junit.Assert;
+import org.junit.Test;
+import quickfix.ApplicationAdapter;
+import quickfix.DefaultMessageFactory;
+import quickfix.Log;
+import quickfix.LogFactory;
+import quickfix.MemoryStoreFactory;
+import quickfix.ScreenLogFactory;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.SocketAcceptor;
+import quickfix.SocketInitiator;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class ReconnectTest {
+
+    @Test
+    public void testIntervalsWithoutJitter() {
+        ReconnectSettings settings = new ReconnectSettings();
+        settings.setJitter(0);
+        Assert.assertEquals("1;2;4;8;16;32;60", settings.toReconnectInterval(new Random(1)));
+    }
+
+    @Test
+    public void testIntervalsWithJitter() {
+        ReconnectSettings settings = new ReconnectSettings();
+        settings.setInitialInterval(10);
+        settings.setMaxInterval(100);
+        settings.setJitter(0.5);
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            String[] intervals = settings.toReconnectInterval(random).split(";");
+            Assert.assertEquals(5, intervals.length);
+            double expected = 10;
+            for (String interval : intervals) {
+                long value = Long.parseLong(interval);
+                Assert.assertTrue("Interval out of range: " + value, value >= Math.round(expected * 0.5) && value <= Math.round(expected * 1.5));
+                expected = Math.min(expected * 2, 100);
+            }
+        }
+    }
+
+    @Test
+    public void testStaggeredLogons() {
+        SessionID first = new SessionID("FIX.4.2", "client", "first");
+        SessionID second = new SessionID("FIX.4.2", "client", "second");
+        List<SessionID> sessionIDs = Arrays.asList(first, second);
+
+        LogonScheduler scheduler = new LogonScheduler(sessionIDs, SECONDS.toNanos(60));
+        scheduler.start();
+        Assert.assertTrue(scheduler.canLogon(first));
+        Assert.assertFalse(scheduler.canLogon(second));
+        Assert.assertTrue("Unknown sessions are not delayed", scheduler.canLogon(new SessionID("FIX.4.2", "client", "third")));
+        Assert.assertEquals("Logon which is not delayed has no permission time", 0, scheduler.getPermittedAt(first));
+        Assert.assertEquals(0, scheduler.getPermittedAt(second));
+
+        LogonScheduler withoutWindow = new LogonScheduler(sessionIDs, 0);
+        withoutWindow.start();
+        Assert.assertTrue(withoutWindow.canLogon(second));
+    }
+
+    @Test
+    public void testLogonPermissionTime() throws InterruptedException {
+        SessionID first = new SessionID("FIX.4.2", "client", "first");
+        SessionID second = new SessionID("FIX.4.2", "client", "second");
+        LogonScheduler scheduler = new LogonScheduler(Arrays.asList(first, second), MILLISECONDS.toNanos(200));
+        scheduler.start();
+
+        MILLISECONDS.sleep(150);
+        long before = System.currentTimeMillis();
+        Assert.assertTrue(scheduler.canLogon(second));
+        long permittedAt = scheduler.getPermittedAt(second);
+        Assert.assertTrue(permittedAt >= before && permittedAt <= System.currentTimeMillis());
+
+        // the time of the first permission is kept until the next start
+        MILLISECONDS.sleep(10);
+        Assert.assertTrue(scheduler.canLogon(second));
+        Assert.assertEquals(permittedAt, scheduler.getPermittedAt(second));
+        scheduler.start();
+        Assert.assertEquals(0, scheduler.getPermittedAt(second));
+    }
+
+    /**
+     * The metrics match the texts of the events QuickFIX/J logs, so they are checked against the events
+     * of a real initiator: one session logs on to an acceptor, the other one connects to a closed port.
+     */
+    @Test
+    public void testQuickFixEventTexts() throws Exception {
+        int acceptorPort = getFreePort();
+        int closedPort = getFreePort();
+        SessionID connected = new SessionID("FIX.4.2", "client", "server");
+        SessionID failing = new SessionID("FIX.4.2", "client", "closed");
+
+        SessionSettings acceptorSettings = new SessionSettings();
+        SessionID acceptorSession = new SessionID("FIX.4.2", "server", "client");
+        acceptorSettings.setString(acceptorSession, "ConnectionType", "acceptor");
+        acceptorSettings.setString(acceptorSession, "SocketAcceptPort", String.valueOf(acceptorPort));
+        setCommon(acceptorSettings, acceptorSession);
+
+        SessionSettings initiatorSettings = new SessionSettings();
+        for (SessionID sessionID : Arrays.asList(connected, failing)) {
+            initiatorSettings.setString(sessionID, "ConnectionType", "initiator");
+            initiatorSettings.setString(sessionID, "SocketConnectHost", "localhost");
+            initiatorSettings.setString(sessionID, "HeartBtInt", "30");
+            initiatorSettings.setString(sessionID, "ReconnectInterval", "1");
+            setCommon(initiatorSettings, sessionID);
+        }
+        initiatorSettings.setString(connected, "SocketConnectPort", String.valueOf(acceptorPort));
+        initiatorSettings.setString(failing, "SocketConnectPort", String.valueOf(closedPort));
+
+        List<String> events = new CopyOnWriteArrayList<>();
+        List<String> errorEvents = new CopyOnWriteArrayList<>();
+        LogFactory logFactory = sessionID -> new Log() {
+            @Override
+            public void clear() {
+            }
+
+            @Override
+            public void onIncoming(String message) {
+            }
+
+            @Override
+            public void onOutgoing(String message) {
+            }
+
+            @Override
+            public void onEvent(String text) {
+                events.add(text);
+            }
+
+            @Override
+            public void onErrorEvent(String text) {
+                errorEvents.add(text);
+            }
+
+            public void onErrorEvent(String text, Throwable e) {
+                errorEvents.add(text);
+            }
+        };
+
+        SocketAcceptor acceptor = new SocketAcceptor(new ApplicationAdapter(), new MemoryStoreFactory(), acceptorSettings,
+                new ScreenLogFactory(false, false, false), new DefaultMessageFactory());
+        SocketInitiator initiator = new SocketInitiator(new ApplicationAdapter(), new MemoryStoreFactory(), initiatorSettings,
+                logFactory, new DefaultMessageFactory());
+        acceptor.start();
+        try {
+            initiator.start();
+            long deadline = System.nanoTime() + SECONDS.toNanos(10);
+            while (System.nanoTime() < deadline && !(events.stream().anyMatch(ReconnectMetrics::isLogonEvent)
+                    && errorEvents.stream().anyMatch(ReconnectMetrics::isConnectionFailureEvent))) {
+                MILLISECONDS.sleep(50);
+            }
+            Assert.assertTrue("No logon event in " + events, events.stream().anyMatch(ReconnectMetrics::isLogonEvent));
+            Assert.assertTrue("No connection failure event in " + errorEvents, errorEvents.stream().anyMatch(ReconnectMetrics::isConnectionFailureEvent));
+            Assert.assertFalse("Connection failures are error events only", events.stream().anyMatch(ReconnectMetrics::isConnectionFailureEvent));
+        } finally {
+            initiator.stop(true);
+            acceptor.stop(true);
+        }
+    }
+
+    private static void setCommon(SessionSettings settings, SessionID sessionID) {
+        settings.setString(sessionID, "NonStopSession", "Y");
+        settings.setString(sessionID, "UseDataDictionary", "N");
+        settings.setString(sessionID, "ResetOnLogon", "Y");
+    }
+
+    private static int getFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+import com.exactpro.th2.fix.client.replay.RecordingReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class RecordingReaderTest {
+
+    @Test
+    public void testLineTerminators() throws IOException {
+        try (RecordingReader reader = open("first\r\nsecond\n\nlast")) {
+            Assert.assertEquals("first", reader.readLine());
+            Assert.assertEquals("second", reader.readLine());
+            Assert.assertEquals("", reader.readLine());
+            Assert.assertEquals("last", reader.readLine());
+            Assert.assertNull(reader.readLine());
+            Assert.assertNull(reader.readLine());
+        }
+    }
+
+    @Test
+    public void testTerminatedLastLine() throws IOException {
+        try (RecordingReader reader = open("8=FIX.4.2\u000135=D\u0001\n")) {
+            Assert.assertEquals("8=FIX.4.2\u000135=D\u0001", reader.readLine());
+            Assert.assertNull(reader.readLine());
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        try (RecordingReader reader = open("")) {
+            Assert.assertNull(reader.readLine());
+        }
+    }
+
+    private static RecordingReader open(String content) throws IOException {
+        Path path = Files.createTempFile("recording", ".log");
+        path.toFile().deleteOnExit();
+        Files.write(path, content.getBytes(StandardCharsets.ISO_8859_1));
+        return new RecordingReader(path);
+    }
+}
@@ -0,0 +1,47 @@
+import com.exactpro.th2.fix.client.statistics.RoundTripTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RoundTripTableTest {
+
+    private static final long EXPIRY = 1000;
+
+    @Test
+    public void matchTest() {
+        RoundTripTable table = new RoundTripTable(1024, EXPIRY);
+        for (long key = 1; key <= 100; key++) {
+            Assert.assertFalse(table.put(key, "D", key));
+        }
+        for (long key = 1; key <= 100; key++) {
+            int slot = table.find(key, 200);
+            Assert.assertTrue(slot >= 0);
+            Assert.assertEquals(key, table.getTime(slot));
+            Assert.assertEquals("D", table.getMsgType(slot));
+            table.remove(slot);
+            Assert.assertEquals(-1, table.find(key, 200));
+        }
+    }
+
+    @Test
+    public void expiryTest() {
+        RoundTripTable table = new RoundTripTable(1024, EXPIRY);
+        table.put(42, "D", 0);
+        Assert.assertTrue(table.find(42, EXPIRY) >= 0);
+        Assert.assertEquals(-1, table.find(42, EXPIRY + 1));
+    }
+
+    @Test
+    public void evictionTest() {
+        RoundTripTable table = new RoundTripTable(16, EXPIRY);
+        int evicted = 0;
+        for (long key = 1; key <= 32; key++) {
+            if (table.put(key, "D", key)) {
+                evicted++;
+            }
+        }
+        Assert.assertEquals(16, evicted);
+        for (long key = 17; key <= 32; key++) {
+            Assert.assertTrue(table.find(key, 32) >= 0);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+import com.exactpro.th2.common.grpc.AnyMessage;
+import com.exactpro.th2.common.grpc.Event;
+import com.exactpro.th2.fix.client.outbound.OutboundMessage;
+import com.exactpro.th2.fix.client.outbound.SendFailureHandler;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class SendFailureHandlerTest {
+
+    private static final String SESSION_ALIAS = "failures";
+    private static final String SUMMARY = "2 more failures of session " + SESSION_ALIAS + ": IllegalStateException";
+
+    private final TestEventRouter eventRouter = new TestEventRouter();
+
+    @Test
+    public void testFirstInFullAndSummaryAtInterval() throws Exception {
+        try (SendFailureHandler handler = new SendFailureHandler(eventRouter, "root", 1, 3)) {
+            // the sequence numbers in the messages must not split the failures into different causes
+            handler.onError(createMessage(1), new IllegalStateException("Failed to send message 1"));
+            handler.onError(createMessage(2), new IllegalStateException("Failed to send message 2"));
+            handler.onError(createMessage(3), new IllegalStateException("Failed to send message 3"));
+            handler.onError(createMessage(4), new IOException("Connection reset"));
+
+            List<String> names = eventRouter.getEventNames();
+            Assert.assertEquals(2, names.size());
+            Assert.assertTrue(names.get(0), names.get(0).startsWith("Failed to send message: "));
+
+            long deadline = System.nanoTime() + SECONDS.toNanos(5);
+            while (!eventRouter.getEventNames().contains(SUMMARY) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            List<Event> summaries = eventRouter.events.stream().filter(event -> event.getName().equals(SUMMARY)).collect(Collectors.toList());
+            Assert.assertEquals("Failures must be summarized at the end of the interval", 1, summaries.size());
+            String body = summaries.get(0).getBody().toStringUtf8();
+            Assert.assertTrue(body, body.contains("Failed to send message 2"));
+            Assert.assertTrue(body, body.contains("Failed to send message 3"));
+            Assert.assertFalse("The first failure is not a sample", body.contains("Failed to send message 1"));
+            Assert.assertEquals(2, summaries.get(0).getAttachedMessageIdsCount());
+            Assert.assertEquals("A single failure has no summary", 3, eventRouter.events.size());
+
+            // the next interval starts with a report in full again
+            handler.onError(createMessage(5), new IllegalStateException("Failed to send message 5"));
+            Assert.assertEquals(4, eventRouter.events.size());
+        }
+    }
+
+    @Test
+    public void testRejectedSummaryOnClose() throws Exception {
+        try (SendFailureHandler handler = new SendFailureHandler(eventRouter, "root", 60, 1)) {
+            handler.onRejected(createMessage(1));
+            handler.onRejected(createMessage(2));
+            handler.onRejected(createMessage(3));
+            Assert.assertEquals(List.of("Logon rejected, message not sent"), eventRouter.getEventNames());
+        }
+        Assert.assertEquals(List.of("Logon rejected, message not sent", "2 more failures of session " + SESSION_ALIAS + ": Logon rejected, message not sent"),
+                eventRouter.getEventNames());
+        Assert.assertEquals("Samples are limited", 1, eventRouter.events.get(1).getAttachedMessageIdsCount());
+    }
+
+    private static OutboundMessage createMessage(long sequence) {
+        String rawMessage = "8=FIX.4.2\u00019=5\u000135=D\u000134=" + sequence + "\u000110=000\u0001";
+        AnyMessage.Builder message = MessageUtil.toOutgoingMessage(SESSION_ALIAS, ByteString.copyFromUtf8(rawMessage)).toBuilder();
+        message.getRawMessageBuilder().getMetadataBuilder().getIdBuilder().setSequence(sequence);
+        return new OutboundMessage(message.build(), SESSION_ALIAS, rawMessage, "D");
+    }
+}
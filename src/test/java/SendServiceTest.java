@@ -0,0 +1,132 @@
+import com.exactpro.th2.common.grpc.AnyMessage;
+import com.exactpro.th2.fix.client.SendService;
+import com.exactpro.th2.fix.client.grpc.SendRequest;
+import com.exactpro.th2.fix.client.grpc.SendResponse;
+import com.exactpro.th2.fix.client.outbound.MessageSender;
+import com.exactpro.th2.fix.client.outbound.SendListener;
+import com.google.protobuf.ByteString;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.exactpro.th2.fix.client.grpc.SendResponse.Status.ACCEPTED;
+import static com.exactpro.th2.fix.client.grpc.SendResponse.Status.REJECTED;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SendServiceTest {
+
+    private final MessageSender sender = Mockito.mock(MessageSender.class);
+    private final List<SendListener> listeners = new ArrayList<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    @SuppressWarnings("unchecked")
+    private final ServerCallStreamObserver<SendResponse> call = Mockito.mock(ServerCallStreamObserver.class);
+    private final List<SendResponse> responses = new ArrayList<>();
+
+    public SendServiceTest() {
+        doAnswer(invocation -> listeners.add((SendListener) invocation.getArguments()[1])).when(sender).send(any(AnyMessage.class), any(SendListener.class));
+        doAnswer(invocation -> responses.add((SendResponse) invocation.getArguments()[0])).when(call).onNext(any(SendResponse.class));
+        when(call.isReady()).thenReturn(true);
+    }
+
+    @Test
+    public void testAcceptAndReject() {
+        StreamObserver<SendRequest> stream = open(10);
+
+        stream.onNext(createRequest(1));
+        stream.onNext(createRequest(2));
+        Assert.assertEquals(2, requests.get());
+        Assert.assertTrue("No response before the outcome of a message", responses.isEmpty());
+
+        listeners.get(1).onFailed(null, "not logged on");
+        listeners.get(0).onSent(null);
+
+        Assert.assertEquals(2, responses.size());
+        Assert.assertEquals(2, responses.get(0).getRequestId());
+        Assert.assertEquals(REJECTED, responses.get(0).getStatus());
+        Assert.assertEquals("not logged on", responses.get(0).getReason());
+        Assert.assertEquals(1, responses.get(1).getRequestId());
+        Assert.assertEquals(ACCEPTED, responses.get(1).getStatus());
+    }
+
+    @Test
+    public void testRejectFailedSubmission() {
+        doAnswer(invocation -> {
+            throw new IllegalArgumentException("Unknown session alias");
+        }).when(sender).send(any(AnyMessage.class), any(SendListener.class));
+        StreamObserver<SendRequest> stream = open(10);
+
+        stream.onNext(createRequest(1));
+
+        Assert.assertEquals(1, responses.size());
+        Assert.assertEquals(REJECTED, responses.get(0).getStatus());
+        Assert.assertEquals("Unknown session alias", responses.get(0).getReason());
+    }
+
+    @Test
+    public void testCompletionAfterAllResponses() {
+        StreamObserver<SendRequest> stream = open(10);
+        stream.onNext(createRequest(1));
+        stream.onNext(createRequest(2));
+
+        stream.onCompleted();
+        listeners.get(0).onSent(null);
+        verify(call, never()).onCompleted();
+
+        listeners.get(1).onSent(null);
+        verify(call).onCompleted();
+        Assert.assertEquals(2, responses.size());
+    }
+
+    @Test
+    public void testFlowControl() {
+        ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+        StreamObserver<SendRequest> stream = open(2);
+        verify(call).disableAutoInboundFlowControl();
+        verify(call).setOnReadyHandler(onReady.capture());
+
+        onReady.getValue().run();
+        verify(call).request(2);
+
+        stream.onNext(createRequest(1));
+        stream.onNext(createRequest(2));
+        onReady.getValue().run();
+        verify(call, times(1)).request(anyInt());
+
+        // a response frees a place in the window only while the client reads the responses
+        when(call.isReady()).thenReturn(false);
+        listeners.get(0).onSent(null);
+        verify(call, times(1)).request(anyInt());
+
+        when(call.isReady()).thenReturn(true);
+        onReady.getValue().run();
+        verify(call).request(1);
+
+        listeners.get(1).onSent(null);
+        verify(call, times(2)).request(1);
+    }
+
+    private StreamObserver<SendRequest> open(int window) {
+        return new SendService(sender, requests::incrementAndGet, window).send(call);
+    }
+
+    private static SendRequest createRequest(long requestId) {
+        return SendRequest.newBuilder()
+                .setRequestId(requestId)
+                .setSessionAlias("client")
+                .setRawMessage(ByteString.copyFromUtf8("8=FIX.4.2\u00019=5\u000135=0\u000110=161\u0001"))
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+import com.exactpro.th2.common.grpc.AnyMessage;
+import com.exactpro.th2.fix.client.outbound.MessageSender;
+import com.exactpro.th2.fix.client.outbound.SendListener;
+import com.exactpro.th2.fix.client.replay.ReplaySettings;
+import com.exactpro.th2.fix.client.replay.SessionReplayer;
+import com.exactpro.th2.fix.client.statistics.SessionStatistics;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import quickfix.SessionID;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+public class SessionReplayerTest {
+
+    private static final String SESSION_ALIAS = "replay";
+    private static final SessionID SESSION_ID = new SessionID("FIX.4.2", "client", "server");
+
+    private static final List<String> RECORDING = List.of(
+            "20261018-10:00:00.000: 8=FIX.4.2|9=60|35=A|34=1|49=client|56=server|52=20261018-10:00:00.000|98=0|108=30|10=000|",
+            "20261018-10:00:01.000: 8=FIX.4.2|9=60|35=D|34=2|49=client|56=server|52=20261018-10:00:01.000|11=order-1|1=account|55=ABC|10=000|",
+            "20261018-10:00:01.500: 8=FIX.4.2|9=60|35=8|34=2|49=server|56=client|52=20261018-10:00:01.500|11=order-1|1=account|150=0|10=000|",
+            "",
+            "20261018-10:00:02.000: 8=FIX.4.2|9=60|35=F|34=3|49=client|56=server|52=20261018-10:00:02.000|41=order-1|11=cancel-1|10=000|");
+
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final MessageSender sender = Mockito.mock(MessageSender.class);
+    private final TestEventRouter eventRouter = new TestEventRouter();
+    private final SessionStatistics statistics = new SessionStatistics(SESSION_ALIAS);
+
+    public SessionReplayerTest() {
+        doAnswer(invocation -> {
+            sent.add(MessageUtil.rawToString((AnyMessage) invocation.getArguments()[0]).replace(MessageUtil.SOH, '|'));
+            ((SendListener) invocation.getArguments()[1]).onSent(null);
+            return null;
+        }).when(sender).send(any(AnyMessage.class), any(SendListener.class));
+        statistics.setLoggedOn(true);
+    }
+
+    @Test
+    public void testOwnDirectionByDefault() throws Exception {
+        ReplaySettings settings = createSettings();
+
+        replay(settings);
+
+        Assert.assertEquals(List.of(
+                "8=FIX.4.2|9=60|35=D|34=2|49=client|56=server|52=20261018-10:00:01.000|11=order-1|1=account|55=ABC|10=000|",
+                "8=FIX.4.2|9=60|35=F|34=3|49=client|56=server|52=20261018-10:00:02.000|41=order-1|11=cancel-1|10=000|"), sent);
+    }
+
+    @Test
+    public void testRewrite() throws Exception {
+        ReplaySettings settings = createSettings();
+        settings.setSenderCompID("server");
+        settings.setRewrites(Map.of("1", "TEST_ACCOUNT", "56", "client-2"));
+        settings.setClOrdIdSuffix("-r1");
+
+        replay(settings);
+
+        Assert.assertEquals(List.of(
+                "8=FIX.4.2|9=60|35=8|34=2|49=server|56=client-2|52=20261018-10:00:01.500|11=order-1-r1|1=TEST_ACCOUNT|150=0|10=000|"), sent);
+    }
+
+    private ReplaySettings createSettings() throws Exception {
+        Path path = Files.createTempFile("replay", ".log");
+        path.toFile().deleteOnExit();
+        Files.write(path, RECORDING.stream().map(line -> line.replace('|', MessageUtil.SOH)).collect(Collectors.toList()), StandardCharsets.ISO_8859_1);
+
+        ReplaySettings settings = new ReplaySettings();
+        settings.setFile(path.toString());
+        settings.setSessionAlias(SESSION_ALIAS);
+        settings.setSpeed(0);
+        return settings;
+    }
+
+    private void replay(ReplaySettings settings) throws Exception {
+        String finished = "Replay of " + settings.getFile() + " finished";
+        try (SessionReplayer ignored = new SessionReplayer(settings, SESSION_ID, sender, statistics, () -> {}, eventRouter, "root")) {
+            long deadline = System.nanoTime() + SECONDS.toNanos(5);
+            while (!eventRouter.getEventNames().contains(finished) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+        Assert.assertTrue("Replay must report its result", eventRouter.getEventNames().contains(finished));
+    }
+}
@@ -0,0 +1,61 @@
+import com.exactpro.th2.fix.client.Main;
+import com.exactpro.th2.fix.client.util.ShardingUtil;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class ShardingTest {
+
+    private static final int SESSIONS = 10000;
+
+    @Test
+    public void deterministicTest() {
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(ShardingUtil.getReplica("session" + i, 7), ShardingUtil.getReplica("session" + i, 7));
+        }
+        Assert.assertEquals(0, ShardingUtil.getReplica("session", 1));
+    }
+
+    @Test
+    public void balanceTest() {
+        int replicas = 4;
+        int[] counts = new int[replicas];
+        for (int i = 0; i < SESSIONS; i++) {
+            counts[ShardingUtil.getReplica("session" + i, replicas)]++;
+        }
+        for (int count : counts) {
+            Assert.assertTrue("Unbalanced distribution: " + count, Math.abs(count - SESSIONS / replicas) < SESSIONS / replicas / 10);
+        }
+    }
+
+    @Test
+    public void minimalMovementTest() {
+        int moved = 0;
+        for (int i = 0; i < SESSIONS; i++) {
+            int before = ShardingUtil.getReplica("session" + i, 4);
+            int after = ShardingUtil.getReplica("session" + i, 5);
+            if (before != after) {
+                Assert.assertEquals("Session moved to an old replica", 4, after);
+                moved++;
+            }
+        }
+        Assert.assertTrue("Too many sessions moved: " + moved, moved < SESSIONS / 5 * 1.1);
+    }
+
+    @Test
+    public void replicaSettingsTest() {
+        Assume.assumeTrue(System.getenv(Main.Settings.REPLICA_COUNT_ENV) == null && System.getenv(Main.Settings.REPLICA_INDEX_ENV) == null);
+        Main.Settings settings = new Main.Settings();
+        Assert.assertEquals(1, settings.getReplicaCount());
+        Assert.assertEquals(0, settings.getReplicaIndex());
+        settings.setReplicaCount(3);
+        settings.setReplicaIndex(2);
+        Assert.assertEquals(3, settings.getReplicaCount());
+        Assert.assertEquals(2, settings.getReplicaIndex());
+        try {
+            settings.setReplicaCount(0);
+            Assert.fail("Replica count must be positive");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
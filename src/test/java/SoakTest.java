@@ -0,0 +1,286 @@
+import com.exactpro.th2.common.grpc.AnyMessage;
+import com.exactpro.th2.common.grpc.MessageGroup;
+import com.exactpro.th2.common.grpc.MessageGroupBatch;
+import com.exactpro.th2.common.schema.grpc.router.GrpcRouter;
+import com.exactpro.th2.fix.client.Main;
+import com.exactpro.th2.fix.client.exceptions.CreatingConfigFileException;
+import com.exactpro.th2.fix.client.fixBean.FixBean;
+import com.exactpro.th2.fix.client.simulator.CounterpartySimulator;
+import com.exactpro.th2.fix.client.simulator.SimulatorSettings;
+import com.exactpro.th2.fix.client.statistics.LatencyHistogram;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import com.google.protobuf.ByteString;
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.mockito.Mockito;
+import quickfix.ConfigError;
+import quickfix.IncorrectDataFormat;
+import quickfix.field.ClOrdID;
+import quickfix.field.HandlInst;
+import quickfix.field.OrdType;
+import quickfix.field.SenderCompID;
+import quickfix.field.Side;
+import quickfix.field.Symbol;
+import quickfix.field.TargetCompID;
+import quickfix.field.TransactTime;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Soak test of the connector against the counterparty simulator. It is skipped unless {@code soak.duration} is set,
+ * e.g. {@code ./gradlew test --tests SoakTest -Dsoak.duration=3600}. It sends orders at a fixed rate and samples
+ * the resources of the JVM once per interval. The first interval is a warm-up, the sample after the second one is
+ * the baseline and the test fails if the last sample exceeds it by more than the allowed growth.
+ */
+public class SoakTest {
+
+    private static final String SESSION_ALIAS = "soak";
+    private static final String STORE_PATH = "storage/soak/";
+
+    private final long duration = Long.getLong("soak.duration", 0);
+    private final int rate = Integer.getInteger("soak.rate", 100);
+    private final long interval = Long.getLong("soak.interval", 60);
+    private final long maxHeapGrowth = Long.getLong("soak.maxHeapGrowth", 64);
+    private final int maxThreadGrowth = Integer.getInteger("soak.maxThreadGrowth", 5);
+    private final long maxFdGrowth = Long.getLong("soak.maxFdGrowth", 20);
+    private final double maxLatencyGrowth = Double.parseDouble(System.getProperty("soak.maxLatencyGrowth", "2"));
+    private final long maxAllocationRate = Long.getLong("soak.maxAllocationRate", 256);
+    private final long maxStoreGrowth = Long.getLong("soak.maxStoreGrowth", -1);
+
+    private final Map<String, Long> sendTimes = new ConcurrentHashMap<>();
+    private final Map<Long, Long> allocatedBytes = new HashMap<>();
+    private final AtomicLong received = new AtomicLong();
+    private LatencyHistogram latency;
+
+    @Test
+    public void soakTest() throws Exception {
+        Assume.assumeTrue("soak.duration is not set", duration > 0);
+        Assert.assertTrue("soak.duration must be at least three intervals", duration >= 3 * interval);
+        latency = new LatencyHistogram(SECONDS.toNanos(interval));
+
+        FixBean fixBean = new FixBean();
+        fixBean.setSenderCompID("soak-client");
+        fixBean.setTargetCompID("soak-server");
+        fixBean.setSocketConnectPort(9878);
+        fixBean.setSessionAlias(SESSION_ALIAS);
+
+        Main.Settings settings = new Main.Settings();
+        settings.setFileStorePath(STORE_PATH);
+        settings.setSessionSettings(Collections.singletonList(fixBean));
+
+        SimulatorSettings simulatorSettings = new SimulatorSettings();
+        simulatorSettings.setSessionSettings(Collections.singletonList(fixBean));
+        // only acknowledgements, so each order gets exactly one response to measure the latency with
+        simulatorSettings.setFillRatio(0);
+        CounterpartySimulator simulator = new CounterpartySimulator(simulatorSettings);
+        simulator.start();
+
+        // counts the responses and records their latency instead of keeping the published messages
+        TestMessageRouter messageRouter = new TestMessageRouter(batch -> batch.getGroupsList()
+                .forEach(group -> group.getMessagesList().forEach(this::onMessage)));
+        ConcurrentLinkedDeque<Main.Resources> resources = new ConcurrentLinkedDeque<>();
+        Thread thread = new Thread(() -> {
+            try {
+                Main.run(settings, messageRouter, new TestEventRouter(false), Mockito.mock(GrpcRouter.class), resources);
+            } catch (ConfigError | CreatingConfigFileException | IncorrectDataFormat e) {
+                e.printStackTrace();
+            }
+        });
+        thread.start();
+
+        List<Sample> samples = new ArrayList<>();
+        try {
+            long start = System.nanoTime();
+            long end = start + SECONDS.toNanos(duration);
+            long nextSample = start + SECONDS.toNanos(interval);
+            long period = SECONDS.toNanos(1) / rate;
+            long nextSend = start;
+            long orders = 0;
+            sample(); // resets the allocation counters
+            System.out.println(Sample.HEADER);
+            while (nextSend < end) {
+                long now = System.nanoTime();
+                if (now >= nextSample) {
+                    Sample sample = sample();
+                    samples.add(sample);
+                    System.out.println(sample);
+                    nextSample += SECONDS.toNanos(interval);
+                }
+                if (now < nextSend) {
+                    NANOSECONDS.sleep(Math.min(nextSend, nextSample) - now);
+                    continue;
+                }
+                if (!messageRouter.listeners.isEmpty()) {
+                    String clOrdID = "soak-" + orders++;
+                    sendTimes.put(clOrdID, System.nanoTime());
+                    messageRouter.listeners.get(0).handler(SESSION_ALIAS, createOrder(clOrdID));
+                }
+                nextSend += period;
+            }
+            MILLISECONDS.sleep(500);
+            samples.add(sample());
+        } finally {
+            resources.descendingIterator().forEachRemaining(resource -> {
+                try {
+                    resource.getDestructor().close();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            });
+            thread.join(SECONDS.toMillis(10));
+            simulator.close();
+        }
+
+        System.out.println(Sample.HEADER);
+        samples.forEach(System.out::println);
+
+        Sample first = samples.get(1);
+        Sample last = samples.get(samples.size() - 1);
+        Assert.assertTrue("No responses received", last.received > 0);
+        assertGrowth("Heap after GC, MiB", first.heapAfterGc >> 20, last.heapAfterGc >> 20, maxHeapGrowth);
+        assertGrowth("Threads", first.threads, last.threads, maxThreadGrowth);
+        assertGrowth("Open file descriptors", first.fds, last.fds, maxFdGrowth);
+        if (maxStoreGrowth >= 0) {
+            assertGrowth("Store size, MiB", first.storeBytes >> 20, last.storeBytes >> 20, maxStoreGrowth);
+        }
+        // the last sample covers only the end of the test, so its allocation rate is not comparable
+        for (Sample sample : samples.subList(1, samples.size() - 1)) {
+            Assert.assertTrue(String.format("Allocation rate %d MiB/s exceeds %d MiB/s", sample.allocationRate >> 20, maxAllocationRate),
+                    sample.allocationRate >> 20 <= maxAllocationRate);
+        }
+        Assert.assertTrue(String.format("p99 latency grew from %d to %d us", first.p99 / 1000, last.p99 / 1000),
+                last.p99 <= first.p99 * maxLatencyGrowth);
+    }
+
+    private static void assertGrowth(String name, long first, long last, long maxGrowth) {
+        Assert.assertTrue(String.format("%s grew from %d to %d (more than %d)", name, first, last, maxGrowth),
+                last - first <= maxGrowth);
+    }
+
+    private Sample sample() {
+        System.gc();
+        long heapAfterGc = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] ids = threadBean.getAllThreadIds();
+        long[] allocated = threadBean.getThreadAllocatedBytes(ids);
+        long allocatedSinceLastSample = 0;
+        Map<Long, Long> live = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (allocated[i] >= 0) {
+                allocatedSinceLastSample += allocated[i] - allocatedBytes.getOrDefault(ids[i], 0L);
+                live.put(ids[i], allocated[i]);
+            }
+        }
+        allocatedBytes.clear();
+        allocatedBytes.putAll(live);
+
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        long fds = os instanceof UnixOperatingSystemMXBean ? ((UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount() : -1;
+
+        return new Sample(System.currentTimeMillis(), heapAfterGc, allocatedSinceLastSample / interval,
+                threadBean.getThreadCount(), fds, storeSize(), latency.getPercentile(50), latency.getPercentile(99),
+                sendTimes.size(), received.get());
+    }
+
+    private static long storeSize() {
+        Path path = Paths.get(STORE_PATH);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void onMessage(AnyMessage message) {
+        if (!message.hasRawMessage()) {
+            return;
+        }
+        String raw = MessageUtil.rawToString(message);
+        if (!"8".equals(MessageUtil.getMsgType(raw))) {
+            return;
+        }
+        Long sendTime = sendTimes.remove(MessageUtil.getField(raw, "11"));
+        if (sendTime != null) {
+            latency.record(System.nanoTime() - sendTime);
+            received.incrementAndGet();
+        }
+    }
+
+    private static MessageGroupBatch createOrder(String clOrdID) {
+        quickfix.fix42.NewOrderSingle order = new quickfix.fix42.NewOrderSingle(
+                new ClOrdID(clOrdID),
+                new HandlInst('3'),
+                new Symbol("Symbol"),
+                new Side('1'),
+                new TransactTime(LocalDateTime.now()),
+                new OrdType('1'));
+        order.getHeader().setField(new SenderCompID("soak-client"));
+        order.getHeader().setField(new TargetCompID("soak-server"));
+        AnyMessage message = MessageUtil.toOutgoingMessage(SESSION_ALIAS, ByteString.copyFromUtf8(order.toString()));
+        return MessageGroupBatch.newBuilder().addGroups(MessageGroup.newBuilder().addMessages(message)).build();
+    }
+
+    private static class Sample {
+
+        private static final String HEADER = String.format("%-14s %10s %12s %8s %6s %10s %10s %10s %12s",
+                "time", "heap, KiB", "alloc, KiB/s", "threads", "fds", "store, KiB", "p50, us", "p99, us", "received");
+
+        private final long time;
+        private final long heapAfterGc;
+        private final long allocationRate;
+        private final int threads;
+        private final long fds;
+        private final long storeBytes;
+        private final long p50;
+        private final long p99;
+        private final int pending;
+        private final long received;
+
+        private Sample(long time, long heapAfterGc, long allocationRate, int threads, long fds, long storeBytes,
+                       long p50, long p99, int pending, long received) {
+            this.time = time;
+            this.heapAfterGc = heapAfterGc;
+            this.allocationRate = allocationRate;
+            this.threads = threads;
+            this.fds = fds;
+            this.storeBytes = storeBytes;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.pending = pending;
+            this.received = received;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-14d %10d %12d %8d %6d %10d %10d %10d %12d", time, heapAfterGc >> 10, allocationRate >> 10,
+                    threads, fds, storeBytes >> 10, p50 / 1000, p99 / 1000, received)
+                    + (pending > 0 ? " (" + pending + " pending)" : "");
+        }
+    }
+}
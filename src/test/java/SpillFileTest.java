@@ -0,0 +1,106 @@
+import com.exactpro.th2.common.grpc.ConnectionID;
+import com.exactpro.th2.common.grpc.Direction;
+import com.exactpro.th2.common.grpc.MessageGroupBatch;
+import com.exactpro.th2.fix.client.inbound.SessionPublisher;
+import com.exactpro.th2.fix.client.inbound.SpillFile;
+import com.exactpro.th2.fix.client.statistics.LatencyHistogram;
+import com.exactpro.th2.fix.client.util.MessageUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class SpillFileTest {
+
+    @Test
+    public void orderTest() throws Exception {
+        Path path = Files.createTempDirectory("spill").resolve("session.spill");
+        try (SpillFile spillFile = new SpillFile(path, 1024 * 1024)) {
+            Assert.assertNull(spillFile.read());
+            for (int i = 0; i < 100; i++) {
+                Assert.assertTrue(spillFile.append(("message" + i).getBytes(StandardCharsets.UTF_8)));
+            }
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals("message" + i, new String(spillFile.read(), StandardCharsets.UTF_8));
+            }
+            Assert.assertTrue(spillFile.isEmpty());
+            Assert.assertNull(spillFile.read());
+        }
+        Assert.assertTrue(Files.notExists(path));
+    }
+
+    @Test
+    public void capacityTest() throws Exception {
+        Path path = Files.createTempDirectory("spill").resolve("session.spill");
+        try (SpillFile spillFile = new SpillFile(path, 120)) {
+            byte[] record = new byte[40];
+            Assert.assertTrue(spillFile.append(record));
+            Assert.assertTrue(spillFile.append(record));
+            Assert.assertFalse(spillFile.append(record));
+            spillFile.read();
+            Assert.assertFalse("Space must not be reused before the file is drained", spillFile.append(record));
+            spillFile.read();
+            Assert.assertEquals(0, spillFile.pendingBytes());
+            Assert.assertTrue(spillFile.append(record));
+        }
+    }
+
+    /**
+     * The broker blocks, so the messages go to memory, then to the overflow queue and the spill file,
+     * which holds only a few of them, until the capturing thread waits. All of them are published in order.
+     */
+    @Test
+    public void publisherOrderTest() throws Exception {
+        int messages = 50;
+        CountDownLatch brokerUp = new CountDownLatch(1);
+        CountDownLatch published = new CountDownLatch(messages);
+        List<Long> sequences = new CopyOnWriteArrayList<>();
+        TestMessageRouter router = new TestMessageRouter(batch -> {
+            try {
+                brokerUp.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            sequences.add(batch.getGroups(0).getMessages(0).getRawMessage().getMetadata().getId().getSequence());
+            published.countDown();
+        });
+
+        Path path = Files.createTempDirectory("spill").resolve("session.spill");
+        SessionPublisher publisher = new SessionPublisher("spill", router, 2, new SpillFile(path, 400), new LatencyHistogram(SECONDS.toNanos(60)));
+        Thread capturing = new Thread(() -> {
+            try {
+                for (int i = 0; i < messages; i++) {
+                    publisher.publish(createBatch(i), "first");
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        capturing.start();
+        capturing.join(500);
+        Assert.assertTrue("Capturing thread must wait while memory, overflow and the spill file are full", capturing.isAlive());
+
+        brokerUp.countDown();
+        Assert.assertTrue(published.await(10, SECONDS));
+        capturing.join(SECONDS.toMillis(5));
+        publisher.close();
+
+        Assert.assertEquals(LongStream.range(0, messages).boxed().collect(Collectors.toList()), sequences);
+        Assert.assertTrue("Spill file must be deleted once its threads stop", Files.notExists(path));
+    }
+
+    private static MessageGroupBatch createBatch(long sequence) {
+        return MessageUtil.toBatch(("message" + sequence).getBytes(StandardCharsets.UTF_8),
+                ConnectionID.newBuilder().setSessionAlias("spill").build(), Direction.FIRST, sequence);
+    }
+}
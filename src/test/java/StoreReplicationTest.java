@@ -0,0 +1,320 @@
+import com.exactpro.th2.conn.grpc.Response;
+import com.exactpro.th2.conn.grpc.StartRequest;
+import com.exactpro.th2.fix.client.ClientController;
+import com.exactpro.th2.fix.client.ControlService;
+import com.exactpro.th2.fix.client.FixClient;
+import com.exactpro.th2.fix.client.standby.StandbySettings;
+import com.exactpro.th2.fix.client.standby.StoreReplication;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import quickfix.MemoryStore;
+import quickfix.MessageStore;
+import quickfix.MessageStoreFactory;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class StoreReplicationTest {
+
+    private static final SessionID SESSION_ID = new SessionID("FIX.4.2", "client", "server");
+
+    @Test
+    public void testFailover() throws Exception {
+        try (Instance active = new Instance(19881, 19882, 100000);
+             Instance standby = new Instance(19882, 19881, 100000)) {
+            active.start();
+            await("Instance without a peer must become active", () -> active.started.get() == 1);
+
+            MessageStore store = active.factory.create(SESSION_ID);
+            store.set(1, createMessage(1));
+            store.incrNextSenderMsgSeqNum();
+
+            standby.start();
+            store.setNextTargetMsgSeqNum(5);
+            await("Store is not replicated", () -> standby.getNextTargetMsgSeqNum() == 5);
+            Assert.assertFalse("Standby must not start sessions while the peer is active", standby.replication.isActive());
+
+            MessageStore replica = standby.stores.get(SESSION_ID);
+            Assert.assertEquals(2, replica.getNextSenderMsgSeqNum());
+            List<String> messages = new ArrayList<>();
+            replica.get(1, 1, messages);
+            Assert.assertEquals(List.of(createMessage(1)), messages);
+
+            active.close();
+            await("Standby must take over when the active instance stops", standby.replication::isActive);
+            Assert.assertEquals(1, standby.started.get());
+            Assert.assertEquals(0, active.stopped.get());
+        }
+    }
+
+    @Test
+    public void testSimultaneousStart() throws Exception {
+        try (Instance first = new Instance(19883, 19884, 100000);
+             Instance second = new Instance(19884, 19883, 100000)) {
+            first.start();
+            second.start();
+            await("One instance must become active", () -> first.started.get() + second.started.get() > 0);
+            Thread.sleep(SECONDS.toMillis(2)); // longer than the failover timeout
+
+            Assert.assertTrue("Instance with the lower ID must become active", first.replication.isActive());
+            Assert.assertFalse(second.replication.isActive());
+            Assert.assertEquals(1, first.started.get());
+            Assert.assertEquals(0, second.started.get());
+            Assert.assertEquals(0, first.stopped.get());
+
+            first.factory.create(SESSION_ID).setNextTargetMsgSeqNum(5);
+            await("Store is not replicated", () -> second.getNextTargetMsgSeqNum() == 5);
+        }
+    }
+
+    /**
+     * The connection through the proxy is cut in the middle of the snapshot. The instances connect again within the lease,
+     * so the roles stay and the standby receives a new snapshot with the updates made in the meantime.
+     */
+    @Test
+    public void testPeerDropMidStream() throws Exception {
+        try (Proxy proxy = new Proxy(19887, 19886, 30_000);
+             Instance active = new Instance(19885, 19887, 1000);
+             Instance standby = new Instance(19886, 19885, 1000)) {
+            active.start();
+            await("Instance without a peer must become active", () -> active.started.get() == 1);
+            MessageStore store = active.factory.create(SESSION_ID);
+            write(store, 1, 2000);
+
+            standby.start();
+            await("Connection must be cut", () -> proxy.cut);
+            write(store, 2001, 2100);
+
+            await("Standby must receive the whole store", () -> standby.countMessages(2100) == 2100);
+            Assert.assertEquals(2101, standby.stores.get(SESSION_ID).getNextSenderMsgSeqNum());
+            Assert.assertTrue(active.replication.isActive());
+            Assert.assertFalse(standby.replication.isActive());
+            Assert.assertEquals(0, active.stopped.get());
+            Assert.assertEquals(0, standby.started.get());
+        }
+    }
+
+    /**
+     * Only the instance with the higher ID reaches its peer, which keeps only connections from the instance with
+     * the lower ID, so both become active. When the peer is reached, the instance with the higher ID stops its sessions.
+     */
+    @Test
+    public void testTwoActiveInstancesMeet() throws Exception {
+        try (Proxy proxy = new Proxy(19890, 19889, 0);
+             Instance first = new Instance(19888, 19890, 100000);
+             Instance second = new Instance(19889, 19888, 100000)) {
+            proxy.up = false;
+            first.start();
+            second.start();
+            await("Both instances must become active", () -> first.replication.isActive() && second.replication.isActive());
+            first.factory.create(SESSION_ID).setNextTargetMsgSeqNum(7);
+
+            proxy.up = true;
+            await("Instance with the higher ID must stop its sessions", () -> second.stopped.get() == 1);
+            await("Store is not replicated", () -> second.getNextTargetMsgSeqNum() == 7);
+            Assert.assertTrue(first.replication.isActive());
+            Assert.assertFalse(second.replication.isActive());
+            Assert.assertEquals(0, first.stopped.get());
+        }
+    }
+
+    @Test
+    public void testStandbyRejectsStart() throws Exception {
+        try (Instance first = new Instance(19894, 19895, 100000);
+             Instance second = new Instance(19895, 19894, 100000)) {
+            first.start();
+            second.start();
+            await("Instance with the lower ID must become active", first.replication::isActive);
+
+            FixClient client = Mockito.mock(FixClient.class);
+            ClientController controller = new ClientController(client, second.replication::isActive);
+            @SuppressWarnings("unchecked")
+            StreamObserver<Response> observer = Mockito.mock(StreamObserver.class);
+            new ControlService(controller).start(StartRequest.getDefaultInstance(), observer);
+
+            ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+            verify(observer).onError(error.capture());
+            Assert.assertEquals(Status.Code.FAILED_PRECONDITION, Status.fromThrowable(error.getValue()).getCode());
+            controller.autoStart(0);
+            verify(client, never()).start();
+            controller.close();
+        }
+    }
+
+    private static void write(MessageStore store, int from, int to) throws IOException {
+        for (int sequence = from; sequence <= to; sequence++) {
+            store.set(sequence, createMessage(sequence));
+            store.incrNextSenderMsgSeqNum();
+        }
+    }
+
+    private static String createMessage(int sequence) {
+        return "8=FIX.4.2\u00019=5\u000135=D\u000134=" + sequence + "\u000110=000\u0001";
+    }
+
+    private static void await(String message, Callable<Boolean> condition) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            if (condition.call()) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        Assert.fail(message);
+    }
+
+    private static class Instance implements AutoCloseable {
+
+        private final Map<SessionID, MessageStore> stores = new ConcurrentHashMap<>();
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicInteger stopped = new AtomicInteger();
+        private final StoreReplication replication;
+        private final MessageStoreFactory factory;
+
+        private Instance(int port, int peerPort, int queueCapacity) {
+            StandbySettings settings = new StandbySettings();
+            settings.setPort(port);
+            settings.setPeerPort(peerPort);
+            settings.setFailoverTimeout(1);
+            settings.setQueueCapacity(queueCapacity);
+            settings.setSecret("secret");
+            SessionSettings sessionSettings = new SessionSettings();
+            sessionSettings.setString(SESSION_ID, "BeginString", "FIX.4.2");
+            replication = new StoreReplication(settings);
+            factory = replication.wrap(sessionID -> stores.computeIfAbsent(sessionID, id -> {
+                try {
+                    return new MemoryStore();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }), sessionSettings);
+        }
+
+        private void start() {
+            replication.start(started::incrementAndGet, stopped::incrementAndGet);
+        }
+
+        private int getNextTargetMsgSeqNum() throws IOException {
+            MessageStore store = stores.get(SESSION_ID);
+            return store == null ? -1 : store.getNextTargetMsgSeqNum();
+        }
+
+        private int countMessages(int end) throws IOException {
+            MessageStore store = stores.get(SESSION_ID);
+            List<String> messages = new ArrayList<>();
+            if (store != null) {
+                store.get(1, end, messages);
+            }
+            return messages.size();
+        }
+
+        @Override
+        public void close() throws Exception {
+            replication.close();
+        }
+    }
+
+    /**
+     * Forwards connections to the target port while it is up and cuts the first one after the {@code cutAfter} bytes
+     * are forwarded to the target.
+     */
+    private static class Proxy implements AutoCloseable {
+
+        private final ServerSocket server;
+        private final int targetPort;
+        private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+        private volatile long cutAfter;
+        private volatile boolean up = true;
+        private volatile boolean cut;
+
+        private Proxy(int port, int targetPort, long cutAfter) throws IOException {
+            this.server = new ServerSocket(port);
+            this.targetPort = targetPort;
+            this.cutAfter = cutAfter;
+            Thread thread = new Thread(this::accept, "proxy-" + port);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void accept() {
+            while (!server.isClosed()) {
+                Socket client = null;
+                try {
+                    client = server.accept();
+                    sockets.add(client);
+                    if (!up) {
+                        client.close();
+                        continue;
+                    }
+                    Socket target = new Socket("localhost", targetPort);
+                    sockets.add(target);
+                    forward(client, target, cutAfter);
+                    forward(target, client, 0);
+                } catch (IOException e) {
+                    closeQuietly(client); // the target does not listen or the proxy is closed
+                }
+            }
+        }
+
+        private void forward(Socket from, Socket to, long limit) {
+            Thread thread = new Thread(() -> {
+                byte[] buffer = new byte[1024];
+                long forwarded = 0;
+                try (InputStream input = from.getInputStream(); OutputStream output = to.getOutputStream()) {
+                    for (int length; (length = input.read(buffer)) >= 0; ) {
+                        output.write(buffer, 0, length);
+                        forwarded += length;
+                        if (limit > 0 && forwarded >= limit && !cut) {
+                            cutAfter = 0;
+                            cut = true;
+                            break;
+                        }
+                    }
+                } catch (IOException e) {
+                    // one of the sockets is closed
+                } finally {
+                    closeQuietly(from);
+                    closeQuietly(to);
+                }
+            }, "proxy-forward");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private static void closeQuietly(Socket socket) {
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    // already closed
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+            sockets.forEach(Proxy::closeQuietly);
+        }
+    }
+}
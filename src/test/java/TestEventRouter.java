@@ -0,0 +1,82 @@
+import com.exactpro.th2.common.grpc.Event;
+import com.exactpro.th2.common.grpc.EventBatch;
+import com.exactpro.th2.common.schema.message.MessageListener;
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.common.schema.message.MessageRouterContext;
+import com.exactpro.th2.common.schema.message.SubscriberMonitor;
+import com.exactpro.th2.common.schema.message.configuration.MessageRouterConfiguration;
+import com.exactpro.th2.common.schema.message.impl.rabbitmq.connection.ConnectionManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory event router of the tests. It keeps the stored events unless it is created as discarding.
+ */
+public class TestEventRouter implements MessageRouter<EventBatch> {
+
+    final List<Event> events = new CopyOnWriteArrayList<>();
+    private final boolean keep;
+
+    public TestEventRouter() {
+        this(true);
+    }
+
+    public TestEventRouter(boolean keep) {
+        this.keep = keep;
+    }
+
+    public List<String> getEventNames() {
+        return events.stream().map(Event::getName).collect(Collectors.toList());
+    }
+
+    @Override
+    public void init(@NotNull ConnectionManager connectionManager, @NotNull MessageRouterConfiguration configuration) {
+
+    }
+
+    @Override
+    public void init(@NotNull MessageRouterContext context) {
+
+    }
+
+    @Override
+    public @Nullable SubscriberMonitor subscribe(MessageListener<EventBatch> callback, String... queueAttr) {
+        return null;
+    }
+
+    @Override
+    public @Nullable SubscriberMonitor subscribeAll(MessageListener<EventBatch> callback) {
+        return null;
+    }
+
+    @Override
+    public @Nullable SubscriberMonitor subscribeAll(MessageListener<EventBatch> callback, String... queueAttr) {
+        return null;
+    }
+
+    @Override
+    public void send(EventBatch message) {
+        if (keep) {
+            events.addAll(message.getEventsList());
+        }
+    }
+
+    @Override
+    public void send(EventBatch message, String... queueAttr) {
+        send(message);
+    }
+
+    @Override
+    public void sendAll(EventBatch message, String... queueAttr) {
+        send(message);
+    }
+
+    @Override
+    public void close() {
+
+    }
+}
@@ -0,0 +1,88 @@
+import com.exactpro.th2.common.grpc.MessageGroupBatch;
+import com.exactpro.th2.common.schema.message.MessageListener;
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.common.schema.message.MessageRouterContext;
+import com.exactpro.th2.common.schema.message.SubscriberMonitor;
+import com.exactpro.th2.common.schema.message.configuration.MessageRouterConfiguration;
+import com.exactpro.th2.common.schema.message.impl.rabbitmq.connection.ConnectionManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-memory message router of the tests. It passes the published batches to a consumer, which keeps them
+ * in {@link #messages} by default, and lets the test deliver batches to the subscribed listeners.
+ */
+public class TestMessageRouter implements MessageRouter<MessageGroupBatch> {
+
+    final List<MessageListener> listeners = new CopyOnWriteArrayList<>();
+    final List<MessageGroupBatch> messages = new CopyOnWriteArrayList<>();
+    private final Consumer<MessageGroupBatch> consumer;
+
+    public TestMessageRouter() {
+        this.consumer = messages::add;
+    }
+
+    public TestMessageRouter(Consumer<MessageGroupBatch> consumer) {
+        this.consumer = consumer;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void sendToSubscriber(String tag, MessageGroupBatch message) throws Exception {
+        listeners.get(0).handler(tag, message);
+    }
+
+    @Override
+    public void init(@NotNull ConnectionManager connectionManager, @NotNull MessageRouterConfiguration configuration) {
+
+    }
+
+    @Override
+    public void init(@NotNull MessageRouterContext context) {
+
+    }
+
+    @Override
+    public void send(MessageGroupBatch message) {
+        consumer.accept(message);
+    }
+
+    @Override
+    public void send(MessageGroupBatch message, String... queueAttr) {
+        consumer.accept(message);
+    }
+
+    @Override
+    public void sendAll(MessageGroupBatch message, String... queueAttr) {
+        consumer.accept(message);
+    }
+
+    @Override
+    public @Nullable SubscriberMonitor subscribe(MessageListener callback, String... queueAttr) {
+        listeners.add(callback);
+        return () -> {
+        };
+    }
+
+    @Override
+    public @Nullable SubscriberMonitor subscribeAll(MessageListener callback) {
+        listeners.add(callback);
+        return () -> {
+        };
+    }
+
+    @Override
+    public @Nullable SubscriberMonitor subscribeAll(MessageListener callback, String... queueAttr) {
+        listeners.add(callback);
+        return () -> {
+        };
+    }
+
+    @Override
+    public void close() {
+
+    }
+}